@@ -0,0 +1,213 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of posting an event through the per-listener loop of
+ * {@link SpongeEventManager} against a generated {@link EventInvoker}.
+ *
+ * <p>Both variants open one scope per listener through the hooks of
+ * {@link EventInvoker}, as the real cause stack and phase tracker need a
+ * running server. The stand-in hooks do the same work the real ones do for
+ * each listener: push a frame and the plugin cause, allocate a phase context
+ * and read the clock to start and stop a timing, all undone in reverse on
+ * exit. The scope cost is therefore the same in both variants, and the
+ * difference is the dispatch itself.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    @Param({"1", "8", "32"})
+    public int listenerObjects;
+
+    @Param({"1", "3"})
+    public int methodsPerObject;
+
+    private List<RegisteredListener<?>> listeners;
+    private BenchmarkInvoker loop;
+    private EventInvoker compiled;
+    private final Event event = new BenchmarkEvent();
+
+    @Setup
+    public void setup() throws Exception {
+        final PluginContainer plugin = () -> "benchmark";
+        this.listeners = new ArrayList<>();
+        for (int i = 0; i < this.listenerObjects; i++) {
+            final Object handle = new Object();
+            for (int j = 0; j < this.methodsPerObject; j++) {
+                // Distinct listener classes, as generated for annotated listener methods
+                final EventListener<Event> listener = j % 3 == 0 ? new CountingListener(handle) : j % 3 == 1
+                        ? new CountingListener2(handle) : new CountingListener3(handle);
+                this.listeners.add(new RegisteredListener<>(plugin, new EventType<>(Event.class, null), Order.DEFAULT, listener, false));
+            }
+        }
+        this.loop = new BenchmarkInvoker(this.listeners.toArray(new RegisteredListener<?>[0]));
+        this.compiled = new EventInvokerFactory("org.spongepowered.common.event.invoker", BenchmarkInvoker.class)
+                .create(Event.class, this.listeners);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Benchmark
+    public void loop(Blackhole blackhole) {
+        // Mirrors SpongeEventManager#post: one scope per listener
+        int i = 0;
+        for (RegisteredListener listener : this.listeners) {
+            EventInvoker.Scope scope = null;
+            try {
+                scope = this.loop.enter(i);
+                this.loop.before(i, this.event);
+                listener.handle(this.event);
+            } catch (Throwable t) {
+                this.loop.fail(i, this.event, t);
+            }
+            if (scope != null) {
+                this.loop.exit(scope);
+            }
+            i++;
+        }
+        this.loop.complete(this.event);
+        blackhole.consume(this.event);
+    }
+
+    @Benchmark
+    public void compiled(Blackhole blackhole) {
+        this.compiled.invoke(this.event);
+        blackhole.consume(this.event);
+    }
+
+    public static class BenchmarkInvoker extends EventInvoker {
+
+        private final Deque<Object> frames = new ArrayDeque<>();
+        private final Deque<Object> causes = new ArrayDeque<>();
+        private final Deque<Object> contexts = new ArrayDeque<>();
+        private long timing;
+
+        public BenchmarkInvoker(RegisteredListener<?>[] listeners) {
+            super(listeners);
+        }
+
+        @Override
+        public void invoke(Event event) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected EventInvoker.Scope enter(int index) {
+            // Cause frame, plugin cause, listener phase context and timing
+            this.frames.push(new int[2]);
+            this.causes.push(this);
+            this.contexts.push(new Object[8]);
+            this.timing -= System.nanoTime();
+            return new EventInvoker.Scope(null, null, null);
+        }
+
+        @Override
+        protected void exit(EventInvoker.Scope scope) {
+            this.timing += System.nanoTime();
+            this.contexts.pop();
+            this.causes.pop();
+            this.frames.pop();
+        }
+
+        @Override
+        protected void fail(int index, Event event, Throwable throwable) {
+        }
+    }
+
+    static final class BenchmarkEvent implements Event {
+
+        int calls;
+
+        @Override
+        public Cause getCause() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static final class CountingListener extends AnnotatedEventListener {
+
+        CountingListener(Object handle) {
+            super(handle);
+        }
+
+        @Override
+        public void handle(Event event) {
+            ((BenchmarkEvent) event).calls++;
+        }
+    }
+
+    static final class CountingListener2 extends AnnotatedEventListener {
+
+        CountingListener2(Object handle) {
+            super(handle);
+        }
+
+        @Override
+        public void handle(Event event) {
+            ((BenchmarkEvent) event).calls += 2;
+        }
+    }
+
+    static final class CountingListener3 extends AnnotatedEventListener {
+
+        CountingListener3(Object handle) {
+            super(handle);
+        }
+
+        @Override
+        public void handle(Event event) {
+            ((BenchmarkEvent) event).calls += 3;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.SPacketEntityVelocity;
+import net.minecraft.network.play.server.SPacketUpdateTileEntity;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of serializing and compressing a packet for each player
+ * it is sent to, as the pipeline of every connection does, against doing it
+ * once in {@link PacketBroadcaster} and handing out retained duplicates.
+ *
+ * <p>Only the encoding is measured, the channel writes are the same for
+ * both variants.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketBroadcastBenchmark {
+
+    @Param({"200"})
+    public int players;
+
+    @Param({"velocity", "tileEntity"})
+    public String packetType;
+
+    @Param({"256"})
+    public int threshold;
+
+    private Packet<?> packet;
+
+    @Setup
+    public void setup() {
+        if ("velocity".equals(this.packetType)) {
+            this.packet = new SPacketEntityVelocity(42, 0.25, 0.5, -0.25);
+        } else {
+            // Large enough to be compressed, and shared by the broadcaster unlike chat
+            final NBTTagCompound compound = new NBTTagCompound();
+            for (int i = 0; i < 64; i++) {
+                compound.setString("Line" + i, "The quick brown fox jumps over the lazy dog " + i + ".");
+            }
+            this.packet = new SPacketUpdateTileEntity(new BlockPos(100, 64, -200), 9, compound);
+        }
+    }
+
+    @Benchmark
+    public void perPlayer(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < this.players; i++) {
+            final ByteBuf encoded = PacketBroadcaster.encode(this.packet);
+            final ByteBuf compressed = PacketBroadcaster.compress(encoded, this.threshold);
+            blackhole.consume(compressed.readableBytes());
+            compressed.release();
+            encoded.release();
+        }
+    }
+
+    @Benchmark
+    public void shared(Blackhole blackhole) throws Exception {
+        final ByteBuf encoded = PacketBroadcaster.encode(this.packet);
+        final ByteBuf compressed = PacketBroadcaster.compress(encoded, this.threshold);
+        for (int i = 0; i < this.players; i++) {
+            final ByteBuf duplicate = compressed.retainedDuplicate();
+            blackhole.consume(duplicate.readableBytes());
+            duplicate.release();
+        }
+        compressed.release();
+        encoded.release();
+    }
+}
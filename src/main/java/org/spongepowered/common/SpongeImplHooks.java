@@ -278,6 +278,9 @@ public static MapStorage getWorldMapStorage(World world) {
     }
 
     public static int countEntities(WorldServer worldServer, net.minecraft.entity.EnumCreatureType type, boolean forSpawnCount) {
+        if (forSpawnCount) {
+            return ((IMixinWorldServer) worldServer).getSpawnerEntityCounts().getCount(type);
+        }
         return worldServer.countEntities(type.getCreatureClass());
     }
 
@@ -31,6 +31,8 @@
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.service.ChangeServiceProviderEvent;
 import org.spongepowered.api.event.world.SaveWorldEvent;
+import org.spongepowered.api.service.user.UserStorageService;
+import org.spongepowered.common.entity.player.UserResolver;
 import org.spongepowered.common.interfaces.server.management.IMixinPlayerProfileCache;
 import org.spongepowered.common.util.SpongeUsernameCache;
 
@@ -60,6 +62,10 @@ public <T> void registerServiceCallback(Class<T> service, Consumer<T> callback)
 
     @Listener
     public void onServiceChange(ChangeServiceProviderEvent event) {
+        if (event.getService() == UserStorageService.class) {
+            // Users resolved through the old provider must not be handed out anymore
+            UserResolver.invalidateAll();
+        }
         Iterator<Predicate<Object>> it = this.serviceCallbacks.get(event.getService()).iterator();
         while (it.hasNext()) {
             if (!it.next().test(event.getNewProvider())) {
@@ -49,6 +49,7 @@
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import ninja.leaping.configurate.commented.CommentedConfigurationNode;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
@@ -95,16 +96,22 @@
 import org.spongepowered.common.config.type.TrackerConfig;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.interfaces.world.IMixinDimensionType;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.scheduler.TaskMetrics;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.storage.SpongeRegionFileCache;
 
 import java.io.File;
 import java.net.MalformedURLException;
@@ -206,6 +213,7 @@ public static CommandSpec createSpongeCommand() {
         nonFlagChildren.register(createSpongeTimingsCommand(), "timings");
         nonFlagChildren.register(createSpongeWhichCommand(), "which");
         nonFlagChildren.register(createSpongeMetricsCommand(), "metrics");
+        nonFlagChildren.register(createSpongeSchedulerCommand(), "scheduler");
         flagChildren.register(createSpongeChunksCommand(), "chunks");
         flagChildren.register(createSpongeTpsCommand(), "tps");
         trackerFlagChildren.register(createSpongeConfigCommand(), "config");
@@ -228,6 +236,7 @@ INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
                         INDENT, title("which"), LONG_INDENT, "List plugins that own a specific command\n",
                         INDENT, title("tps"), LONG_INDENT, "Provides TPS (ticks per second) data for loaded worlds\n",
                         INDENT, title("metrics"), LONG_INDENT, "Gets or sets permission for metric plugins to operate\n",
+                        INDENT, title("scheduler"), LONG_INDENT, "Provides task lag and run time data per plugin\n",
                         SpongeImplHooks.getAdditionalCommandDescriptions()))
                 .arguments(firstParsing(nonFlagChildren,
                         flags().flag("-global", "g")
@@ -388,12 +397,46 @@ protected Text getChunksInfo(WorldServer worldserver) {
                         return Text.of(NEWLINE_TEXT, key("DimensionId: "), value(WorldManager.getDimensionId(worldserver)), NEWLINE_TEXT,
                                 key("Loaded chunks: "), value(worldserver.getChunkProvider().getLoadedChunkCount()), NEWLINE_TEXT,
                                 key("Active chunks: "), value(worldserver.getChunkProvider().getLoadedChunks().size()), NEWLINE_TEXT,
+                                key("Queued unloads: "), value(((IMixinChunkProviderServer) worldserver.getChunkProvider()).getUnloadQueueSize()), NEWLINE_TEXT,
+                                key("Queued saves: "), value(getQueuedChunkSaves(worldserver)), NEWLINE_TEXT,
+                                key("Open region files: "), value(getOpenRegionFiles(worldserver)), NEWLINE_TEXT,
                                 key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
                                 key("Tile Entities: "), value(worldserver.loadedTileEntityList.size()), NEWLINE_TEXT,
                                 key("Removed Entities:"), value(worldserver.unloadedEntityList.size()), NEWLINE_TEXT,
-                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT
+                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT,
+                                getTrackedBlocksInfo(worldserver)
                         );
                     }
+
+                    protected int getQueuedChunkSaves(WorldServer worldserver) {
+                        final IChunkLoader chunkLoader = worldserver.getChunkProvider().chunkLoader;
+                        return chunkLoader instanceof IMixinAnvilChunkLoader ? ((IMixinAnvilChunkLoader) chunkLoader).getQueuedChunkCount() : 0;
+                    }
+
+                    protected int getOpenRegionFiles(WorldServer worldserver) {
+                        final IChunkLoader chunkLoader = worldserver.getChunkProvider().chunkLoader;
+                        return chunkLoader instanceof IMixinAnvilChunkLoader
+                               ? SpongeRegionFileCache.getOpenRegionFileCount(((IMixinAnvilChunkLoader) chunkLoader).getWorldDir().toFile()) : 0;
+                    }
+
+                    protected Text getTrackedBlocksInfo(WorldServer worldserver) {
+                        int positions = 0;
+                        long bytes = 0;
+                        final Collection<Chunk> chunks = worldserver.getChunkProvider().getLoadedChunks();
+                        for (Chunk chunk : chunks) {
+                            final IMixinChunk mixinChunk = (IMixinChunk) chunk;
+                            final int shortPositions = mixinChunk.getTrackedShortPlayerPositions().size();
+                            final int intPositions = mixinChunk.getTrackedIntPlayerPositions().size();
+                            positions += shortPositions + intPositions;
+                            bytes += PlayerTracker.estimateTableBytes(shortPositions, Short.BYTES)
+                                    + PlayerTracker.estimateTableBytes(intPositions, Integer.BYTES);
+                        }
+                        final long boxedBytes = PlayerTracker.estimateBoxedBytes(positions);
+                        final long perChunk = chunks.isEmpty() ? 0 : (boxedBytes - bytes) / chunks.size();
+                        return Text.of(key("Tracked block positions: "), value(positions), NEWLINE_TEXT,
+                                key("Estimated tracked block memory: "), value(String.format("~%d KiB (~%d KiB with boxed maps, ~%d B saved per loaded chunk)",
+                                        bytes / 1024, boxedBytes / 1024, perChunk)), NEWLINE_TEXT);
+                    }
                 })
                 .build();
     }
@@ -826,6 +869,48 @@ private static CommandSpec createSpongeTpsCommand() {
                 .build();
     }
 
+    private static CommandSpec createSpongeSchedulerCommand() {
+        return CommandSpec.builder()
+                .permission("sponge.command.scheduler")
+                .description(Text.of("Provides task lag and run time data per plugin."))
+                .arguments(optionalWeak(literal(Text.of("reset"), "reset")), optional(plugin(PLUGIN_KEY)))
+                .executor((src, args) -> {
+                    final SpongeScheduler scheduler = SpongeImpl.getScheduler();
+                    if (args.hasAny("reset")) {
+                        scheduler.resetTaskMetrics();
+                        src.sendMessage(Text.of("Scheduler metrics have been reset."));
+                        return CommandResult.success();
+                    }
+                    final Collection<PluginContainer> plugins = args.getAll(PLUGIN_KEY);
+                    for (boolean async : new boolean[] {false, true}) {
+                        final Map<PluginContainer, TaskMetrics> metrics = scheduler.getTaskMetrics(async);
+                        src.sendMessage(Text.of(TextColors.YELLOW, async ? "Asynchronous" : "Synchronous", " tasks:"));
+                        metrics.values().stream()
+                                .filter(taskMetrics -> plugins.isEmpty() || plugins.contains(taskMetrics.getPlugin()))
+                                .sorted(Comparator.comparingLong((TaskMetrics taskMetrics) -> taskMetrics.getRunTime().getTotal()).reversed())
+                                .forEachOrdered(taskMetrics -> printTaskMetrics(src, taskMetrics));
+                    }
+                    src.sendMessage(Text.of("Async workers: ", TextColors.LIGHT_PURPLE, scheduler.getAsyncWorkerThreads(), TextColors.RESET,
+                            ", Queued: ", TextColors.RED, scheduler.getAsyncQueueDepth(), TextColors.RESET,
+                            ", Deferred sync tasks: ", TextColors.RED, scheduler.getDeferredSyncTaskCount()));
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
+    private static void printTaskMetrics(CommandSource src, TaskMetrics metrics) {
+        src.sendMessage(Text.of(INDENT, TextColors.DARK_GREEN, metrics.getPlugin().getId(), TextColors.RESET,
+                " Runs: ", TextColors.LIGHT_PURPLE, metrics.getExecutions(), TextColors.RESET,
+                ", Run time mean/p99/max: ", TextColors.RED, toMillis(metrics.getRunTime().getMean()), "/",
+                toMillis(metrics.getRunTime().getPercentile(0.99)), "/", toMillis(metrics.getRunTime().getMax()), "ms", TextColors.RESET,
+                ", Lag mean/max: ", TextColors.RED, toMillis(metrics.getLag().getMean()), "/", toMillis(metrics.getLag().getMax()), "ms",
+                TextColors.RESET, ", Overruns: ", TextColors.RED, metrics.getOverruns()));
+    }
+
+    private static String toMillis(long nanos) {
+        return THREE_DECIMAL_DIGITS_FORMATTER.format(nanos * 1.0e-6d);
+    }
+
     private static void printWorldTickTime(CommandSource src, World world) {
         final long[] worldTickTimes = ((IMixinMinecraftServer) SpongeImpl.getServer()).
                 getWorldTickTimes(((IMixinWorldServer) world).getDimensionId());
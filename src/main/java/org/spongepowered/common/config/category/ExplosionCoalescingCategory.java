@@ -0,0 +1,57 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ExplosionCoalescingCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = "If 'true', primed TNT detonating during the same tick close to each other is merged into \n"
+                                        + "a single explosion, with the radii of the merged explosions summed up, that fires one \n"
+                                        + "explosion event and sends one set of packets. This changes how TNT cannons and large \n"
+                                        + "TNT stacks behave, so only enable it if vanilla explosion mechanics are not needed.")
+    private boolean enabled = false;
+
+    @Setting(value = "merge-distance", comment = "The maximum distance in blocks between explosions to be merged. (Default: 0.5)")
+    private double mergeDistance = 0.5D;
+
+    @Setting(value = "max-radius", comment = "The maximum radius of a merged explosion. Explosions are not merged into one that has \n"
+                                           + "already reached it. (Default: 16)")
+    private float maxRadius = 16.0F;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public double getMergeDistance() {
+        return this.mergeDistance;
+    }
+
+    public float getMaxRadius() {
+        return this.maxRadius;
+    }
+}
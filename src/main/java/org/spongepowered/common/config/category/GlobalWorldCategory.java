@@ -59,6 +59,16 @@ public class GlobalWorldCategory extends WorldCategory {
                                                      + "Note: If you are using SpongeForge, make sure to enter any mod fake player's UUID to this list.")
     private List<UUID> invalidLookupUuids = new ArrayList<>();
 
+    @Setting(value = "max-open-region-files", comment = "The maximum amount of region files kept open across all worlds. (Default: 256) \n"
+                                                      + "When the limit is reached the least recently used region file is closed, instead of \n"
+                                                      + "closing every open region file as vanilla does.")
+    private int maxOpenRegionFiles = 256;
+
+    @Setting(value = "max-cached-region-headers", comment = "The maximum amount of region file headers kept in memory across all worlds, \n"
+                                                          + "each header takes 8 KiB. (Default: 1024) \n"
+                                                          + "Headers are used to check whether a chunk exists without opening its region file.")
+    private int maxCachedRegionHeaders = 1024;
+
     public GlobalWorldCategory() {
         this.invalidLookupUuids.add(UUID.fromString("00000000-0000-0000-0000-000000000000"));
         this.invalidLookupUuids.add(UUID.fromString("0d0c4ca0-4ff1-11e4-916c-0800200c9a66")); // ComputerCraft FakePlayer
@@ -94,4 +104,12 @@ public int getGameProfileQueryTaskInterval() {
     public List<UUID> getInvalidLookupUuids() {
         return this.invalidLookupUuids;
     }
+
+    public int getMaxOpenRegionFiles() {
+        return Math.max(1, this.maxOpenRegionFiles);
+    }
+
+    public int getMaxCachedRegionHeaders() {
+        return Math.max(0, this.maxCachedRegionHeaders);
+    }
 }
\ No newline at end of file
@@ -55,6 +55,18 @@ public class OptimizationCategory extends ConfigCategory {
     @Setting(value = "async-lighting", comment = "Runs lighting updates asynchronously.")
     private AsyncLightingCategory asyncLightingCategory = new AsyncLightingCategory();
 
+    @Setting(value = "async-chunk-loading", comment = "Reads and decodes chunks asynchronously where the server can wait for them.")
+    private AsyncChunkLoadingCategory asyncChunkLoadingCategory = new AsyncChunkLoadingCategory();
+
+    @Setting(value = "chunk-save", comment = "Controls how queued chunks are compressed and written to region files.")
+    private ChunkSaveCategory chunkSaveCategory = new ChunkSaveCategory();
+
+    @Setting(value = "async-terrain-generation", comment = "Controls the generation of chunk terrain off the main thread.")
+    private TerrainGenerationCategory terrainGenerationCategory = new TerrainGenerationCategory();
+
+    @Setting(value = "explosion-coalescing", comment = "Controls the merging of primed TNT detonating at the same place during the same tick.")
+    private ExplosionCoalescingCategory explosionCoalescingCategory = new ExplosionCoalescingCategory();
+
     @Setting(value = "eigen-redstone", comment = "Uses theosib's redstone algorithms to completely overhaul the way redstone works.")
     private EigenRedstoneCategory eigenRedstonCategory = new EigenRedstoneCategory();
 
@@ -88,11 +100,48 @@ public class OptimizationCategory extends ConfigCategory {
             + "It is strongly reccomended to keep this on, unless explicitly advised otherwise by a Sponge developer")
     private boolean mapOptimization = true;
 
+    @Setting(value = "compiled-event-dispatch", comment = "If 'true', a dedicated invoker class is generated for the listeners of each event\n"
+                                                          + "type that is posted, instead of looping over the listeners. Every listener still\n"
+                                                          + "runs in its own cause frame, phase context and timing, so this only saves the\n"
+                                                          + "cost of the loop itself and is experimental.")
+    private boolean compiledEventDispatch = false;
+
+    @Setting(value = "cache-explosion-exposure", comment = "If 'true', explosions at the same position during the same tick share the\n"
+                                                           + "exposure computed for each entity they hit instead of tracing it again.\n"
+                                                           + "This greatly reduces the cost of stacked TNT, at the expense of later\n"
+                                                           + "explosions in a tick not seeing blocks destroyed by earlier ones when\n"
+                                                           + "damaging and pushing entities.")
+    private boolean cacheExplosionExposure = false;
+
+    @Setting(value = "cache-chunk-section-data", comment = "If 'true', the serialized block data of each chunk section is kept after being\n"
+                                                           + "sent in a chunk packet, and reused until a block in the section changes.\n"
+                                                           + "This saves serializing the same chunks again when many players load them,\n"
+                                                           + "at the expense of up to a few kilobytes of memory per loaded section.")
+    private boolean cacheChunkSectionData = false;
+
+    @Setting(value = "track-container-slot-changes", comment = "If 'true', open containers only fully compare the slots whose stack was\n"
+                                                               + "replaced, set or reported as changed since the last tick, and all of their\n"
+                                                               + "slots once a second. Other slots only have their item, count and damage\n"
+                                                               + "checked. A plugin or mod changing only the tag of a stack in place may then\n"
+                                                               + "see the change reach the client up to a second later.")
+    private boolean trackContainerSlotChanges = false;
+
+    @Setting(value = "broadcast-shared-packets", comment = "If 'true', packets sent to many players at once, such as entity updates and\n"
+                                                           + "effects, are serialized and compressed once and shared between the\n"
+                                                           + "connections of the players. These packets then no longer go through the\n"
+                                                           + "'sendPacket' methods of each connection, so plugins or mods hooking into\n"
+                                                           + "those will not see them.")
+    private boolean broadcastSharedPackets = false;
+
+    // Not a setting, whether this is running on SpongeForge
+    private boolean forge;
+
     public OptimizationCategory() {
         try {
             // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.
             // Because of how early this constructor gets called, we can't use SpongeImplHooks or even Game
-            this.preItemDropMerge = Launch.classLoader.getClassBytes("net.minecraftforge.common.ForgeVersion") == null;
+            this.forge = Launch.classLoader.getClassBytes("net.minecraftforge.common.ForgeVersion") != null;
+            this.preItemDropMerge = !this.forge;
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -136,6 +185,35 @@ public boolean useAsyncLighting() {
         return this.asyncLightingCategory.isEnabled();
     }
 
+    public AsyncChunkLoadingCategory getAsyncChunkLoadingCategory() {
+        return this.asyncChunkLoadingCategory;
+    }
+
+    public boolean useAsyncChunkLoading() {
+        // Forge loads player chunks asynchronously itself, and fires its chunk events from its own loader
+        return !this.forge && this.asyncChunkLoadingCategory.isEnabled();
+    }
+
+    public ChunkSaveCategory getChunkSaveCategory() {
+        return this.chunkSaveCategory;
+    }
+
+    public TerrainGenerationCategory getTerrainGenerationCategory() {
+        return this.terrainGenerationCategory;
+    }
+
+    public boolean useAsyncTerrainGeneration() {
+        return this.terrainGenerationCategory.isEnabled();
+    }
+
+    public ExplosionCoalescingCategory getExplosionCoalescingCategory() {
+        return this.explosionCoalescingCategory;
+    }
+
+    public boolean useExplosionCoalescing() {
+        return this.explosionCoalescingCategory.isEnabled();
+    }
+
     public EigenRedstoneCategory getEigenRedstoneCategory() {
         return this.eigenRedstonCategory;
     }
@@ -155,4 +233,24 @@ public boolean useEnchantmentHelperFix() {
     public boolean useFastThreadChecks() {
         return this.fasterThreadChecks;
     }
+
+    public boolean useCompiledEventDispatch() {
+        return this.compiledEventDispatch;
+    }
+
+    public boolean useExplosionExposureCache() {
+        return this.cacheExplosionExposure;
+    }
+
+    public boolean useChunkSectionDataCache() {
+        return this.cacheChunkSectionData;
+    }
+
+    public boolean useContainerSlotTracking() {
+        return this.trackContainerSlotChanges;
+    }
+
+    public boolean useSharedPacketBroadcast() {
+        return this.broadcastSharedPackets;
+    }
 }
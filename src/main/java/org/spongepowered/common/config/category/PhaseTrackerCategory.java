@@ -69,6 +69,12 @@ public class PhaseTrackerCategory extends ConfigCategory {
                                                                + "to resolve the runaway. If verbose is enabled, they will always print.")
     private int maxRunawayCount = 3;
 
+    @Setting(value = "pool-phase-contexts", comment = "If 'true', the phase contexts used for ticking entities and tile entities \n"
+                                                    + "are reused between ticks instead of being created for every single \n"
+                                                    + "entity and tile entity. Only disable this if a mod is suspected of \n"
+                                                    + "holding on to phase contexts after they have completed.")
+    private boolean poolPhaseContexts = true;
+
     public boolean isVerbose() {
         return this.isVerbose;
     }
@@ -102,4 +108,8 @@ public boolean generateStackTracePerStateEntry() {
     public int getMaximumRunawayCount() {
         return this.maxRunawayCount;
     }
+
+    public boolean poolPhaseContexts() {
+        return this.poolPhaseContexts;
+    }
 }
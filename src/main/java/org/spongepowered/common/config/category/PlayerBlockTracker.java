@@ -40,6 +40,13 @@ public class PlayerBlockTracker extends ConfigCategory {
     @Setting(value = "block-blacklist", comment = "Block IDs that will be blacklisted for player block placement tracking.")
     private List<String> blockBlacklist = new ArrayList<>();
 
+    @Setting(value = "compact-storage", comment = "If 'true', the owners and notifiers of the tracked blocks of a chunk are saved as\n"
+                                                + "flat tables of integers, which take much less space and time to load than the\n"
+                                                + "default list of compounds. Both formats are read either way.\n"
+                                                + "Warning: Older versions of Sponge can't read the compact tables, a world saved with\n"
+                                                + "this enabled loses its block owners and notifiers when opened with one of them.")
+    private boolean compactStorage = false;
+
     public boolean isEnabled() {
         return this.enabled;
     }
@@ -51,4 +58,8 @@ public void setEnabled(boolean flag) {
     public List<String> getBlockBlacklist() {
         return this.blockBlacklist;
     }
-}
\ No newline at end of file
+
+    public boolean useCompactStorage() {
+        return this.compactStorage;
+    }
+}
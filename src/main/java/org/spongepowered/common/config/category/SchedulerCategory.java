@@ -0,0 +1,70 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-worker-threads", comment = "The maximum number of worker threads used to run asynchronous plugin tasks.\n"
+                                                       + "Once every worker thread is busy, tasks wait for a free one in an unbounded queue,\n"
+                                                       + "so plugin tasks that block can hold up the tasks of other plugins.\n"
+                                                       + "If '0' or less, a new worker thread is started whenever every other one is busy.")
+    private int asyncWorkerThreads = 0;
+
+    @Setting(value = "sync-tick-budget", comment = "The number of milliseconds of a server tick, measured from its start, within which\n"
+                                                   + "deferrable synchronous tasks may run. Deferrable tasks that are due once the budget\n"
+                                                   + "is spent are carried over to the next tick. If '0' or less, deferrable tasks always\n"
+                                                   + "run in the tick they become due.")
+    private int syncTickBudget = 0;
+
+    @Setting(value = "sync-max-deferred-ticks", comment = "The maximum number of ticks a deferrable synchronous task may be carried over\n"
+                                                          + "before it is run regardless of the tick budget.")
+    private int syncMaxDeferredTicks = 20;
+
+    @Setting(value = "deferrable-plugins", comment = "The ids of plugins whose synchronous tasks are all deferrable.")
+    private List<String> deferrablePlugins = new ArrayList<>();
+
+    public int getAsyncWorkerThreads() {
+        return this.asyncWorkerThreads;
+    }
+
+    public int getSyncTickBudget() {
+        return this.syncTickBudget;
+    }
+
+    public int getSyncMaxDeferredTicks() {
+        return this.syncMaxDeferredTicks;
+    }
+
+    public List<String> getDeferrablePlugins() {
+        return this.deferrablePlugins;
+    }
+}
@@ -46,6 +46,9 @@ public class SpawnerCategory extends ConfigCategory {
     private int tickRateAquatic = 400;
     @Setting(value = "tick-rate-monster", comment = "The monster spawning tick rate. Default: 1")
     private int tickRateMonster = 1;
+    @Setting(value = "per-player-mob-caps", comment = "If 'true', the spawn limits also apply to the entities around each player, so \n"
+                                                   + "mobs piling up around one player don't stop spawning around the others. Default: false")
+    private boolean perPlayerMobCaps = false;
 
     public SpawnerCategory() {
         
@@ -82,4 +85,8 @@ public int getAquaticTickRate() {
     public int getMonsterTickRate() {
         return this.tickRateMonster;
     }
+
+    public boolean usePerPlayerMobCaps() {
+        return this.perPlayerMobCaps;
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class TerrainGenerationCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = "If 'true', the biomes and base terrain of new chunks are generated on worker threads when \n"
+                                        + "the world generator and all of its generation populators support it. Population, lighting \n"
+                                        + "and saving are still done on the main thread. Currently only flat worlds without \n"
+                                        + "structures qualify, worlds using plugin or mod generators never do.")
+    private boolean enabled = true;
+
+    @Setting(value = "threads", comment = "The amount of threads to dedicate for terrain generation. (Default: 2)")
+    private int threads = 2;
+
+    @Setting(value = "queue-size", comment = "The maximum amount of chunks waiting for a terrain generation thread. Chunks requested \n"
+                                           + "beyond this are generated on the main thread. (Default: 512)")
+    private int queueSize = 512;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public int getQueueSize() {
+        return this.queueSize;
+    }
+}
@@ -36,6 +36,7 @@
 import org.spongepowered.common.data.processor.common.AbstractEntitySingleDataProcessor;
 import org.spongepowered.common.data.value.immutable.ImmutableSpongeValue;
 import org.spongepowered.common.data.value.mutable.SpongeValue;
+import org.spongepowered.common.world.SpawnerEntityCounts;
 
 import java.util.Optional;
 
@@ -49,6 +50,7 @@ public PersistingDataProcessor() {
     @Override
     protected boolean set(EntityLiving entity, Boolean value) {
         entity.persistenceRequired = value;
+        SpawnerEntityCounts.refresh(entity);
         return true;
     }
 
@@ -24,32 +24,80 @@
  */
 package org.spongepowered.common.entity;
 
-public class PlayerTracker {
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.HashCommon;
+
+/**
+ * Helpers for the per chunk block owner/notifier tables. Each tracked block
+ * position maps to a single {@code long} holding the owner index in the high
+ * half and the notifier index in the low half, both indices into the world's
+ * unique id table with {@code -1} meaning not set.
+ */
+public final class PlayerTracker {
 
     public enum Type {
         OWNER,
         NOTIFIER
     }
 
-    public int ownerIndex;
-    public int notifierIndex;
+    public static final int NO_INDEX = -1;
+    public static final long NONE = pack(NO_INDEX, NO_INDEX);
+
+    // Rough per-entry heap cost of the previous HashMap<Short/Integer, PlayerTracker> storage:
+    // HashMap.Node (32) + boxed key (16) + PlayerTracker (24) + table slot (~8 at load factor 0.75)
+    private static final int BOXED_ENTRY_BYTES = 80;
+
+    public static long pack(int ownerIndex, int notifierIndex) {
+        return ((long) ownerIndex << 32) | (notifierIndex & 0xFFFFFFFFL);
+    }
+
+    public static long pack(int index, Type type) {
+        return type == Type.OWNER ? pack(index, NO_INDEX) : pack(NO_INDEX, index);
+    }
 
-    public PlayerTracker() {
-        this.ownerIndex = -1;
-        this.notifierIndex = -1;
+    public static int ownerIndex(long packed) {
+        return (int) (packed >> 32);
     }
 
-    public PlayerTracker(int index, Type type) {
-        if (type == Type.OWNER) {
-            this.ownerIndex = index;
-            this.notifierIndex = -1;
-        } else {
-            this.notifierIndex = index;
-            this.ownerIndex = -1;
+    public static int notifierIndex(long packed) {
+        return (int) packed;
+    }
+
+    public static long withOwner(long packed, int ownerIndex) {
+        return pack(ownerIndex, notifierIndex(packed));
+    }
+
+    public static long withNotifier(long packed, int notifierIndex) {
+        return pack(ownerIndex(packed), notifierIndex);
+    }
+
+    /**
+     * Estimates the heap used by an open addressing table with the given
+     * number of entries, key width and {@code long} values.
+     *
+     * @param entries The number of entries
+     * @param keyBytes The size of a key in bytes
+     * @return The estimated size in bytes
+     */
+    public static long estimateTableBytes(int entries, int keyBytes) {
+        if (entries == 0) {
+            return 0;
         }
+        return (long) HashCommon.arraySize(entries, Hash.DEFAULT_LOAD_FACTOR) * (keyBytes + Long.BYTES);
+    }
+
+    /**
+     * Roughly estimates the heap that the given number of entries would use
+     * in the boxed maps that the tables replace, using a flat cost per entry
+     * which ignores the JVM's object layout and the fill of the maps.
+     *
+     * @param entries The number of entries
+     * @return The rough estimate in bytes
+     */
+    public static long estimateBoxedBytes(int entries) {
+        return (long) entries * BOXED_ENTRY_BYTES;
     }
 
-    public void setNotifier(int notifierIndex) {
-        this.notifierIndex = notifierIndex;
+    private PlayerTracker() {
     }
 }
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity.player;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.service.user.UserStorageService;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.profile.SpongeProfileManager;
+import org.spongepowered.common.util.SpongeUsernameCache;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Resolves tracked unique ids (creators, notifiers and block owners) to
+ * {@link User}s without ever blocking on a profile lookup. If the user
+ * cannot be found in any of the local caches, an async lookup is queued
+ * and nothing is returned for now.
+ *
+ * <p>Offline users are interned by unique id so that repeated lookups of
+ * the same owner hand back the same instance without going through the
+ * username cache and the {@link UserStorageService} every time. Online
+ * players are never cached, the player entity is replaced on respawn.
+ * Entries are invalidated when a player logs in or out and when the
+ * stored user is recreated or deleted.</p>
+ */
+public final class UserResolver {
+
+    private static final Cache<UUID, User> offlineUsers = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    @Nullable private static UserStorageService userStorageService;
+
+    public static Optional<User> resolve(UUID uuid) {
+        // get player if online
+        final Player player = Sponge.getServer().getPlayer(uuid).orElse(null);
+        if (player != null) {
+            return Optional.of(player);
+        }
+        final User cached = offlineUsers.getIfPresent(uuid);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        final Optional<User> user = resolveOffline(uuid);
+        user.ifPresent(u -> offlineUsers.put(uuid, u));
+        return user;
+    }
+
+    public static void invalidate(UUID uuid) {
+        offlineUsers.invalidate(uuid);
+    }
+
+    public static void invalidateAll() {
+        offlineUsers.invalidateAll();
+        userStorageService = null;
+    }
+
+    private static Optional<User> resolveOffline(UUID uuid) {
+        // player is not online, get user from storage if one exists
+        final SpongeProfileManager profileManager = (SpongeProfileManager) Sponge.getServer().getGameProfileManager();
+        if (userStorageService == null) {
+            userStorageService = SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get();
+        }
+
+        // check username cache
+        final String username = SpongeUsernameCache.getLastKnownUsername(uuid);
+        if (username != null) {
+            return userStorageService.get(GameProfile.of(uuid, username));
+        }
+
+        // check mojang cache
+        final GameProfile profile = profileManager.getCache().getById(uuid).orElse(null);
+        if (profile != null) {
+            return userStorageService.get(profile);
+        }
+
+        // If we reach this point, queue UUID for async lookup and return empty
+        profileManager.lookupUserAsync(uuid);
+        return Optional.empty();
+    }
+
+    private UserResolver() {
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import co.aikar.timings.Timing;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.impl.AbstractEvent;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+
+import javax.annotation.Nullable;
+
+/**
+ * The base class of the invokers generated by {@link EventInvokerFactory}.
+ *
+ * <p>A generated invoker calls every listener of an event type from its own
+ * call site, instead of going through a shared loop. Like the loop in
+ * {@link SpongeEventManager}, every listener runs in its own cause frame,
+ * phase context and timing, which are set up by {@link #enter(int)} and torn
+ * down by {@link #exit(Scope)}.</p>
+ *
+ * <p>The members used by generated code are protected or public as the
+ * generated classes are defined by their own class loader, and therefore
+ * live in a different runtime package.</p>
+ */
+public abstract class EventInvoker {
+
+    private final RegisteredListener<?>[] listeners;
+
+    protected EventInvoker(RegisteredListener<?>[] listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Calls every listener with the event, in order. This must only be called
+     * on the main thread.
+     *
+     * @param event The event
+     */
+    public abstract void invoke(Event event);
+
+    protected final EventListener<?> getListener(int index) {
+        return this.listeners[index].getListener();
+    }
+
+    /**
+     * Opens the scope for the listener at the given index. If opening the
+     * scope fails, whatever was already opened is closed again.
+     *
+     * @param index The index of the listener
+     * @return The scope
+     */
+    protected Scope enter(int index) {
+        final RegisteredListener<?> handler = this.listeners[index];
+        final CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame();
+        PhaseContext<?> context = null;
+        try {
+            frame.pushCause(handler.getPlugin());
+            if (PhaseTracker.getInstance().getCurrentState().allowsEventListener()) {
+                context = PluginPhase.Listener.GENERAL_LISTENER.createPhaseContext()
+                    .source(handler.getPlugin());
+                context.buildAndSwitch();
+            }
+            final Timing timing = handler.getTimingsHandler();
+            timing.startTimingIfSync();
+            return new Scope(frame, context, timing);
+        } catch (Throwable t) {
+            try {
+                if (context != null) {
+                    context.close();
+                }
+            } finally {
+                frame.close();
+            }
+            throw t;
+        }
+    }
+
+    protected void before(int index, Event event) {
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = this.listeners[index].getOrder();
+        }
+    }
+
+    protected void fail(int index, Event event, Throwable throwable) {
+        SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), this.listeners[index].getPlugin(), throwable);
+    }
+
+    /**
+     * Closes a scope opened by {@link #enter(int)}, in the reverse order the
+     * resources were opened in.
+     *
+     * @param scope The scope
+     */
+    protected void exit(Scope scope) {
+        try {
+            scope.timing.close();
+        } finally {
+            try {
+                if (scope.context != null) {
+                    scope.context.close();
+                }
+            } finally {
+                scope.frame.close();
+            }
+        }
+    }
+
+    protected void complete(Event event) {
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = null;
+        }
+    }
+
+    public static final class Scope {
+
+        final CauseStackManager.StackFrame frame;
+        @Nullable final PhaseContext<?> context;
+        final Timing timing;
+
+        Scope(CauseStackManager.StackFrame frame, @Nullable PhaseContext<?> context, Timing timing) {
+            this.frame = frame;
+            this.context = context;
+            this.timing = timing;
+        }
+    }
+}
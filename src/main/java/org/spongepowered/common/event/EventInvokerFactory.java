@@ -0,0 +1,220 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.IFNULL;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Generates an {@link EventInvoker} class per baked listener list, which
+ * calls each listener directly from its own call site.
+ */
+public final class EventInvokerFactory {
+
+    /**
+     * Listener lists longer than this are not compiled, to stay well within
+     * the maximum method size.
+     */
+    static final int MAX_LISTENERS = 512;
+
+    private static final String EVENT_DESCRIPTOR = Type.getDescriptor(Event.class);
+    private static final String LISTENER_NAME = Type.getInternalName(EventListener.class);
+    private static final String LISTENER_DESCRIPTOR = Type.getDescriptor(EventListener.class);
+    private static final String SCOPE_DESCRIPTOR = Type.getDescriptor(EventInvoker.Scope.class);
+    private static final String THROWABLE_NAME = Type.getInternalName(Throwable.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = '(' + Type.getDescriptor(RegisteredListener[].class) + ")V";
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final String targetPackage;
+    private final Class<? extends EventInvoker> baseClass;
+
+    public EventInvokerFactory(String targetPackage) {
+        this(targetPackage, EventInvoker.class);
+    }
+
+    EventInvokerFactory(String targetPackage, Class<? extends EventInvoker> baseClass) {
+        this.targetPackage = checkNotNull(targetPackage, "targetPackage") + '.';
+        this.baseClass = checkNotNull(baseClass, "baseClass");
+    }
+
+    /**
+     * Creates an invoker for the given listeners, which must already be
+     * sorted in the order they are to be called in.
+     *
+     * @param eventClass The event class the listeners were baked for
+     * @param listeners The listeners
+     * @return The invoker, or null if the listeners cannot be compiled
+     * @throws Exception If the invoker class could not be generated
+     */
+    @Nullable
+    public EventInvoker create(Class<?> eventClass, List<RegisteredListener<?>> listeners) throws Exception {
+        if (listeners.isEmpty() || listeners.size() > MAX_LISTENERS) {
+            return null;
+        }
+        final RegisteredListener<?>[] array = listeners.toArray(new RegisteredListener<?>[0]);
+        final String name = this.targetPackage + eventClass.getSimpleName() + "Invoker_" + this.id.incrementAndGet();
+        // Every invoker gets its own class loader, so the class can be
+        // unloaded once the handler cache it belongs to is invalidated.
+        final DefineableClassLoader classLoader = new DefineableClassLoader(this.baseClass.getClassLoader());
+        final Class<? extends EventInvoker> invokerClass = classLoader.defineClass(name, generateClass(name, this.baseClass, array));
+        return invokerClass.getConstructor(RegisteredListener[].class).newInstance((Object) array);
+    }
+
+    private static byte[] generateClass(String name, Class<?> baseClass, RegisteredListener<?>[] listeners) {
+        name = name.replace('.', '/');
+        final String baseName = Type.getInternalName(baseClass);
+
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, baseName, null);
+        for (int i = 0; i < listeners.length; i++) {
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "l" + i, LISTENER_DESCRIPTOR, null, null).visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKESPECIAL, baseName, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+            for (int i = 0; i < listeners.length; i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 0);
+                visitIntConstant(mv, i);
+                mv.visitMethodInsn(INVOKEVIRTUAL, baseName, "getListener", "(I)" + LISTENER_DESCRIPTOR, false);
+                mv.visitFieldInsn(PUTFIELD, name, "l" + i, LISTENER_DESCRIPTOR);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "invoke", '(' + EVENT_DESCRIPTOR + ")V", null, null);
+            mv.visitCode();
+            for (int i = 0; i < listeners.length; i++) {
+                // Scope scope = null;
+                // try {
+                //     scope = this.enter(i);
+                //     this.before(i, event);
+                //     this.li.handle(event);
+                // } catch (Throwable t) {
+                //     this.fail(i, event, t);
+                // }
+                // if (scope != null) {
+                //     this.exit(scope);
+                // }
+                final Label tryStart = new Label();
+                final Label tryEnd = new Label();
+                final Label handler = new Label();
+                final Label next = new Label();
+                final Label done = new Label();
+                mv.visitInsn(ACONST_NULL);
+                mv.visitVarInsn(ASTORE, 2);
+                mv.visitTryCatchBlock(tryStart, tryEnd, handler, THROWABLE_NAME);
+                mv.visitLabel(tryStart);
+                mv.visitVarInsn(ALOAD, 0);
+                visitIntConstant(mv, i);
+                mv.visitMethodInsn(INVOKEVIRTUAL, baseName, "enter", "(I)" + SCOPE_DESCRIPTOR, false);
+                mv.visitVarInsn(ASTORE, 2);
+                mv.visitVarInsn(ALOAD, 0);
+                visitIntConstant(mv, i);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEVIRTUAL, baseName, "before", "(I" + EVENT_DESCRIPTOR + ")V", false);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "l" + i, LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEINTERFACE, LISTENER_NAME, "handle", '(' + EVENT_DESCRIPTOR + ")V", true);
+                mv.visitLabel(tryEnd);
+                mv.visitJumpInsn(GOTO, next);
+                mv.visitLabel(handler);
+                mv.visitVarInsn(ASTORE, 3);
+                mv.visitVarInsn(ALOAD, 0);
+                visitIntConstant(mv, i);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitVarInsn(ALOAD, 3);
+                mv.visitMethodInsn(INVOKEVIRTUAL, baseName, "fail", "(I" + EVENT_DESCRIPTOR + "Ljava/lang/Throwable;)V", false);
+                mv.visitLabel(next);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitJumpInsn(IFNULL, done);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitMethodInsn(INVOKEVIRTUAL, baseName, "exit", '(' + SCOPE_DESCRIPTOR + ")V", false);
+                mv.visitLabel(done);
+            }
+            // this.complete(event);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKEVIRTUAL, baseName, "complete", '(' + EVENT_DESCRIPTOR + ")V", false);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+    private static void visitIntConstant(MethodVisitor mv, int value) {
+        if (value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else {
+            mv.visitIntInsn(SIPUSH, value);
+        }
+    }
+
+}
@@ -38,6 +38,8 @@
 import java.util.EnumMap;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
 
     private final PluginContainer plugin;
@@ -81,6 +83,10 @@ public Timing getTimingsHandler() {
         return this.listenerTimer;
     }
 
+    EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
     @Override
     public Object getHandle() {
         if (this.listener instanceof SpongeEventListener) {
@@ -104,6 +110,7 @@ public static final class Cache {
 
         private final List<RegisteredListener<?>> listeners;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
+        @Nullable private EventInvoker invoker;
 
         private static final Order[] ORDERS = Order.values();
 
@@ -127,6 +134,20 @@ public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             return this.listenersByOrder.get(checkNotNull(order, "order"));
         }
 
+        /**
+         * Gets the compiled invoker of the listeners, if one was generated.
+         *
+         * @return The invoker, or null
+         */
+        @Nullable
+        public EventInvoker getInvoker() {
+            return this.invoker;
+        }
+
+        void setInvoker(@Nullable EventInvoker invoker) {
+            this.invoker = invoker;
+        }
+
     }
 
 }
@@ -99,6 +99,8 @@ public class SpongeEventManager implements EventManager {
 
     public final ListenerChecker checker = new ListenerChecker(ShouldFire.class);
 
+    private final EventInvokerFactory invokerFactory = new EventInvokerFactory("org.spongepowered.common.event.invoker");
+
     /**
      * A cache of all the handlers for an event type for quick event posting.
      * <p>The cache is currently entirely invalidated if handlers are added or
@@ -162,7 +164,15 @@ <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType)
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        final RegisteredListener.Cache cache = new RegisteredListener.Cache(handlers);
+        if (SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useCompiledEventDispatch()) {
+            try {
+                cache.setInvoker(this.invokerFactory.create(eventType.getType(), handlers));
+            } catch (Exception e) {
+                this.logger.error("Failed to compile the listeners of {}, falling back to the default dispatch", eventType, e);
+            }
+        }
+        return cache;
     }
 
     @Nullable
@@ -398,7 +408,7 @@ protected RegisteredListener.Cache getHandlerCache(Event event) {
     }
 
     @SuppressWarnings("unchecked")
-    private boolean post(Event event, List<RegisteredListener<?>> handlers) {
+    private boolean post(Event event, List<RegisteredListener<?>> handlers, @Nullable EventInvoker invoker) {
         if (!Sponge.getServer().isMainThread()) {
             // If this event is being posted asynchronously then we don't want
             // to do any timing or cause stack changes
@@ -418,25 +428,33 @@ private boolean post(Event event, List<RegisteredListener<?>> handlers) {
             return event instanceof Cancellable && ((Cancellable) event).isCancelled();
         }
         TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
-        for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
-            try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame();
-                 final PhaseContext<?> context = createPluginContext(handler);
-                 final Timing timings = handler.getTimingsHandler()) {
-                frame.pushCause(handler.getPlugin());
-                if (context != null) {
-                    context.buildAndSwitch();
-                }
-                timings.startTimingIfSync();
-                if (event instanceof AbstractEvent) {
-                    ((AbstractEvent) event).currentOrder = handler.getOrder();
+        try {
+            if (invoker != null) {
+                invoker.invoke(event);
+                return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+            }
+            for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
+                try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame();
+                     final PhaseContext<?> context = createPluginContext(handler);
+                     final Timing timings = handler.getTimingsHandler()) {
+                    frame.pushCause(handler.getPlugin());
+                    if (context != null) {
+                        context.buildAndSwitch();
+                    }
+                    timings.startTimingIfSync();
+                    if (event instanceof AbstractEvent) {
+                        ((AbstractEvent) event).currentOrder = handler.getOrder();
+                    }
+                    handler.handle(event);
+                } catch (Throwable e) {
+                    // TODO - add some better handling, especially since we have the stakc frame and phase context to boot
+                    final PrettyPrinter printer = new PrettyPrinter(60).add("Error with event listener handling").centre().hr();
+                    printer.add("A listener threw an exception while being handled, this is usually not a sponge bug.");
+                    this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
                 }
-                handler.handle(event);
-            } catch (Throwable e) {
-                // TODO - add some better handling, especially since we have the stakc frame and phase context to boot
-                final PrettyPrinter printer = new PrettyPrinter(60).add("Error with event listener handling").centre().hr();
-                printer.add("A listener threw an exception while being handled, this is usually not a sponge bug.");
-                this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
             }
+        } finally {
+            TimingsManager.PLUGIN_EVENT_HANDLER.stopTimingIfSync();
         }
         if (event instanceof AbstractEvent) {
             ((AbstractEvent) event).currentOrder = null;
@@ -475,12 +493,13 @@ public boolean postServer(Event event) {
     }
 
     public boolean post(Event event, boolean allowClientThread) {
-        return post(event, getHandlerCache(event).getListeners());
+        final RegisteredListener.Cache cache = getHandlerCache(event);
+        return post(event, cache.getListeners(), cache.getInvoker());
     }
 
     public boolean post(Event event, PluginContainer plugin) {
         return post(event, getHandlerCache(event).getListeners().stream()
                 .filter(l -> l.getPlugin().equals(plugin))
-                .collect(Collectors.toList()));
+                .collect(Collectors.toList()), null);
     }
 }
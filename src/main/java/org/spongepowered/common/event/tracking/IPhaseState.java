@@ -99,11 +99,13 @@
             ctx.usedFrame = new ArrayDeque<>();
         }
         ctx.usedFrame.push(frame); // WE NEED TO STORE THIS SO WE CAN PROPERLY POP THE FRAME
-        if (ctx.owner != null) {
-            frame.addContext(EventContextKeys.OWNER, ctx.owner);
+        final User owner = ctx.resolveOwner();
+        if (owner != null) {
+            frame.addContext(EventContextKeys.OWNER, owner);
         }
-        if (ctx.notifier != null) {
-            frame.addContext(EventContextKeys.NOTIFIER, ctx.notifier);
+        final User notifier = ctx.resolveNotifier();
+        if (notifier != null) {
+            frame.addContext(EventContextKeys.NOTIFIER, notifier);
         }
     };
 
@@ -125,6 +127,27 @@
      */
     C createPhaseContext();
 
+    /**
+     * Gets a {@link PhaseContext} for this state, which may be a previously
+     * released context that has been reset. States that are entered for every
+     * entity or tile entity every tick override this to pool their contexts,
+     * everything else simply creates a new one.
+     *
+     * @return The context, ready to be populated
+     */
+    default C acquirePhaseContext() {
+        return createPhaseContext();
+    }
+
+    /**
+     * Hands back a context obtained from {@link #acquirePhaseContext()} once it
+     * has been closed. The context must not be used afterwards.
+     *
+     * @param context The closed context
+     */
+    default void releasePhaseContext(C context) {
+    }
+
     /**
      * Gets the frame modifier for default frame modifications, like pushing
      * the source of the phase, owner, notifier, etc. of the context. Used specifically
@@ -747,8 +770,9 @@ default void appendNotifierPreBlockTick(IMixinWorldServer mixinWorld, BlockPos p
         final Chunk chunk = WorldUtil.asNative(mixinWorld).getChunk(pos);
         final IMixinChunk mixinChunk = (IMixinChunk) chunk;
         if (chunk != null && !chunk.isEmpty()) {
-            mixinChunk.getBlockOwner(pos).ifPresent(phaseContext::owner);
-            mixinChunk.getBlockNotifier(pos).ifPresent(phaseContext::notifier);
+            // Only carry the ids, the users are resolved if the tick ends up firing an event
+            mixinChunk.getBlockOwnerUUID(pos).ifPresent(phaseContext::owner);
+            mixinChunk.getBlockNotifierUUID(pos).ifPresent(phaseContext::notifier);
         }
     }
 
@@ -778,15 +802,17 @@ default void capturePlayerUsingStackToBreakBlock(ItemStack itemStack, EntityPlay
 
 
     default void provideNotifierForNeighbors(C context, NeighborNotificationContext notification) {
-        if (context.notifier != null) {
-            notification.notifier(context.notifier);
+        final User notifier = context.resolveNotifier();
+        if (notifier != null) {
+            notification.notifier(notifier);
             return;
         }
         // At this point, since there's no notifier avilable, we can consider the
         // owner as one available left (you know, someone placing a redstone block to power
         // nearby redstone wire, the owner would at least be notifying the next blocks
-        if (context.owner != null) { // If the owner is set, at least set the owner
-            notification.notifier(context.owner);
+        final User owner = context.resolveOwner();
+        if (owner != null) { // If the owner is set, at least set the owner
+            notification.notifier(owner);
         }
     }
 
@@ -42,6 +42,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.entity.player.UserResolver;
 import org.spongepowered.common.event.tracking.context.BlockItemDropsSupplier;
 import org.spongepowered.common.event.tracking.context.BlockItemEntityDropsSupplier;
 import org.spongepowered.common.event.tracking.context.CaptureBlockPos;
@@ -120,6 +121,11 @@ public static PhaseContext<?> empty() {
     // General
     @Nullable protected User owner;
     @Nullable protected User notifier;
+    // Ids are carried until something actually needs the user, most ticks never do
+    @Nullable private UUID ownerUniqueId;
+    @Nullable private UUID notifierUniqueId;
+    private boolean ownerResolved;
+    private boolean notifierResolved;
     private boolean processImmediately;
     private boolean allowsBlockEvents = true; // Defaults to allow block events
     private boolean allowsEntityEvents = true;
@@ -146,6 +152,25 @@ public P owner(User owner) {
             throw new IllegalStateException("Owner for this phase context is already set!");
         }
         this.owner = checkNotNull(owner, "Owner cannot be null!");
+        this.ownerUniqueId = owner.getUniqueId();
+        this.ownerResolved = true;
+        return (P) this;
+    }
+
+    /**
+     * Sets the owner by unique id only. The {@link User} is not looked up
+     * until the owner is requested, which for the majority of ticks that
+     * capture nothing is never.
+     *
+     * @param uniqueId The unique id of the owner
+     * @return This context, for chaining
+     */
+    public P owner(UUID uniqueId) {
+        checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
+        if (this.owner != null || this.ownerUniqueId != null) {
+            throw new IllegalStateException("Owner for this phase context is already set!");
+        }
+        this.ownerUniqueId = checkNotNull(uniqueId, "Owner cannot be null!");
         return (P) this;
     }
 
@@ -160,9 +185,48 @@ public P notifier(User notifier) {
             throw new IllegalStateException("Notifier for this phase context is already set!");
         }
         this.notifier = checkNotNull(notifier, "Notifier cannot be null!");
+        this.notifierUniqueId = notifier.getUniqueId();
+        this.notifierResolved = true;
+        return (P) this;
+    }
+
+    /**
+     * Sets the notifier by unique id only, see {@link #owner(UUID)}.
+     *
+     * @param uniqueId The unique id of the notifier
+     * @return This context, for chaining
+     */
+    public P notifier(UUID uniqueId) {
+        checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
+        if (this.notifier != null || this.notifierUniqueId != null) {
+            throw new IllegalStateException("Notifier for this phase context is already set!");
+        }
+        this.notifierUniqueId = checkNotNull(uniqueId, "Notifier cannot be null!");
         return (P) this;
     }
 
+    @Nullable
+    User resolveOwner() {
+        if (!this.ownerResolved) {
+            this.ownerResolved = true;
+            if (this.owner == null && this.ownerUniqueId != null) {
+                this.owner = UserResolver.resolve(this.ownerUniqueId).orElse(null);
+            }
+        }
+        return this.owner;
+    }
+
+    @Nullable
+    User resolveNotifier() {
+        if (!this.notifierResolved) {
+            this.notifierResolved = true;
+            if (this.notifier == null && this.notifierUniqueId != null) {
+                this.notifier = UserResolver.resolve(this.notifierUniqueId).orElse(null);
+            }
+        }
+        return this.notifier;
+    }
+
     private void checkBlockSuppliers() {
         checkState(this.blocksSupplier == null, "BlocksSuppler is already set!");
         checkState(this.blockItemEntityDropsSupplier == null, "BlockItemEntityDropsSupplier is already set!");
@@ -265,6 +329,8 @@ public PrettyPrinter printCustom(PrettyPrinter printer, int indent) {
         String s = String.format("%1$"+indent+"s", "");
         if (this.owner != null) {
             printer.add(s + "- %s: %s", "Owner", this.owner);
+        } else if (this.ownerUniqueId != null) {
+            printer.add(s + "- %s: %s", "Owner", this.ownerUniqueId);
         }
         if (this.source != null) {
             printer.add(s + "- %s: %s", "Source", this.source);
@@ -353,7 +419,7 @@ public <T> T requireSource(Class<T> targetClass) {
     }
 
     public Optional<User> getOwner() {
-        return Optional.ofNullable(this.owner);
+        return Optional.ofNullable(this.resolveOwner());
     }
 
     /**
@@ -363,15 +429,40 @@ public Optional<User> getOwner() {
      * @return True if the consumer was called
      */
     public boolean applyOwnerIfAvailable(Consumer<User> consumer) {
-        if (this.owner != null) {
-            consumer.accept(this.owner);
+        final User owner = this.resolveOwner();
+        if (owner != null) {
+            consumer.accept(owner);
             return true;
         }
         return false;
     }
 
+    /**
+     * Gets the unique id of the owner without resolving the {@link User}.
+     *
+     * @return The owner's unique id, if available
+     */
+    public Optional<UUID> getOwnerUniqueId() {
+        if (this.ownerUniqueId == null && this.owner != null) {
+            return Optional.of(this.owner.getUniqueId());
+        }
+        return Optional.ofNullable(this.ownerUniqueId);
+    }
+
+    /**
+     * Gets the unique id of the notifier without resolving the {@link User}.
+     *
+     * @return The notifier's unique id, if available
+     */
+    public Optional<UUID> getNotifierUniqueId() {
+        if (this.notifierUniqueId == null && this.notifier != null) {
+            return Optional.of(this.notifier.getUniqueId());
+        }
+        return Optional.ofNullable(this.notifierUniqueId);
+    }
+
     public Optional<User> getNotifier() {
-        return Optional.ofNullable(this.notifier);
+        return Optional.ofNullable(this.resolveNotifier());
     }
 
     /**
@@ -381,8 +472,9 @@ public Optional<User> getNotifier() {
      * @return True if the consumer was called
      */
     public boolean applyNotifierIfAvailable(Consumer<User> consumer) {
-        if (this.notifier != null) {
-            consumer.accept(this.notifier);
+        final User notifier = this.resolveNotifier();
+        if (notifier != null) {
+            consumer.accept(notifier);
             return true;
         }
         return false;
@@ -522,11 +614,13 @@ public Optional<BlockPos> getBlockPosition() {
     }
 
     public void addNotifierAndOwnerToCauseStack(CauseStackManager.StackFrame frame) {
-        if (this.owner != null) {
-            frame.addContext(EventContextKeys.OWNER, this.owner);
+        final User owner = this.resolveOwner();
+        if (owner != null) {
+            frame.addContext(EventContextKeys.OWNER, owner);
         }
-        if (this.notifier != null) {
-            frame.addContext(EventContextKeys.NOTIFIER, this.notifier);
+        final User notifier = this.resolveNotifier();
+        if (notifier != null) {
+            frame.addContext(EventContextKeys.NOTIFIER, notifier);
         }
     }
 
@@ -558,12 +652,55 @@ public String toString() {
                 .toString();
     }
 
+    /**
+     * Returns this context to the state it was in right after construction
+     * and {@code add*Captures()}, so that it can be handed out again by a
+     * {@link PhaseContextPool}. Subclasses holding extra per-use state must
+     * override this and call super.
+     */
+    protected void reset() {
+        this.isCompleted = false;
+        this.stackTrace = null;
+        this.neighborNotificationSource = null;
+        this.source = null;
+        this.owner = null;
+        this.notifier = null;
+        this.ownerUniqueId = null;
+        this.notifierUniqueId = null;
+        this.ownerResolved = false;
+        this.notifierResolved = false;
+        this.processImmediately = false;
+        this.allowsBlockEvents = true;
+        this.allowsEntityEvents = true;
+        this.allowsBulkBlockCaptures = true;
+        this.allowsBulkEntityCaptures = true;
+        this.usedFrame = null;
+        resetIfPresent(this.blocksSupplier);
+        resetIfPresent(this.capturedItemsSupplier);
+        resetIfPresent(this.capturedEntitiesSupplier);
+        resetIfPresent(this.capturedItemStackSupplier);
+        resetIfPresent(this.blockEntitySpawnSupplier);
+        resetIfPresent(this.blockItemDropsSupplier);
+        resetIfPresent(this.blockItemEntityDropsSupplier);
+        resetIfPresent(this.entityItemDropsSupplier);
+        resetIfPresent(this.entityItemEntityDropsSupplier);
+        if (this.captureBlockPos != null) {
+            this.captureBlockPos.reset();
+        }
+    }
+
+    private static void resetIfPresent(@Nullable ICaptureSupplier supplier) {
+        if (supplier != null) {
+            supplier.reset();
+        }
+    }
+
     protected P markEmpty() {
         this.isCompleted = true;
         return (P) this;
     }
 
-    private boolean isEmpty() {
+    boolean isEmpty() {
         if (this == PhaseContext.EMPTY) {
             return true;
         }
@@ -647,11 +784,13 @@ public boolean captureEntity(Entity entity) {
 
     @Nullable
     public User getActiveUser() {
-        if (this.notifier != null) {
-            return this.notifier;
+        final User notifier = this.resolveNotifier();
+        if (notifier != null) {
+            return notifier;
         }
-        if (this.owner != null) {
-            return this.owner;
+        final User owner = this.resolveOwner();
+        if (owner != null) {
+            return owner;
         }
         if (this.source != null && this.source instanceof User) {
             return ((User) this.source);
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * A small free list of {@link PhaseContext}s for states that are entered
+ * once per entity or tile entity per tick. Contexts are only pooled on the
+ * main thread, anything else gets a fresh context that is simply dropped on
+ * release.
+ *
+ * <p>A context must only be released once it has been closed and is no
+ * longer referenced by the {@link PhaseTracker}.</p>
+ *
+ * @param <C> The context type
+ */
+public final class PhaseContextPool<C extends PhaseContext<C>> {
+
+    private final Supplier<C> factory;
+    private final ArrayDeque<C> free;
+    private final int maxSize;
+
+    public PhaseContextPool(Supplier<C> factory, int maxSize) {
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.free = new ArrayDeque<>(maxSize);
+    }
+
+    public C acquire() {
+        if (!isPooling()) {
+            return this.factory.get();
+        }
+        final C context = this.free.pollFirst();
+        return context == null ? this.factory.get() : context;
+    }
+
+    public void release(C context) {
+        if (context.isEmpty() || this.free.size() >= this.maxSize || !isPooling()) {
+            return;
+        }
+        if (PhaseTracker.getInstance().getCurrentContext() == context) {
+            // The phase never completed, the tracker will deal with it. Let it go.
+            return;
+        }
+        context.reset();
+        this.free.addFirst(context);
+    }
+
+    private static boolean isPooling() {
+        return SpongeImpl.getGlobalConfig().getConfig().getPhaseTracker().poolPhaseContexts() && SpongeImplHooks.isMainThread();
+    }
+
+    public int size() {
+        return this.free.size();
+    }
+}
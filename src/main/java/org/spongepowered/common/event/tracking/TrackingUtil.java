@@ -145,13 +145,14 @@ public static void tickEntity(net.minecraft.entity.Entity entity) {
             return;
         }
 
-        final EntityTickContext tickContext = TickPhase.Tick.ENTITY.createPhaseContext().source(entity);
+        final EntityTickContext tickContext = TickPhase.Tick.ENTITY.acquirePhaseContext().source(entity);
         try (final EntityTickContext context = tickContext;
              final Timing entityTiming = mixinEntity.getTimingsHandler()
         ) {
-            mixinEntity.getNotifierUser()
+            // Only the ids are added, the users are looked up if something actually needs them
+            mixinEntity.getNotifier()
                     .ifPresent(context::notifier);
-            mixinEntity.getCreatorUser()
+            mixinEntity.getCreator()
                     .ifPresent(context::owner);
             context.buildAndSwitch();
             entityTiming.startTiming();
@@ -162,6 +163,7 @@ public static void tickEntity(net.minecraft.entity.Entity entity) {
         } catch (Exception | NoClassDefFoundError e) {
             PhaseTracker.getInstance().printExceptionFromPhase(e, tickContext);
         }
+        TickPhase.Tick.ENTITY.releasePhaseContext(tickContext);
     }
 
     public static void tickRidingEntity(net.minecraft.entity.Entity entity) {
@@ -172,15 +174,15 @@ public static void tickRidingEntity(net.minecraft.entity.Entity entity) {
             return;
         }
 
-        final EntityTickContext tickContext = TickPhase.Tick.ENTITY.createPhaseContext().source(entity);
+        final EntityTickContext tickContext = TickPhase.Tick.ENTITY.acquirePhaseContext().source(entity);
         try (
              final EntityTickContext context = tickContext;
              final Timing entityTiming = mixinEntity.getTimingsHandler()
              ) {
             entityTiming.startTiming();
-            mixinEntity.getNotifierUser()
+            mixinEntity.getNotifier()
                 .ifPresent(context::notifier);
-            mixinEntity.getCreatorUser()
+            mixinEntity.getCreator()
                 .ifPresent(context::owner);
             context.buildAndSwitch();
             entity.updateRidden();
@@ -190,6 +192,7 @@ public static void tickRidingEntity(net.minecraft.entity.Entity entity) {
         } catch (Exception | NoClassDefFoundError e) {
             PhaseTracker.getInstance().printExceptionFromPhase(e, tickContext);
         }
+        TickPhase.Tick.ENTITY.releasePhaseContext(tickContext);
     }
 
     @SuppressWarnings({"unused", "try"})
@@ -204,7 +207,7 @@ public static void tickTileEntity(IMixinWorldServer mixinWorldServer, ITickable
             return;
         }
 
-        final TileEntityTickContext context = TickPhase.Tick.TILE_ENTITY.createPhaseContext().source(mixinTileEntity);
+        final TileEntityTickContext context = TickPhase.Tick.TILE_ENTITY.acquirePhaseContext().source(mixinTileEntity);
         try (final PhaseContext<?> phaseContext = context) {
 
             // Add notifier and owner so we don't have to perform lookups during the phases and other processing
@@ -236,6 +239,7 @@ public static void tickTileEntity(IMixinWorldServer mixinWorldServer, ITickable
             PhaseTracker.getInstance().printExceptionFromPhase(e, context);
         }
         mixinTileEntity.setIsTicking(false);
+        TickPhase.Tick.TILE_ENTITY.releasePhaseContext(context);
     }
 
     @SuppressWarnings("rawtypes")
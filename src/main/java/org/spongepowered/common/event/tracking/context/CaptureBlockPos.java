@@ -67,6 +67,11 @@ public void setWorld(@Nullable WorldServer world) {
         }
     }
 
+    public void reset() {
+        this.pos = null;
+        this.mixinWorldReference = null;
+    }
+
     public Optional<IMixinWorldServer> getMixinWorld() {
         return this.mixinWorldReference == null ? Optional.empty() : Optional.ofNullable(this.mixinWorldReference.get());
     }
@@ -65,6 +65,11 @@ public final boolean isEmpty() {
         return this.captured == null || this.captured.isEmpty();
     }
 
+    @Override
+    public final void reset() {
+        this.captured = null;
+    }
+
     /**
      * If not empty, activates the consumer then clears all captures.
      *
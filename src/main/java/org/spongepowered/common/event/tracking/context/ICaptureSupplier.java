@@ -28,4 +28,12 @@ public interface ICaptureSupplier {
 
     boolean isEmpty();
 
+    /**
+     * Drops all captured objects so that this supplier may be reused by a
+     * pooled {@link org.spongepowered.common.event.tracking.PhaseContext}.
+     * The backing collection is discarded rather than cleared in case it was
+     * handed out to something that still holds on to it.
+     */
+    void reset();
+
 }
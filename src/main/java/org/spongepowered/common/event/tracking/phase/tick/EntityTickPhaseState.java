@@ -47,6 +47,7 @@
 import org.spongepowered.api.event.cause.entity.spawn.SpawnTypes;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
+import org.spongepowered.common.event.tracking.PhaseContextPool;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.event.tracking.phase.general.ExplosionContext;
 import org.spongepowered.common.util.VecHelper;
@@ -72,6 +73,7 @@ class EntityTickPhaseState extends TickPhaseState<EntityTickContext> {
             }
         });
 
+    private final PhaseContextPool<EntityTickContext> contextPool = new PhaseContextPool<>(this::createPhaseContext, 16);
     private String name;
 
     EntityTickPhaseState(String name) {
@@ -240,6 +242,16 @@ public EntityTickContext createPhaseContext() {
         return new EntityTickContext(this).addCaptures();
     }
 
+    @Override
+    public EntityTickContext acquirePhaseContext() {
+        return this.contextPool.acquire();
+    }
+
+    @Override
+    public void releasePhaseContext(EntityTickContext context) {
+        this.contextPool.release(context);
+    }
+
     @Override
     public void postBlockTransactionApplication(BlockChange blockChange, Transaction<BlockSnapshot> transaction,
         EntityTickContext context) {
@@ -38,6 +38,7 @@
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseContextPool;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.event.tracking.phase.general.ExplosionContext;
 import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
@@ -54,6 +55,7 @@ class TileEntityTickPhaseState extends LocationBasedTickPhaseState<TileEntityTic
                 .ifPresent(frame::pushCause)
         );
 
+    private final PhaseContextPool<TileEntityTickContext> contextPool = new PhaseContextPool<>(this::createPhaseContext, 16);
     private String name;
 
     TileEntityTickPhaseState(String name) {
@@ -68,6 +70,16 @@ public TileEntityTickContext createPhaseContext() {
                 .addBlockCaptures();
     }
 
+    @Override
+    public TileEntityTickContext acquirePhaseContext() {
+        return this.contextPool.acquire();
+    }
+
+    @Override
+    public void releasePhaseContext(TileEntityTickContext context) {
+        this.contextPool.release(context);
+    }
+
     @Override
     public BiConsumer<StackFrame, TileEntityTickContext> getFrameModifier() {
         return this.TILE_ENTITY_MODIFIER;
@@ -25,10 +25,11 @@
 package org.spongepowered.common.interfaces;
 
 import com.flowpowered.math.vector.Vector3d;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.chunk.ChunkPrimer;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.entity.living.player.User;
@@ -37,13 +38,12 @@
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.extent.EntityUniverse;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.world.QueuedLightUpdates;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
@@ -51,9 +51,21 @@
 
 public interface IMixinChunk {
 
-    Map<Short, PlayerTracker> getTrackedShortPlayerPositions();
-
-    Map<Integer, PlayerTracker> getTrackedIntPlayerPositions();
+    /**
+     * Gets the owner/notifier table for tracked positions with a y of at most
+     * 255, keyed by the packed short position and valued by
+     * {@link PlayerTracker#pack(int, int)}.
+     *
+     * @return The short keyed table
+     */
+    Short2LongMap getTrackedShortPlayerPositions();
+
+    /**
+     * Gets the owner/notifier table for tracked positions above y 255.
+     *
+     * @return The int keyed table
+     */
+    Int2LongMap getTrackedIntPlayerPositions();
 
     Optional<User> getBlockOwner(BlockPos pos);
 
@@ -75,9 +87,9 @@ public interface IMixinChunk {
 
     void addTrackedBlockPosition(Block block, BlockPos pos, User user, PlayerTracker.Type trackerType);
 
-    void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPlayerPositions);
+    void setTrackedIntPlayerPositions(Int2LongMap trackedPlayerPositions);
 
-    void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPlayerPositions);
+    void setTrackedShortPlayerPositions(Short2LongMap trackedPlayerPositions);
 
     void setNeighbor(Direction direction, Chunk neighbor);
 
@@ -92,6 +104,16 @@ public interface IMixinChunk {
 
     void setScheduledForUnload(long scheduled);
 
+    /**
+     * Gets whether this chunk currently has an entry in its provider's
+     * {@link org.spongepowered.common.world.ChunkUnloadQueue}.
+     *
+     * @return True if queued
+     */
+    boolean isInUnloadQueue();
+
+    void setInUnloadQueue(boolean inUnloadQueue);
+
     void getIntersectingEntities(Vector3d start, Vector3d direction, double distance, Predicate<EntityUniverse.EntityHit> filter,
             double entryY, double exitY, Set<EntityUniverse.EntityHit> intersections);
 
@@ -117,7 +139,7 @@ void getIntersectingEntities(Vector3d start, Vector3d direction, double distance
 
     boolean isQueuedForUnload();
 
-    CopyOnWriteArrayList<Short> getQueuedLightingUpdates(EnumSkyBlock type);
+    QueuedLightUpdates getQueuedLightUpdates();
 
     void markChunkDirty();
 
@@ -80,6 +80,16 @@ public interface IMixinEntity extends org.spongepowered.api.entity.Entity, IMixi
      */
     void setTrackedInWorld(boolean tracked);
 
+    /**
+     * Gets the creature types, as a bit mask of their ordinals, that this
+     * entity currently counts towards in its world's spawn caps.
+     *
+     * @return The counted creature types
+     */
+    int getSpawnerCreatureTypes();
+
+    void setSpawnerCreatureTypes(int types);
+
     boolean isTeleporting();
 
     void setIsTeleporting(boolean teleporting);
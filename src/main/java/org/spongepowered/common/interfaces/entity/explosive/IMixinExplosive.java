@@ -41,16 +41,27 @@ public interface IMixinExplosive {
     void setExplosionRadius(Optional<Integer> radius);
 
     default Optional<net.minecraft.world.Explosion> detonate(Explosion.Builder builder) {
+        final Optional<Explosion> explosion = postDetonateEvent(builder);
+        if (explosion.isPresent() && explosion.get().getRadius() > 0) {
+            ((IMixinWorldServer) ((Explosive) this).getWorld()).triggerInternalExplosion(explosion.get(),
+                    e -> GeneralPhase.State.EXPLOSION.createPhaseContext().explosion(e));
+        }
+        return explosion.map(e -> (net.minecraft.world.Explosion) e);
+    }
+
+    /**
+     * Posts the {@link DetonateExplosiveEvent} for this explosive without
+     * triggering the resulting explosion.
+     *
+     * @param builder The explosion builder
+     * @return The explosion to trigger, or empty if the event was cancelled
+     */
+    default Optional<Explosion> postDetonateEvent(Explosion.Builder builder) {
         DetonateExplosiveEvent event = SpongeEventFactory.createDetonateExplosiveEvent(
                 Sponge.getCauseStackManager().getCurrentCause(), builder, builder.build(), (Explosive) this
         );
         if (!Sponge.getEventManager().post(event)) {
-            Explosion explosion = event.getExplosionBuilder().build();
-            if (explosion.getRadius() > 0) {
-                ((IMixinWorldServer) ((Explosive) this).getWorld()).triggerInternalExplosion(explosion,
-                        e -> GeneralPhase.State.EXPLOSION.createPhaseContext().explosion(e));
-            }
-            return Optional.of((net.minecraft.world.Explosion) explosion);
+            return Optional.of(event.getExplosionBuilder().build());
         }
         return Optional.empty();
     }
@@ -28,4 +28,12 @@ public interface IMixinSlot {
     
     int getSlotIndex();
 
+    /**
+     * Gets the number of times the stack of this slot was set or reported as
+     * changed through this slot.
+     *
+     * @return The modification count
+     */
+    int getModificationCount();
+
 }
@@ -24,6 +24,12 @@
  */
 package org.spongepowered.common.interfaces.network;
 
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.SPacketChat;
+import net.minecraft.network.play.server.SPacketCustomPayload;
+import net.minecraft.network.play.server.SPacketPlayerListItem;
+import net.minecraft.network.play.server.SPacketResourcePackSend;
+import net.minecraft.network.play.server.SPacketSetExperience;
 import org.spongepowered.api.resourcepack.ResourcePack;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
@@ -32,6 +38,26 @@
 
 public interface IMixinNetHandlerPlayServer {
 
+    /**
+     * Gets whether the packet has to go through the connection of each
+     * player it is sent to, because it is filtered or rewritten per player
+     * when being sent, or handled per player by mods.
+     *
+     * <p>Every packet handled by {@code MixinNetHandlerPlayServer#rewritePacket}
+     * must be listed here.</p>
+     *
+     * @param packet The packet
+     * @return Whether the packet needs per player handling
+     */
+    static boolean needsPerPlayerHandling(Packet<?> packet) {
+        // Chat is filtered by the chat visibility of each player
+        return packet instanceof SPacketChat
+                || packet instanceof SPacketPlayerListItem
+                || packet instanceof SPacketResourcePackSend
+                || packet instanceof SPacketSetExperience
+                || packet instanceof SPacketCustomPayload;
+    }
+
     @Nullable
     ResourcePack popReceivedResourcePack(boolean markAccepted);
 
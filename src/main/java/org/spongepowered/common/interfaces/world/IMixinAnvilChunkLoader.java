@@ -24,10 +24,15 @@
  */
 package org.spongepowered.common.interfaces.world;
 
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
+import javax.annotation.Nullable;
+
 public interface IMixinAnvilChunkLoader {
 
     // Forge method
@@ -35,4 +40,30 @@ public interface IMixinAnvilChunkLoader {
 
     Path getWorldDir();
 
+    int getQueuedChunkCount();
+
+    /**
+     * Reads the data fixed compound of the chunk, either from the pending
+     * saves or from its region file. Safe to call off the main thread.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The chunk compound, or null if the chunk has not been generated
+     * @throws IOException If the region file could not be read
+     */
+    @Nullable NBTTagCompound readChunkCompound(int x, int z) throws IOException;
+
+    /**
+     * Builds the chunk, including its entities and tile entities, from a
+     * compound read by {@link #readChunkCompound(int, int)}. Must be called
+     * on the main thread.
+     *
+     * @param world The world
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @param compound The chunk compound
+     * @return The chunk, or null if the compound is invalid
+     */
+    @Nullable Chunk readChunkFromCompound(World world, int x, int z, NBTTagCompound compound);
+
 }
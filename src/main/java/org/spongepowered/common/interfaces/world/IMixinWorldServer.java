@@ -41,6 +41,11 @@
 import org.spongepowered.common.config.type.GeneralConfigBase;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.world.ExplosionCoalescer;
+import org.spongepowered.common.world.ExplosionExposureCache;
+import org.spongepowered.common.world.PlayerChunkIndex;
+import org.spongepowered.common.world.PlayerProximityGrid;
+import org.spongepowered.common.world.SpawnerEntityCounts;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
 
@@ -96,6 +101,34 @@ public interface IMixinWorldServer extends IMixinWorld {
 
     int getChunkGCTickInterval();
 
+    SpawnerEntityCounts getSpawnerEntityCounts();
+
+    /**
+     * Gets the player proximity grid of this world, rebuilt at most once per
+     * tick.
+     *
+     * @return The player proximity grid for the current tick
+     */
+    PlayerProximityGrid getPlayerProximityGrid();
+
+    ExplosionExposureCache getExplosionExposureCache();
+
+    /**
+     * Gets the players of this world indexed by the chunk they are in, to
+     * broadcast packets around a position.
+     *
+     * @return The player chunk index
+     */
+    PlayerChunkIndex getPlayerChunkIndex();
+
+    /**
+     * Gets the explosions of primed TNT waiting to be triggered at the end of
+     * the entity tick of this world.
+     *
+     * @return The explosion coalescer
+     */
+    ExplosionCoalescer getExplosionCoalescer();
+
     long getChunkUnloadDelay();
 
     net.minecraft.world.Explosion triggerInternalExplosion(Explosion explosion, Function<net.minecraft.world.Explosion, PhaseContext<?>> contextCreator);
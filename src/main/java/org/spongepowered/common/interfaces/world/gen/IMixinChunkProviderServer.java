@@ -50,5 +50,20 @@ public interface IMixinChunkProviderServer {
 
     long getChunkUnloadDelay();
 
+    int getUnloadQueueSize();
+
+    /**
+     * Loads the chunk from disk, doing the region read and NBT decoding off
+     * the main thread. The future is completed on the main thread, with null
+     * if the chunk has not been generated yet.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The future chunk
+     */
+    CompletableFuture<Chunk> loadChunkAsync(int x, int z);
+
+    int getPendingChunkLoadCount();
+
     WorldServer getWorld();
 }
@@ -185,6 +185,7 @@ public abstract class MixinEntity implements org.spongepowered.api.entity.Entity
     private boolean allowsBlockEventCreation = true;
     private boolean allowsEntityEventCreation = true;
     private boolean trackedInWorld = false;
+    private int spawnerCreatureTypes;
 
     @Shadow public net.minecraft.entity.Entity ridingEntity;
     @Shadow @Final private List<net.minecraft.entity.Entity> riddenByEntities;
@@ -313,6 +314,16 @@ public void setTrackedInWorld(boolean tracked) {
         this.trackedInWorld = tracked;
     }
 
+    @Override
+    public int getSpawnerCreatureTypes() {
+        return this.spawnerCreatureTypes;
+    }
+
+    @Override
+    public void setSpawnerCreatureTypes(int types) {
+        this.spawnerCreatureTypes = types;
+    }
+
     @Inject(method = "startRiding(Lnet/minecraft/entity/Entity;Z)Z", at = @At(value = "FIELD", target = RIDING_ENTITY_FIELD, ordinal = 0),
             cancellable = true)
     private void onStartRiding(net.minecraft.entity.Entity vehicle, boolean force, CallbackInfoReturnable<Boolean> ci) {
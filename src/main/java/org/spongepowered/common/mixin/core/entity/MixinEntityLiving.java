@@ -69,6 +69,7 @@
 import org.spongepowered.common.interfaces.entity.IMixinGriefer;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.world.SpawnerEntityCounts;
 
 import java.util.Iterator;
 import java.util.List;
@@ -247,6 +248,12 @@ private void onSetAttackTarget(@Nullable EntityLivingBase entitylivingbaseIn, Ca
         }
     }
 
+    // Picking up an item sets persistenceRequired directly, without going through enablePersistence
+    @Inject(method = {"enablePersistence", "readEntityFromNBT", "updateEquipmentIfNeeded"}, at = @At("RETURN"))
+    private void onPersistenceChanged(CallbackInfo ci) {
+        SpawnerEntityCounts.refresh((net.minecraft.entity.Entity) (Object) this);
+    }
+
     /**
      * @author gabizou - January 4th, 2016
      * @reason This will still check if the current attack target
@@ -396,8 +396,8 @@ private EntityDeathContext createOrNullDeathPhase(boolean isMainThread, DamageSo
             final EntityDeathContext context = EntityPhase.State.DEATH.createPhaseContext()
                 .setDamageSource((org.spongepowered.api.event.cause.entity.damage.source.DamageSource) source)
                 .source(this);
-            this.getNotifierUser().ifPresent(context::notifier);
-            this.getCreatorUser().ifPresent(context::owner);
+            this.getNotifier().ifPresent(context::notifier);
+            this.getCreator().ifPresent(context::owner);
             return context;
         }
         return null;
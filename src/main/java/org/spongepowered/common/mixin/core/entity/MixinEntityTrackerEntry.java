@@ -34,6 +34,7 @@
 import net.minecraft.network.play.server.SPacketPlayerListItem;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -45,6 +46,7 @@
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayerMP;
 import org.spongepowered.common.mixin.core.network.datasync.IMixinEntityDataManager;
+import org.spongepowered.common.network.PacketBroadcaster;
 import org.spongepowered.common.network.SpoofedEntityDataManager;
 
 import java.util.Collection;
@@ -123,11 +125,19 @@ private void onVisibilityCheck(EntityPlayerMP entityPlayerMP, CallbackInfoReturn
         }
     }
 
-    @Inject(method = "sendPacketToTrackedPlayers", at = @At("HEAD"), cancellable = true)
-    private void checkIfTrackedIsInvisiblePriorToSendingPacketToPlayers(Packet<?> packet, CallbackInfo callBackInfo) {
+    /**
+     * @author SpongePowered - October 17th, 2026
+     * @reason Skips vanished entities and serializes the packet once for all
+     * the tracking players instead of once per player.
+     *
+     * @param packetIn The packet to send
+     */
+    @Overwrite
+    public void sendPacketToTrackedPlayers(Packet<?> packetIn) {
         if (((IMixinEntity) this.trackedEntity).isVanished()) {
-            callBackInfo.cancel();
+            return;
         }
+        PacketBroadcaster.sendToAll(this.trackingPlayers, packetIn);
     }
 
     @ModifyArg(method = "sendMetadata", at = @At(value = "INVOKE", target = "Lnet/minecraft/network/play/server/SPacketEntityProperties;<init>(ILjava/util/Collection;)V"))
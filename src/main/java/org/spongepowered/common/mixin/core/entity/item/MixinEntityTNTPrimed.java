@@ -47,7 +47,9 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.entity.IMixinEntityTNTPrimed;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.mixin.core.entity.MixinEntity;
 
 import java.util.Optional;
@@ -153,12 +155,27 @@ private void preExplode(CallbackInfo ci) {
     @Redirect(method = "explode", at = @At(value = "INVOKE", target = TARGET_NEW_EXPLOSION))
     protected net.minecraft.world.Explosion onExplode(net.minecraft.world.World worldObj, Entity self, double x,
                                                       double y, double z, float strength, boolean smoking) {
-        return detonate(Explosion.builder()
+        final Explosion.Builder builder = Explosion.builder()
                 .location(new Location<>((World) worldObj, new Vector3d(x, y, z)))
                 .sourceExplosive(this)
                 .radius(this.explosionRadius)
                 .shouldPlaySmoke(smoking)
-                .shouldBreakBlocks(smoking))
+                .shouldBreakBlocks(smoking);
+        // Sponge - Leave the explosion to be merged with the TNT detonating around it during this tick
+        if (worldObj instanceof IMixinWorldServer && SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useExplosionCoalescing()) {
+            return postDetonateEvent(builder)
+                    .map(explosion -> {
+                        if (explosion.getRadius() > 0) {
+                            ((IMixinWorldServer) worldObj).getExplosionCoalescer().add(explosion);
+                        }
+                        return (net.minecraft.world.Explosion) explosion;
+                    })
+                    .orElseGet(() -> {
+                        this.detonationCancelled = true;
+                        return null;
+                    });
+        }
+        return detonate(builder)
                 .orElseGet(() -> {
                     this.detonationCancelled = true;
                     return null;
@@ -70,6 +70,7 @@
 import org.spongepowered.common.event.tracking.phase.packet.PacketPhaseUtil;
 import org.spongepowered.common.interfaces.IMixinContainer;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
+import org.spongepowered.common.interfaces.inventory.IMixinSlot;
 import org.spongepowered.common.item.inventory.adapter.impl.MinecraftInventoryAdapter;
 import org.spongepowered.common.item.inventory.adapter.impl.SlotCollectionIterator;
 import org.spongepowered.common.item.inventory.adapter.impl.slots.SlotAdapter;
@@ -115,6 +116,12 @@ public abstract class MixinContainer implements org.spongepowered.api.item.inven
 
     private boolean captureSuccess = false;
 
+    // Slot change tracking, see detectAndSendChanges
+    private static final int FULL_SCAN_INTERVAL = 20;
+    private ItemStack[] lastSlotStacks = new ItemStack[0];
+    private int[] lastSlotModificationCounts = new int[0];
+    private int scansSinceFullScan;
+
     @Shadow
     public abstract NonNullList<ItemStack> getInventory();
 
@@ -230,10 +237,31 @@ public boolean capturePossible() {
     public void detectAndSendChanges(boolean captureOnly) {
         this.spongeInit();
 
-        for (int i = 0; i < this.inventorySlots.size(); ++i) {
+        final int size = this.inventorySlots.size();
+        if (this.lastSlotStacks.length != size) {
+            this.lastSlotStacks = new ItemStack[size];
+            this.lastSlotModificationCounts = new int[size];
+        }
+        // Captures need every change, otherwise a full comparison is still done now and then
+        // to pick up stacks having only their tag changed in place
+        final boolean fullScan = this.captureInventory || !SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useContainerSlotTracking()
+                || ++this.scansSinceFullScan >= FULL_SCAN_INTERVAL;
+        if (fullScan) {
+            this.scansSinceFullScan = 0;
+        }
+
+        for (int i = 0; i < size; ++i) {
             final Slot slot = this.inventorySlots.get(i);
             final ItemStack itemstack = slot.getStack();
             ItemStack itemstack1 = this.inventoryItemStacks.get(i);
+            final int modificationCount = ((IMixinSlot) slot).getModificationCount();
+
+            if (!fullScan && itemstack == this.lastSlotStacks[i] && modificationCount == this.lastSlotModificationCounts[i]
+                    && itemstack.getCount() == itemstack1.getCount() && itemstack.getItem() == itemstack1.getItem()
+                    && itemstack.getMetadata() == itemstack1.getMetadata()) {
+                // Same stack, not set or reported as changed since the last check, skip comparing the tags
+                continue;
+            }
 
             if (!ItemStack.areItemStacksEqual(itemstack1, itemstack)) {
 
@@ -280,6 +308,8 @@ public void detectAndSendChanges(boolean captureOnly) {
                     listener.sendSlotContents((Container) (Object) this, i, itemstack1);
                 }
             }
+            this.lastSlotStacks[i] = itemstack;
+            this.lastSlotModificationCounts[i] = modificationCount;
         }
         this.markClean();
     }
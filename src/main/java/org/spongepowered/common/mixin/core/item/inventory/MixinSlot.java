@@ -59,6 +59,7 @@ public abstract class MixinSlot implements org.spongepowered.api.item.inventory.
     protected Lens lens;
 
     @Nullable private InventoryAdapter parentAdapter;
+    private int modificationCount;
 
     @SuppressWarnings("unchecked")
     @Inject(method = "<init>", at = @At("RETURN"))
@@ -75,11 +76,26 @@ private void onConstructed(CallbackInfo ci) {
         }
     }
 
+    @Inject(method = "putStack", at = @At("HEAD"))
+    private void onPutStack(CallbackInfo ci) {
+        this.modificationCount++;
+    }
+
+    @Inject(method = "onSlotChanged", at = @At("HEAD"))
+    private void onSlotChanged(CallbackInfo ci) {
+        this.modificationCount++;
+    }
+
     @Override
     public int getSlotIndex() {
         return this.slotIndex;
     }
 
+    @Override
+    public int getModificationCount() {
+        return this.modificationCount;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public Inventory parent() {
@@ -267,7 +267,8 @@ private void checkSpongeKeepAlive(CPacketKeepAlive packetIn, CallbackInfo ci) {
 
     /**
      * This method wraps packets being sent to perform any additional actions,
-     * such as rewriting data in the packet.
+     * such as rewriting data in the packet. Packets handled here must also
+     * be listed in {@link IMixinNetHandlerPlayServer#needsPerPlayerHandling}.
      *
      * @param packetIn The original packet to be sent
      * @return The rewritten packet if we performed any changes, the original
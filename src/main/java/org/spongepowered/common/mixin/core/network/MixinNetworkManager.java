@@ -98,6 +98,11 @@ public void setVersion(int version) {
         this.version = new SpongeMinecraftVersion(String.valueOf(version), version);
     }
 
+    @Override
+    public Channel getChannel() {
+        return this.channel;
+    }
+
     @Override
     public Player getPlayer() {
         if(this.packetListener instanceof NetHandlerPlayServer) {
@@ -34,10 +34,15 @@
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongMaps;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMaps;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.init.Blocks;
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.tileentity.TileEntity;
@@ -107,6 +112,7 @@
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.server.management.IMixinPlayerChunkMapEntry;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
@@ -139,6 +145,7 @@ public abstract class MixinChunk implements Chunk, IMixinChunk, IMixinCachable {
     private UUID uuid;
     private long scheduledForUnload = -1; // delay chunk unloads
     private boolean persistedChunk = false;
+    private boolean inUnloadQueue = false;
     private boolean isSpawning = false;
     private net.minecraft.world.chunk.Chunk[] neighbors = new net.minecraft.world.chunk.Chunk[4];
     private long cacheKey;
@@ -249,6 +256,9 @@ public void setIsSpawning(boolean spawning) {
     @Inject(method = "addEntity", at = @At("RETURN"))
     private void onChunkAddEntity(Entity entityIn, CallbackInfo ci) {
         ((IMixinEntity) entityIn).setActiveChunk(this);
+        if (entityIn instanceof EntityPlayerMP && this.world instanceof IMixinWorldServer) {
+            ((IMixinWorldServer) this.world).getPlayerChunkIndex().add((EntityPlayerMP) entityIn, this.x, this.z);
+        }
     }
 
     @Inject(method = "addTileEntity(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/tileentity/TileEntity;)V", at = @At(value = "INVOKE", target = "Lnet/minecraft/tileentity/TileEntity;validate()V"))
@@ -259,6 +269,9 @@ private void onChunkAddTileEntity(BlockPos pos, TileEntity tileEntityIn, Callbac
     @Inject(method = "removeEntityAtIndex", at = @At("RETURN"))
     private void onChunkRemoveEntityAtIndex(Entity entityIn, int index, CallbackInfo ci) {
         ((IMixinEntity) entityIn).setActiveChunk(null);
+        if (entityIn instanceof EntityPlayerMP && this.world instanceof IMixinWorldServer) {
+            ((IMixinWorldServer) this.world).getPlayerChunkIndex().remove((EntityPlayerMP) entityIn, this.x, this.z);
+        }
     }
 
     @Redirect(method = "removeTileEntity", at = @At(value = "INVOKE", target = "Lnet/minecraft/tileentity/TileEntity;invalidate()V"))
@@ -771,13 +784,13 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
     }
 
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
-        return Collections.emptyMap();
+    public Int2LongMap getTrackedIntPlayerPositions() {
+        return Int2LongMaps.EMPTY_MAP;
     }
 
     @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
-        return Collections.emptyMap();
+    public Short2LongMap getTrackedShortPlayerPositions() {
+        return Short2LongMaps.EMPTY_MAP;
     }
 
     @Override
@@ -811,11 +824,11 @@ public void setBlockCreator(BlockPos pos, @Nullable UUID uuid) {
     }
 
     @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
+    public void setTrackedIntPlayerPositions(Int2LongMap trackedPositions) {
     }
 
     @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
+    public void setTrackedShortPlayerPositions(Short2LongMap trackedPositions) {
     }
 
     // Continuing the rest of the implementation
@@ -1264,6 +1277,16 @@ public void setScheduledForUnload(long scheduled) {
         this.scheduledForUnload = scheduled;
     }
 
+    @Override
+    public boolean isInUnloadQueue() {
+        return this.inUnloadQueue;
+    }
+
+    @Override
+    public void setInUnloadQueue(boolean inUnloadQueue) {
+        this.inUnloadQueue = inUnloadQueue;
+    }
+
     @Inject(method = "generateSkylightMap", at = @At("HEAD"), cancellable = true)
     public void onGenerateSkylightMap(CallbackInfo ci) {
         if (!WorldGenConstants.lightingEnabled) {
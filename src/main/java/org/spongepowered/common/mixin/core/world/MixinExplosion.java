@@ -25,7 +25,13 @@
 package org.spongepowered.common.mixin.core.world;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.Long2FloatMap;
+import it.unimi.dsi.fastutil.longs.Long2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
@@ -67,6 +73,7 @@
 import org.spongepowered.common.interfaces.world.IMixinLocation;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ExplosionExposureCache;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -74,7 +81,6 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
-import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -171,7 +177,13 @@ public void doExplosionA() {
         // Sponge Start - If the explosion should not break blocks, don't bother calculating it
         if (this.shouldBreakBlocks) {
             // Sponge End
-            Set<BlockPos> set = Sets.<BlockPos>newHashSet();
+            // Sponge Start - Neighbouring rays mostly cross the same blocks, so look up the state and resistance
+            // of each position once per explosion, and step the rays with a single mutable position
+            final LongSet set = new LongOpenHashSet();
+            final Long2FloatMap resistances = new Long2FloatOpenHashMap();
+            final Long2ObjectMap<IBlockState> states = new Long2ObjectOpenHashMap<>();
+            final BlockPos.MutableBlockPos blockpos = new BlockPos.MutableBlockPos();
+            // Sponge End
             int i = 16;
 
             for (int j = 0; j < 16; ++j) {
@@ -191,20 +203,31 @@ public void doExplosionA() {
                             double d8 = this.z;
 
                             for (float f1 = 0.3F; f > 0.0F; f -= 0.22500001F) {
-                                BlockPos blockpos = new BlockPos(d4, d6, d8);
-                                IBlockState iblockstate = this.world.getBlockState(blockpos);
-
-                                if (iblockstate.getMaterial() != Material.AIR) {
-                                    float f2 = this.exploder != null
-                                               ? this.exploder.getExplosionResistance((net.minecraft.world.Explosion) (Object) this
+                                // Sponge Start - Use the cached state and resistance of the position
+                                blockpos.setPos(d4, d6, d8);
+                                final long key = blockpos.toLong();
+                                IBlockState iblockstate = states.get(key);
+
+                                if (iblockstate == null) {
+                                    iblockstate = this.world.getBlockState(blockpos);
+                                    float f2 = 0.0F;
+                                    if (iblockstate.getMaterial() != Material.AIR) {
+                                        f2 = this.exploder != null
+                                             ? this.exploder.getExplosionResistance((net.minecraft.world.Explosion) (Object) this
                                             , this.world, blockpos, iblockstate)
-                                               : iblockstate.getBlock().getExplosionResistance((Entity) null);
-                                    f -= (f2 + 0.3F) * 0.3F;
+                                             : iblockstate.getBlock().getExplosionResistance((Entity) null);
+                                        f2 = (f2 + 0.3F) * 0.3F;
+                                    }
+                                    states.put(key, iblockstate);
+                                    resistances.put(key, f2);
                                 }
 
+                                f -= resistances.get(key);
+                                // Sponge End
+
                                 if (f > 0.0F && (this.exploder == null || this.exploder
                                         .canExplosionDestroyBlock((net.minecraft.world.Explosion) (Object) this, this.world, blockpos, iblockstate, f))) {
-                                    set.add(blockpos);
+                                    set.add(key);
                                 }
 
                                 d4 += d0 * 0.30000001192092896D;
@@ -216,7 +239,11 @@ public void doExplosionA() {
                 }
             }
 
-            this.affectedBlockPositions.addAll(set);
+            // Sponge Start - Convert the packed positions
+            for (LongIterator iterator = set.iterator(); iterator.hasNext(); ) {
+                this.affectedBlockPositions.add(BlockPos.fromLong(iterator.nextLong()));
+            }
+            // Sponge End
         } // Sponge - Finish if statement
         float f3 = this.size * 2.0F;
         int k1 = MathHelper.floor(this.x - (double) f3 - 1.0D);
@@ -265,6 +292,12 @@ public void doExplosionA() {
         // Sponge End
 
         Vec3d vec3d = new Vec3d(this.x, this.y, this.z);
+        // Sponge Start
+        final ExplosionExposureCache exposureCache = this.world instanceof IMixinWorldServer
+                                                     && SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useExplosionExposureCache()
+                                                     ? ((IMixinWorldServer) this.world).getExplosionExposureCache()
+                                                     : null;
+        // Sponge End
 
         for (int k2 = 0; k2 < list.size(); ++k2) {
             Entity entity = list.get(k2);
@@ -282,7 +315,11 @@ public void doExplosionA() {
                         d5 = d5 / d13;
                         d7 = d7 / d13;
                         d9 = d9 / d13;
-                        double d14 = (double) this.world.getBlockDensity(vec3d, entity.getEntityBoundingBox());
+                        // Sponge Start - Share the exposure with other explosions at this position during the tick if enabled
+                        double d14 = exposureCache != null
+                                     ? (double) exposureCache.getBlockDensity(this.world, vec3d, entity.getEntityBoundingBox())
+                                     : (double) this.world.getBlockDensity(vec3d, entity.getEntityBoundingBox());
+                        // Sponge End
                         double d10 = (1.0D - d12) * d14;
                         entity.attackEntityFrom(
                                 DamageSource.causeExplosionDamage((net.minecraft.world.Explosion) (Object) this), (float) ((int) ((d10 * d10 + d10) / 2.0D * 7.0D * (double) f3 + 1.0D)));
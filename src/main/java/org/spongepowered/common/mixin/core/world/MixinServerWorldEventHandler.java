@@ -25,8 +25,9 @@
 package org.spongepowered.common.mixin.core.world;
 
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.SPacketCustomSound;
-import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.management.PlayerList;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.world.DimensionType;
 import net.minecraft.world.ServerWorldEventHandler;
@@ -45,7 +46,6 @@
 public abstract class MixinServerWorldEventHandler implements IMixinServerWorldEventHandler {
 
     @Shadow @Final private WorldServer world;
-    @Shadow @Final private MinecraftServer server;
 
     @Redirect(method = "playSoundToAllNearExcept", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/DimensionType;getId()I"), expect = 0, require = 0)
     private int getDimensionForPlayingSound(DimensionType dimensionType) {
@@ -57,10 +57,18 @@ private int getDimensionForSoundEffects(DimensionType dimensionType) {
         return ((IMixinWorldServer) this.world).getDimensionId();
     }
 
+    @Redirect(method = {"playSoundToAllNearExcept", "playEvent"}, at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/server/management/PlayerList;sendToAllNearExcept(Lnet/minecraft/entity/player/EntityPlayer;DDDDILnet/minecraft/network/Packet;)V"))
+    private void onSendToAllNearExcept(PlayerList playerList, @Nullable EntityPlayer except, double x, double y, double z, double radius,
+            int dimension, Packet<?> packet) {
+        // Sponge - Look up the players of this world around the position instead of going through all of them
+        ((IMixinWorldServer) this.world).getPlayerChunkIndex().sendToAllNearExcept(except, x, y, z, radius, packet);
+    }
+
     @Override
     public void playCustomSoundToAllNearExcept(@Nullable EntityPlayer player, String soundIn, SoundCategory category, double x, double y, double z,
             float volume, float pitch) {
-        this.server.getPlayerList().sendToAllNearExcept(player, x, y, z, volume > 1.0F ? (double)(16.0F * volume) : 16.0D,
-                ((IMixinWorldServer) this.world).getDimensionId(), new SPacketCustomSound(soundIn, category, x, y, z, volume, pitch));
+        ((IMixinWorldServer) this.world).getPlayerChunkIndex().sendToAllNearExcept(player, x, y, z, volume > 1.0F ? (double)(16.0F * volume) : 16.0D,
+                new SPacketCustomSound(soundIn, category, x, y, z, volume, pitch));
     }
 }
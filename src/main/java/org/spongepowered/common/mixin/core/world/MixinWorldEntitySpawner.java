@@ -25,13 +25,15 @@
 package org.spongepowered.common.mixin.core.world;
 
 import com.flowpowered.math.vector.Vector3d;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntitySpawnPlacementRegistry;
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.entity.IEntityLivingData;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.util.WeightedRandom;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
@@ -56,15 +58,16 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.type.GeneralConfigBase;
+import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
 import org.spongepowered.common.interfaces.IMixinChunk;
-import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.util.SpawnerSpawnType;
+import org.spongepowered.common.world.PlayerProximityGrid;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -85,6 +88,8 @@ public abstract class MixinWorldEntitySpawner {
     @Nullable
     private static EntityType spawnerEntityType;
     private List<Chunk> eligibleSpawnChunks = new ArrayList<>();
+    // The index of the player each eligible chunk was found for, when per-player mob caps are enabled
+    private final IntArrayList eligibleSpawnChunkPlayers = new IntArrayList();
 
     /**
      * @author blood - February 18th, 2017
@@ -111,6 +116,7 @@ public int findChunksForSpawning(WorldServer worldServerIn, boolean spawnHostile
                 ((IMixinChunk) chunk).setIsSpawning(false);
                 chunkIterator.remove();
             }
+            this.eligibleSpawnChunkPlayers.clear();
 
             IMixinWorldServer spongeWorld = ((IMixinWorldServer) worldServerIn);
             spongeWorld.getTimingsHandler().mobSpawn.startTiming();
@@ -122,39 +128,38 @@ public int findChunksForSpawning(WorldServer worldServerIn, boolean spawnHostile
             // Since we allow for custom ranges, we need to adjust the div count based on the
             // mob spawn range set by server.
             final int MOB_SPAWN_COUNT_DIV = (2 * mobSpawnRange + 1) * (2 * mobSpawnRange + 1);
-
-            for (EntityPlayer entityplayer : worldServerIn.playerEntities) {
-                // We treat players who do not affect spawning as "spectators"
-                if (!((IMixinEntityPlayer) entityplayer).affectsSpawning() || entityplayer.isSpectator()) {
+            final SpongeConfig<? extends GeneralConfigBase> activeConfig = ((IMixinWorldServer) worldServerIn).getWorldConfig();
+            final boolean perPlayerMobCaps = activeConfig.getConfig().getSpawner().usePerPlayerMobCaps();
+            final PlayerProximityGrid grid = spongeWorld.getPlayerProximityGrid();
+            final int[][] playerCreatureCounts = perPlayerMobCaps ? new int[grid.getPlayerCount()][] : null;
+            final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) worldServerIn.getChunkProvider();
+
+            // The grid holds each chunk near a player once, so overlapping player ranges are only counted once
+            for (PlayerProximityGrid.Cell cell : grid.getCells()) {
+                // Within the spawn range of a player that affects spawning
+                if (cell.getNearestSpawnChunkDistance() > mobSpawnRange) {
+                    continue;
+                }
+                final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive(cell.getX(), cell.getZ());
+                if (chunk == null || (chunk.unloadQueued && !((IMixinChunk) chunk).isPersistedChunk())) {
+                    // Don't attempt to spawn in an unloaded chunk
                     continue;
                 }
 
-                int playerPosX = MathHelper.floor(entityplayer.posX / 16.0D);
-                int playerPosZ = MathHelper.floor(entityplayer.posZ / 16.0D);
-
-                for (int i = -mobSpawnRange; i <= mobSpawnRange; ++i) {
-                    for (int j = -mobSpawnRange; j <= mobSpawnRange; ++j) {
-                        boolean flag = i == -mobSpawnRange || i == mobSpawnRange || j == -mobSpawnRange || j == mobSpawnRange;
-                        final Chunk
-                            chunk =
-                            ((IMixinChunkProviderServer) worldServerIn.getChunkProvider())
-                                .getLoadedChunkWithoutMarkingActive(i + playerPosX, j + playerPosZ);
-                        if (chunk == null || (chunk.unloadQueued && !((IMixinChunk) chunk).isPersistedChunk())) {
-                            // Don't attempt to spawn in an unloaded chunk
-                            continue;
-                        }
-
-                        final IMixinChunk spongeChunk = (IMixinChunk) chunk;
-                        ++chunkSpawnCandidates;
-                        final ChunkPos chunkPos = chunk.getPos();
-                        if (!flag && worldServerIn.getWorldBorder().contains(chunkPos)) {
-                            PlayerChunkMapEntry playerchunkmapentry = worldServerIn.getPlayerChunkMap().getEntry(chunkPos.x, chunkPos.z);
-
-                            if (playerchunkmapentry != null && playerchunkmapentry.isSentToPlayers() && !spongeChunk.isSpawning()) {
-                                this.eligibleSpawnChunks.add(chunk);
-                                spongeChunk.setIsSpawning(true);
-                            }
-                        }
+                final IMixinChunk spongeChunk = (IMixinChunk) chunk;
+                if (perPlayerMobCaps) {
+                    addChunkCreatureCounts(grid, cell, chunk, mobSpawnRange, playerCreatureCounts);
+                }
+                ++chunkSpawnCandidates;
+                final ChunkPos chunkPos = chunk.getPos();
+                // Chunks on the edge of every player's spawn range are counted but never spawned in
+                if (cell.getNearestSpawnChunkDistance() < mobSpawnRange && worldServerIn.getWorldBorder().contains(chunkPos)) {
+                    PlayerChunkMapEntry playerchunkmapentry = worldServerIn.getPlayerChunkMap().getEntry(chunkPos.x, chunkPos.z);
+
+                    if (playerchunkmapentry != null && playerchunkmapentry.isSentToPlayers() && !spongeChunk.isSpawning()) {
+                        this.eligibleSpawnChunks.add(chunk);
+                        this.eligibleSpawnChunkPlayers.add(cell.getNearestSpawnPlayer());
+                        spongeChunk.setIsSpawning(true);
                     }
                 }
             }
@@ -167,7 +172,6 @@ public int findChunksForSpawning(WorldServer worldServerIn, boolean spawnHostile
 
             int totalSpawned = 0;
             final long worldTotalTime = worldServerIn.getTotalWorldTime();
-            final SpongeConfig<? extends GeneralConfigBase> activeConfig = ((IMixinWorldServer) worldServerIn).getWorldConfig();
 
             labelOuterLoop:
             for (EnumCreatureType enumCreatureType : EnumCreatureType.values()) {
@@ -198,11 +202,14 @@ public int findChunksForSpawning(WorldServer worldServerIn, boolean spawnHostile
                         continue labelOuterLoop;
                     }
 
-                    chunkIterator = this.eligibleSpawnChunks.iterator();
                     int mobLimit = maxCount - entityCount + 1;
                     labelChunkStart:
-                    while (chunkIterator.hasNext() && mobLimit > 0) {
-                        final Chunk chunk = chunkIterator.next();
+                    for (int chunkIndex = 0; chunkIndex < this.eligibleSpawnChunks.size() && mobLimit > 0; chunkIndex++) {
+                        final Chunk chunk = this.eligibleSpawnChunks.get(chunkIndex);
+                        final int[] playerCounts = perPlayerMobCaps ? playerCreatureCounts[this.eligibleSpawnChunkPlayers.getInt(chunkIndex)] : null;
+                        if (playerCounts != null && playerCounts[enumCreatureType.ordinal()] >= limit) {
+                            continue;
+                        }
                         final BlockPos.MutableBlockPos mutableBlockPos = new BlockPos.MutableBlockPos();
                         final BlockPos blockpos = getRandomChunkPosition(worldServerIn, chunk);
                         int k1 = blockpos.getX();
@@ -281,12 +288,16 @@ public int findChunksForSpawning(WorldServer worldServerIn, boolean spawnHostile
                                                 if (entityNotColliding) {
                                                     ++spawnCount;
                                                     worldServerIn.spawnEntity(entityliving);
+                                                    if (playerCounts != null) {
+                                                        playerCounts[enumCreatureType.ordinal()]++;
+                                                    }
                                                 } else {
                                                     entityliving.setDead();
                                                 }
 
                                                 mobLimit--;
-                                                if (mobLimit <= 0 || spawnCount >= SpongeImplHooks.getMaxSpawnPackSize(entityliving)) {
+                                                if (mobLimit <= 0 || spawnCount >= SpongeImplHooks.getMaxSpawnPackSize(entityliving)
+                                                    || (playerCounts != null && playerCounts[enumCreatureType.ordinal()] >= limit)) {
                                                     continue labelChunkStart;
                                                 }
                                             }
@@ -307,6 +318,34 @@ public int findChunksForSpawning(WorldServer worldServerIn, boolean spawnHostile
         }
     }
 
+    private static void addChunkCreatureCounts(PlayerProximityGrid grid, PlayerProximityGrid.Cell cell, Chunk chunk, int mobSpawnRange,
+            int[][] playerCreatureCounts) {
+        final int[] chunkCounts = new int[EnumCreatureType.values().length];
+        for (ClassInheritanceMultiMap<Entity> entities : chunk.getEntityLists()) {
+            for (Entity entity : entities) {
+                int types = EntityUtil.toMixin(entity).getSpawnerCreatureTypes();
+                for (int ordinal = 0; types != 0 && ordinal < chunkCounts.length; ordinal++, types >>>= 1) {
+                    if ((types & 1) != 0) {
+                        chunkCounts[ordinal]++;
+                    }
+                }
+            }
+        }
+        // Add the entities of the chunk to every spawning player it is in range of
+        for (int index = 0; index < cell.getPlayers().size(); index++) {
+            final int player = cell.getPlayers().getInt(index);
+            if (!grid.affectsSpawning(player) || grid.getChunkDistance(player, cell) > mobSpawnRange) {
+                continue;
+            }
+            if (playerCreatureCounts[player] == null) {
+                playerCreatureCounts[player] = new int[chunkCounts.length];
+            }
+            for (int ordinal = 0; ordinal < chunkCounts.length; ordinal++) {
+                playerCreatureCounts[player][ordinal] += chunkCounts[ordinal];
+            }
+        }
+    }
+
     private static BlockPos getRandomChunkPosition(World worldIn, Chunk chunk)
     {
         int i = chunk.x * 16 + worldIn.rand.nextInt(16);
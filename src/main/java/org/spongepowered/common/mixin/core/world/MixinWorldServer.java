@@ -56,7 +56,6 @@
 import net.minecraft.scoreboard.ScoreboardSaveData;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.PlayerChunkMap;
-import net.minecraft.server.management.PlayerList;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.IProgressUpdate;
 import net.minecraft.util.ITickable;
@@ -197,6 +196,11 @@
 import org.spongepowered.common.util.NonNullArrayList;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ExplosionCoalescer;
+import org.spongepowered.common.world.ExplosionExposureCache;
+import org.spongepowered.common.world.PlayerChunkIndex;
+import org.spongepowered.common.world.PlayerProximityGrid;
+import org.spongepowered.common.world.SpawnerEntityCounts;
 import org.spongepowered.common.world.SpongeLocatableBlockBuilder;
 import org.spongepowered.common.world.WorldManager;
 import org.spongepowered.common.world.WorldUtil;
@@ -246,6 +250,11 @@ public abstract class MixinWorldServer extends MixinWorld implements IMixinWorld
     private int chunkGCTickInterval = 600;
     private int chunkLoadCount = 0;
     private long chunkUnloadDelay = 30000;
+    private final SpawnerEntityCounts spawnerEntityCounts = new SpawnerEntityCounts();
+    private final PlayerProximityGrid playerProximityGrid = new PlayerProximityGrid();
+    private final ExplosionExposureCache explosionExposureCache = new ExplosionExposureCache();
+    private final ExplosionCoalescer explosionCoalescer = new ExplosionCoalescer();
+    private final PlayerChunkIndex playerChunkIndex = new PlayerChunkIndex();
     private boolean weatherThunderEnabled = true;
     private boolean weatherIceAndSnowEnabled = true;
     private int dimensionId;
@@ -878,6 +887,8 @@ public void updateEntities() {
         TrackingUtil.tickWorldProvider(this);
         // Sponge end
         super.updateEntities();
+        // Sponge - Trigger the TNT explosions merged during the entity tick
+        this.explosionCoalescer.flush(this);
     }
 
     // This ticks pending updates to blocks, Requires mixin for NextTickListEntry so we use the correct tracking
@@ -2378,15 +2389,7 @@ public void spawnParticles(ParticleEffect particleEffect, Vector3d position, int
         List<Packet<?>> packets = SpongeParticleHelper.toPackets((SpongeParticleEffect) particleEffect, position);
 
         if (!packets.isEmpty()) {
-            PlayerList playerList = this.server.getPlayerList();
-
-            double x = position.getX();
-            double y = position.getY();
-            double z = position.getZ();
-
-            for (Packet<?> packet : packets) {
-                playerList.sendToAllNearExcept(null, x, y, z, radius, this.getDimensionId(), packet);
-            }
+            this.playerChunkIndex.sendToAllNearExcept(null, position.getX(), position.getY(), position.getZ(), radius, packets);
         }
     }
 
@@ -2506,6 +2509,50 @@ public int getChunkGCTickInterval() {
         return this.chunkGCTickInterval;
     }
 
+    @Override
+    public SpawnerEntityCounts getSpawnerEntityCounts() {
+        return this.spawnerEntityCounts;
+    }
+
+    @Override
+    public PlayerProximityGrid getPlayerProximityGrid() {
+        this.playerProximityGrid.update((WorldServer) (Object) this);
+        return this.playerProximityGrid;
+    }
+
+    @Override
+    public ExplosionExposureCache getExplosionExposureCache() {
+        return this.explosionExposureCache;
+    }
+
+    @Override
+    public ExplosionCoalescer getExplosionCoalescer() {
+        return this.explosionCoalescer;
+    }
+
+    @Override
+    public PlayerChunkIndex getPlayerChunkIndex() {
+        return this.playerChunkIndex;
+    }
+
+    @Inject(method = "onEntityAdded", at = @At("TAIL"))
+    private void onEntityAddedUpdateSpawnerCounts(net.minecraft.entity.Entity entityIn, CallbackInfo ci) {
+        this.spawnerEntityCounts.update(entityIn);
+    }
+
+    @Inject(method = "onEntityRemoved", at = @At("TAIL"))
+    private void onEntityRemovedUpdateSpawnerCounts(net.minecraft.entity.Entity entityIn, CallbackInfo ci) {
+        this.spawnerEntityCounts.update(entityIn);
+    }
+
+    @Inject(method = "onEntityRemoved", at = @At("TAIL"))
+    private void onEntityRemovedUnindexPlayer(net.minecraft.entity.Entity entityIn, CallbackInfo ci) {
+        // Players leaving the world may only be removed from their chunk later on
+        if (entityIn instanceof EntityPlayerMP) {
+            this.playerChunkIndex.remove((EntityPlayerMP) entityIn);
+        }
+    }
+
     @Override
     public long getChunkUnloadDelay() {
         return this.chunkUnloadDelay;
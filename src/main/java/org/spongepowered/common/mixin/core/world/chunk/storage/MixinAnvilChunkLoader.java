@@ -25,14 +25,22 @@
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
 import com.flowpowered.math.vector.Vector3d;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.datafix.DataFixer;
+import net.minecraft.util.datafix.FixTypes;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
 import net.minecraft.world.chunk.storage.RegionFileCache;
@@ -67,19 +75,38 @@
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.util.QueuedChunk;
+import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.storage.BatchedChunkWriter;
+import org.spongepowered.common.world.storage.SpongeRegionFileCache;
 
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
 
 @Mixin(AnvilChunkLoader.class)
 @Implements(@Interface(iface = IMixinAnvilChunkLoader.class, prefix = "loader$"))
 public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
 
+    // The number of batches a chunk may fail to be written in before it is only retried on flush
+    private static final int MAX_FAILED_WRITES = 3;
+
     private ConcurrentLinkedQueue<QueuedChunk> queue = new ConcurrentLinkedQueue<>();
     private final Object lock = new Object();
+    private final AtomicInteger queuedChunkCount = new AtomicInteger();
+    // Chunks that failed to be written too many times, guarded by the lock
+    private final Map<ChunkPos, QueuedChunk> failedChunks = new HashMap<>();
 
     private static final String ENTITY_LIST_CREATE_FROM_NBT =
             "Lnet/minecraft/entity/EntityList;createEntityFromNBT(Lnet/minecraft/nbt/NBTTagCompound;Lnet/minecraft/world/World;)Lnet/minecraft/entity/Entity;";
@@ -87,75 +114,125 @@ public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
     @Shadow @Final private static Logger LOGGER;
     @Shadow @Final private Map<ChunkPos, NBTTagCompound> chunksToSave;
     @Shadow @Final private File chunkSaveLocation;
+    @Shadow @Final private DataFixer fixer;
     @Shadow private boolean flushing;
 
-    @Shadow
-    public abstract void writeChunkData(ChunkPos pos, NBTTagCompound compound);
+    @Shadow @Nullable
+    protected abstract Chunk checkedReadChunkFromNBT(World worldIn, int x, int z, NBTTagCompound compound);
 
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
         IMixinChunk chunk = (IMixinChunk) chunkIn;
 
         // Add tracked block positions
-        if (chunk.getTrackedShortPlayerPositions().size() > 0 || chunk.getTrackedIntPlayerPositions().size() > 0) {
+        final Short2LongMap shortPositions = chunk.getTrackedShortPlayerPositions();
+        final Int2LongMap intPositions = chunk.getTrackedIntPlayerPositions();
+        if (shortPositions.size() > 0 || intPositions.size() > 0) {
             NBTTagCompound trackedNbt = new NBTTagCompound();
-            NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
             compound.setTag(NbtDataUtil.SPONGE_DATA, trackedNbt);
 
-            for (Map.Entry<Short, PlayerTracker> mapEntry : chunk.getTrackedShortPlayerPositions().entrySet()) {
-                Short pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
+            if (worldIn instanceof WorldServer
+                    && SpongeHooks.getWorldConfig((WorldServer) worldIn).getConfig().getBlockTracking().useCompactStorage()) {
+                writeCompactTrackedPositions(trackedNbt, shortPositions, intPositions);
+                return;
+            }
+
+            NBTTagList positions = new NBTTagList();
+            trackedNbt.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
+            for (Short2LongMap.Entry entry : shortPositions.short2LongEntrySet()) {
                 NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
+                valueNbt.setInteger("owner", PlayerTracker.ownerIndex(entry.getLongValue()));
+                valueNbt.setInteger("notifier", PlayerTracker.notifierIndex(entry.getLongValue()));
+                valueNbt.setShort("pos", entry.getShortKey());
                 positions.appendTag(valueNbt);
             }
-
-            for (Map.Entry<Integer, PlayerTracker> mapEntry : chunk.getTrackedIntPlayerPositions().entrySet()) {
-                Integer pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
+            for (Int2LongMap.Entry entry : intPositions.int2LongEntrySet()) {
                 NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
+                valueNbt.setInteger("owner", PlayerTracker.ownerIndex(entry.getLongValue()));
+                valueNbt.setInteger("notifier", PlayerTracker.notifierIndex(entry.getLongValue()));
+                valueNbt.setInteger("ipos", entry.getIntKey());
                 positions.appendTag(valueNbt);
             }
         }
     }
 
+    // Stores the tracked block positions as flat (position, owner, notifier) int triples,
+    // which builds before the compact storage was added don't read
+    private static void writeCompactTrackedPositions(NBTTagCompound trackedNbt, Short2LongMap shortPositions, Int2LongMap intPositions) {
+        if (shortPositions.size() > 0) {
+            final int[] table = new int[shortPositions.size() * 3];
+            int i = 0;
+            for (Short2LongMap.Entry entry : shortPositions.short2LongEntrySet()) {
+                table[i++] = entry.getShortKey();
+                table[i++] = PlayerTracker.ownerIndex(entry.getLongValue());
+                table[i++] = PlayerTracker.notifierIndex(entry.getLongValue());
+            }
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_BLOCK_POS_SHORT_TABLE, table);
+        }
+
+        if (intPositions.size() > 0) {
+            final int[] table = new int[intPositions.size() * 3];
+            int i = 0;
+            for (Int2LongMap.Entry entry : intPositions.int2LongEntrySet()) {
+                table[i++] = entry.getIntKey();
+                table[i++] = PlayerTracker.ownerIndex(entry.getLongValue());
+                table[i++] = PlayerTracker.notifierIndex(entry.getLongValue());
+            }
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_BLOCK_POS_INT_TABLE, table);
+        }
+    }
+
     @Inject(method = "readChunkFromNBT", at = @At(value = "INVOKE", target = "Lnet/minecraft/nbt/NBTTagCompound;getIntArray(Ljava/lang/String;)[I", shift = At.Shift.BEFORE), locals = LocalCapture.CAPTURE_FAILHARD)
     private void onReadChunkFromNBT(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, int chunkX,
       int chunkZ, net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(NbtDataUtil.SPONGE_DATA)) {
-            final Map<Integer, PlayerTracker> trackedIntPlayerPositions = new HashMap<>();
-            final Map<Short, PlayerTracker> trackedShortPlayerPositions = new HashMap<>();
-            final NBTTagList positions = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA).getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
+            final NBTTagCompound spongeData = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA);
+            final Int2LongOpenHashMap trackedIntPlayerPositions = new Int2LongOpenHashMap();
+            final Short2LongOpenHashMap trackedShortPlayerPositions = new Short2LongOpenHashMap();
             final IMixinChunk chunk = (IMixinChunk) chunkIn;
+
+            final int[] shortTable = spongeData.getIntArray(NbtDataUtil.SPONGE_BLOCK_POS_SHORT_TABLE);
+            for (int i = 0; i + 2 < shortTable.length; i += 3) {
+                final long tracked = PlayerTracker.pack(shortTable[i + 1], shortTable[i + 2]);
+                if (tracked != PlayerTracker.NONE) {
+                    trackedShortPlayerPositions.put((short) shortTable[i], tracked);
+                }
+            }
+            final int[] intTable = spongeData.getIntArray(NbtDataUtil.SPONGE_BLOCK_POS_INT_TABLE);
+            for (int i = 0; i + 2 < intTable.length; i += 3) {
+                final long tracked = PlayerTracker.pack(intTable[i + 1], intTable[i + 2]);
+                if (tracked != PlayerTracker.NONE) {
+                    trackedIntPlayerPositions.put(intTable[i], tracked);
+                }
+            }
+
+            // The list of compounds, written unless the compact storage is enabled
+            final NBTTagList positions = spongeData.getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
             for (int i = 0; i < positions.tagCount(); i++) {
                 NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
                 boolean isShortPos = valueNbt.hasKey("pos");
-                PlayerTracker tracker = new PlayerTracker();
+                int ownerIndex = PlayerTracker.NO_INDEX;
+                int notifierIndex = PlayerTracker.NO_INDEX;
                 if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
+                    ownerIndex = valueNbt.getInteger("owner");
                 } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
+                    ownerIndex = valueNbt.getInteger("uuid");
                 }
                 if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
+                    notifierIndex = valueNbt.getInteger("notifier");
                 }
 
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
+                final long tracked = PlayerTracker.pack(ownerIndex, notifierIndex);
+                if (tracked != PlayerTracker.NONE) {
                     if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
+                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracked);
                     } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
+                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracked);
                     }
                 }
             }
+            trackedIntPlayerPositions.trim();
+            trackedShortPlayerPositions.trim();
             chunk.setTrackedIntPlayerPositions(trackedIntPlayerPositions);
             chunk.setTrackedShortPlayerPositions(trackedShortPlayerPositions);
         }
@@ -216,7 +293,8 @@ private static Entity onReadChunkEntity(NBTTagCompound compound, World world, Ch
         }
         // Sponge end
 
-        return RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z) != null;
+        // Sponge - Header lookup instead of reading the chunk
+        return SpongeRegionFileCache.chunkExists(this.chunkSaveLocation, x, z);
     }
 
     /**
@@ -232,13 +310,19 @@ protected void addChunkToPending(ChunkPos pos, NBTTagCompound compound) {
             this.chunksToSave.put(pos, compound);
         }
         this.queue.add(new QueuedChunk(pos, compound));
+        this.queuedChunkCount.incrementAndGet();
 
         ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
     }
 
     /**
      * @author aikar - February 19th, 2017
-     * @reason Refactor entire method for chunk queue improvements.
+     * @reason Refactor entire method for chunk queue improvements. Takes a
+     * batch of queued chunks at a time which is handed to the
+     * {@link BatchedChunkWriter}, newer compounds for the same position
+     * within a batch replace older ones. Only chunks that were written are
+     * removed from the pending saves, chunks that failed are queued again a
+     * few times and otherwise retried on the next flush.
      * @return Whether write was successful
      */
     @Overwrite
@@ -250,52 +334,96 @@ public boolean writeNextIO() {
             }
 
             return false;
-        } else {
-            ChunkPos chunkpos = chunk.coords;
-            boolean lvt_3_1_;
-
-            try {
-                // this.field_193415_c.add(chunkpos);
-                NBTTagCompound nbttagcompound = chunk.compound;
-
-                if (nbttagcompound != null) {
-                    int attempts = 0;
-                    Exception laste = null;
-                    while (attempts++ < 5) {
-                        try {
-                            this.writeChunkData(chunkpos, nbttagcompound);
-                            laste = null;
-                            break;
-                        } catch (Exception exception) {
-                            // LOGGER.error((String)"Failed to save chunk",
-                            // (Throwable)exception);
-                            laste = exception;
-                        }
-                        try {
-                            Thread.sleep(10);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    if (laste != null) {
-                        laste.printStackTrace();
-                    }
+        }
+
+        final int batchSize = BatchedChunkWriter.getBatchSize();
+        final Map<ChunkPos, QueuedChunk> batch = new LinkedHashMap<>();
+        int polled = 0;
+        do {
+            // Skip compounds that were superseded, including retries of failed chunks, the newer one is queued as well
+            if (this.chunksToSave.get(chunk.coords) == chunk.compound) {
+                batch.put(chunk.coords, chunk);
+            }
+            polled++;
+        } while (polled < batchSize && (chunk = this.queue.poll()) != null);
+        this.queuedChunkCount.addAndGet(-polled);
+
+        final List<QueuedChunk> writtenChunks = BatchedChunkWriter.write(this.chunkSaveLocation, batch.values());
+
+        synchronized (this.lock) {
+            // Sponge - Chunks that failed to save stay pending, so they are still loaded from
+            // memory instead of the stale copy in their region file
+            final Set<QueuedChunk> written = Collections.newSetFromMap(new IdentityHashMap<>());
+            written.addAll(writtenChunks);
+            for (QueuedChunk queued : batch.values()) {
+                // Sponge - This will not equal if a newer version is still pending
+                if (this.chunksToSave.get(queued.coords) != queued.compound) {
+                    continue;
                 }
+                if (written.contains(queued)) {
+                    this.chunksToSave.remove(queued.coords);
+                    this.failedChunks.remove(queued.coords);
+                } else if (++queued.failedWrites < MAX_FAILED_WRITES) {
+                    this.queue.add(queued);
+                    this.queuedChunkCount.incrementAndGet();
+                } else {
+                    LOGGER.error("Failed to save chunk {} {} times, it will be retried when the world is saved", queued.coords,
+                            queued.failedWrites);
+                    this.failedChunks.put(queued.coords, queued);
+                }
+            }
+        }
+        return true;
+    }
 
-                synchronized (this.lock) {
-                    if (this.chunksToSave.get(chunkpos) == nbttagcompound) {
-                        this.chunksToSave.remove(chunkpos);
-                    }
+    /**
+     * Queues the chunks that failed to be written too many times once more,
+     * so they are written by the flush if possible instead of being lost
+     * when the world is unloaded.
+     *
+     * @param ci The callback info
+     */
+    @Inject(method = "flush", at = @At("HEAD"))
+    private void onFlush(CallbackInfo ci) {
+        synchronized (this.lock) {
+            for (QueuedChunk failed : this.failedChunks.values()) {
+                if (this.chunksToSave.get(failed.coords) == failed.compound) {
+                    failed.failedWrites = 0;
+                    this.queue.add(failed);
+                    this.queuedChunkCount.incrementAndGet();
                 }
-                // Sponge - This will not equal if a newer version is still
-                // pending
-                lvt_3_1_ = true;
-            } finally {
-                // this.field_193415_c.remove(chunkpos);
             }
+            this.failedChunks.clear();
+        }
+    }
 
-            return lvt_3_1_;
+    @Override
+    public int getQueuedChunkCount() {
+        return this.queuedChunkCount.get();
+    }
+
+    @Nullable
+    @Override
+    public NBTTagCompound readChunkCompound(int x, int z) throws IOException {
+        // Same lookup as loadChunk, minus building the chunk
+        final NBTTagCompound pending = this.chunksToSave.get(new ChunkPos(x, z));
+        if (pending != null) {
+            return pending;
         }
+        if (!SpongeRegionFileCache.chunkExists(this.chunkSaveLocation, x, z)) {
+            return null;
+        }
+        final DataInputStream stream = RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z);
+        if (stream == null) {
+            return null;
+        }
+        return this.fixer.process(FixTypes.CHUNK, CompressedStreamTools.read(stream));
+    }
+
+    @Nullable
+    @Override
+    public Chunk readChunkFromCompound(World world, int x, int z, NBTTagCompound compound) {
+        return this.checkedReadChunkFromNBT(world, x, z, compound);
     }
 
     @Override
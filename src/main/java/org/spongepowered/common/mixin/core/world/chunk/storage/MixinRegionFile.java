@@ -0,0 +1,75 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.chunk.storage;
+
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.interfaces.world.IMixinRegionFile;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import javax.annotation.Nullable;
+
+@Mixin(RegionFile.class)
+public abstract class MixinRegionFile implements IMixinRegionFile {
+
+    // Vanilla skips chunks that don't fit in 255 sectors without any error
+    private static final int MAX_CHUNK_SECTORS = 256;
+
+    @Shadow private RandomAccessFile dataFile;
+
+    @Shadow protected abstract void write(int x, int z, byte[] data, int length);
+
+    @Nullable private IOException writeException;
+
+    @Override
+    public RandomAccessFile getDataFile() {
+        return this.dataFile;
+    }
+
+    @Override
+    public synchronized void writeChunk(int x, int z, byte[] data, int length) throws IOException {
+        if ((length + 5) / 4096 + 1 >= MAX_CHUNK_SECTORS) {
+            throw new IOException("Chunk data of " + length + " bytes is too large for a region file");
+        }
+        this.writeException = null;
+        this.write(x, z, data, length);
+        final IOException exception = this.writeException;
+        if (exception != null) {
+            this.writeException = null;
+            throw exception;
+        }
+    }
+
+    @Redirect(method = "write(II[BI)V", at = @At(value = "INVOKE", target = "Ljava/io/IOException;printStackTrace()V", remap = false))
+    private void onWriteFailed(IOException exception) {
+        this.writeException = exception;
+        exception.printStackTrace();
+    }
+}
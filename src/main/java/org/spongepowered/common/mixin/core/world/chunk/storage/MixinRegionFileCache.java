@@ -0,0 +1,79 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.chunk.storage;
+
+import com.google.common.collect.Maps;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.world.storage.SpongeRegionFileCache;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+
+@Mixin(RegionFileCache.class)
+public abstract class MixinRegionFileCache {
+
+    @Redirect(method = "<clinit>", at = @At(value = "INVOKE", target = "Lcom/google/common/collect/Maps;newHashMap()Ljava/util/HashMap;", remap = false))
+    private static HashMap<File, RegionFile> onCreateRegionsByFile() {
+        // Access ordered so the least recently used region file is closed first
+        return new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * @author SpongePowered - October 17th, 2026
+     * @reason Close the least recently used region file when the limit of
+     * open region files is reached instead of every open region file.
+     *
+     * @param worldDir The world directory
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The region file
+     */
+    @Overwrite
+    public static synchronized RegionFile createOrLoadRegionFile(File worldDir, int chunkX, int chunkZ) {
+        final File file = SpongeRegionFileCache.getRegionFilePath(worldDir, chunkX, chunkZ);
+        final RegionFile regionFile = RegionFileCache.REGIONS_BY_FILE.get(file);
+        if (regionFile != null) {
+            return regionFile;
+        }
+        final File regionDir = file.getParentFile();
+        if (!regionDir.exists()) {
+            regionDir.mkdirs();
+        }
+        return SpongeRegionFileCache.getRegionFile(file);
+    }
+
+    @Inject(method = "clearRegionFileReferences", at = @At("RETURN"))
+    private static void onClearRegionFileReferences(CallbackInfo ci) {
+        SpongeRegionFileCache.onRegionFilesCleared();
+    }
+}
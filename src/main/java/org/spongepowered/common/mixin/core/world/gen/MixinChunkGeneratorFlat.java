@@ -48,13 +48,18 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.interfaces.world.gen.IPopulatorProvider;
+import org.spongepowered.common.interfaces.world.gen.IThreadSafeGenerator;
 import org.spongepowered.common.world.gen.WorldGenConstants;
 import org.spongepowered.common.world.gen.populators.FilteredPopulator;
 
 import java.util.Map;
 
+/**
+ * The flat generator only copies its final layers into the buffer it is given,
+ * so it is an {@link IThreadSafeGenerator} base generator.
+ */
 @Mixin(ChunkGeneratorFlat.class)
-public class MixinChunkGeneratorFlat implements GenerationPopulator, IPopulatorProvider {
+public class MixinChunkGeneratorFlat implements GenerationPopulator, IPopulatorProvider, IThreadSafeGenerator {
 
     @Shadow @Final private IBlockState[] cachedBlockIDs;
     @Shadow @Final private Map<String, MapGenStructure> structureGenerators;
@@ -26,6 +26,8 @@
 
 import com.flowpowered.math.vector.Vector3i;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -63,16 +65,20 @@
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.relocate.co.aikar.timings.TimingHistory;
 import org.spongepowered.common.util.CachedLong2ObjectMap;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.ChunkUnloadQueue;
 import org.spongepowered.common.world.SpongeEmptyChunk;
+import org.spongepowered.common.world.storage.AsyncChunkLoader;
 import org.spongepowered.common.world.storage.SpongeChunkDataStream;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
-import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
+import javax.annotation.Nullable;
+
 @Mixin(ChunkProviderServer.class)
 public abstract class MixinChunkProviderServer implements WorldStorage, IMixinChunkProviderServer {
 
@@ -81,6 +87,8 @@ public abstract class MixinChunkProviderServer implements WorldStorage, IMixinCh
     private boolean forceChunkRequests = false;
     private long chunkUnloadDelay = 15000;
     private int maxChunkUnloads = 100;
+    private final ChunkUnloadQueue unloadQueue = new ChunkUnloadQueue();
+    private final Long2ObjectMap<CompletableFuture<Chunk>> pendingChunkLoads = new Long2ObjectOpenHashMap<>();
 
     @Shadow @Final public WorldServer world;
     @Shadow @Final private IChunkLoader chunkLoader;
@@ -155,6 +163,7 @@ public void queueUnload(Chunk chunkIn)
             // Sponge - we avoid using the queue and simply check the unloaded flag during unloads
             //this.droppedChunksSet.add(Long.valueOf(ChunkPos.asLong(chunkIn.x, chunkIn.z)));
             chunkIn.unloadQueued = true;
+            this.unloadQueue.add(chunkIn, System.currentTimeMillis());
         }
     }
 
@@ -172,6 +181,68 @@ private Chunk loadChunkForce(int x, int z) {
         return chunk;
     }
 
+    @Override
+    public CompletableFuture<Chunk> loadChunkAsync(int x, int z) {
+        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            return CompletableFuture.supplyAsync(() -> this.loadChunkAsync(x, z), AsyncChunkLoader.MAIN_THREAD).thenCompose(future -> future);
+        }
+        final Chunk loadedChunk = this.getLoadedChunk(x, z);
+        if (loadedChunk != null) {
+            return CompletableFuture.completedFuture(loadedChunk);
+        }
+        if (!(this.chunkLoader instanceof IMixinAnvilChunkLoader) || !AsyncChunkLoader.isEnabled()) {
+            return CompletableFuture.completedFuture(this.loadChunk(x, z));
+        }
+
+        final long chunkKey = ChunkPos.asLong(x, z);
+        CompletableFuture<Chunk> pending = this.pendingChunkLoads.get(chunkKey);
+        if (pending != null) {
+            return pending;
+        }
+        // Registered before the read is submitted as completion may happen on this thread
+        final CompletableFuture<Chunk> future = new CompletableFuture<>();
+        this.pendingChunkLoads.put(chunkKey, future);
+        AsyncChunkLoader.readChunkCompound((IMixinAnvilChunkLoader) this.chunkLoader, x, z).whenCompleteAsync((compound, throwable) -> {
+            this.pendingChunkLoads.remove(chunkKey);
+            if (throwable != null) {
+                SpongeImpl.getLogger().error("Couldn't load chunk at {}, {} in world {}", x, z, this.world.getWorldInfo().getWorldName(), throwable);
+                future.complete(null);
+                return;
+            }
+            try {
+                future.complete(this.finishChunkLoad(x, z, compound));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, AsyncChunkLoader.MAIN_THREAD);
+        return future;
+    }
+
+    @Override
+    public int getPendingChunkLoadCount() {
+        return this.pendingChunkLoads.size();
+    }
+
+    // Main thread half of loadChunkAsync, mirrors loadChunkFromFile and loadChunkForce
+    @Nullable
+    private Chunk finishChunkLoad(int x, int z, @Nullable NBTTagCompound compound) {
+        // The chunk may have been loaded synchronously while the read was in flight
+        Chunk chunk = this.getLoadedChunk(x, z);
+        if (chunk != null || compound == null) {
+            return chunk;
+        }
+        chunk = ((IMixinAnvilChunkLoader) this.chunkLoader).readChunkFromCompound(this.world, x, z, compound);
+        if (chunk == null) {
+            return null;
+        }
+        chunk.setLastSaveTime(this.world.getTotalWorldTime());
+        this.chunkGenerator.recreateStructures(chunk, x, z);
+        this.loadedChunks.put(ChunkPos.asLong(x, z), chunk);
+        chunk.onLoad();
+        chunk.populate((ChunkProviderServer) (Object) this, this.chunkGenerator);
+        return chunk;
+    }
+
     @Redirect(method = "provideChunk", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;loadChunk(II)Lnet/minecraft/world/chunk/Chunk;"))
     public Chunk onProvideChunkHead(ChunkProviderServer chunkProviderServer, int x, int z) {
         if (!this.denyChunkRequests) {
@@ -270,11 +341,16 @@ public long getChunkUnloadDelay() {
         return this.chunkUnloadDelay;
     }
 
+    @Override
+    public int getUnloadQueueSize() {
+        return this.unloadQueue.size();
+    }
+
     /**
      * @author blood - October 20th, 2016
      * @reason Refactors entire method to not use the droppedChunksSet by
-     * simply looping through all loaded chunks and determining whether it
-     * can unload or not.
+     * polling chunks from a queue ordered by the time they are allowed
+     * to unload, so only chunks that are due are visited.
      *
      * @return true if unload queue was processed
      */
@@ -284,26 +360,23 @@ public boolean tick()
         if (!this.world.disableLevelSaving && !((IMixinWorld) this.world).isFake())
         {
             ((IMixinWorldServer) this.world).getTimingsHandler().doChunkUnload.startTiming();
-            Iterator<Chunk> iterator = this.loadedChunks.values().iterator();
             int chunksUnloaded = 0;
             long now = System.currentTimeMillis();
-            while (chunksUnloaded < this.maxChunkUnloads && iterator.hasNext()) {
-                Chunk chunk = iterator.next();
-                IMixinChunk spongeChunk = (IMixinChunk) chunk;
-                if (chunk != null && chunk.unloadQueued && !spongeChunk.isPersistedChunk()) {
-                    if (this.getChunkUnloadDelay() > 0) {
-                        if ((now - spongeChunk.getScheduledForUnload()) < this.chunkUnloadDelay) {
-                            continue;
-                        }
-                        spongeChunk.setScheduledForUnload(-1);
-                    }
-                    chunk.onUnload();
-                    this.saveChunkData(chunk);
-                    this.saveChunkExtraData(chunk);
-                    iterator.remove();
-                    chunksUnloaded++;
+            Chunk chunk;
+            while (chunksUnloaded < this.maxChunkUnloads && (chunk = this.unloadQueue.pollDue(now, this.chunkUnloadDelay)) != null) {
+                final long chunkKey = ChunkPos.asLong(chunk.x, chunk.z);
+                // Chunk may have already been unloaded and replaced through unloadChunkAndSave
+                if (this.loadedChunks.get(chunkKey) != chunk) {
+                    continue;
                 }
+                ((IMixinChunk) chunk).setScheduledForUnload(-1);
+                chunk.onUnload();
+                this.saveChunkData(chunk);
+                this.saveChunkExtraData(chunk);
+                this.loadedChunks.remove(chunkKey);
+                chunksUnloaded++;
             }
+            TimingHistory.queuedChunkUnloads += this.unloadQueue.size();
             ((IMixinWorldServer) this.world).getTimingsHandler().doChunkUnload.stopTiming();
         }
 
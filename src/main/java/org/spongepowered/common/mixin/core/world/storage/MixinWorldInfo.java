@@ -29,10 +29,9 @@
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.MoreObjects;
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 import com.google.common.collect.ImmutableMap;
 import com.google.gson.JsonParseException;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -158,9 +157,16 @@ public abstract class MixinWorldInfo implements WorldProperties, IMixinWorldInfo
     private boolean generateBonusChest;
     private NBTTagCompound spongeRootLevelNbt = new NBTTagCompound(), spongeNbt = new NBTTagCompound();
     private final NBTTagList playerUniqueIdNbt = new NBTTagList();
-    private final BiMap<Integer, UUID> playerUniqueIdMap = HashBiMap.create();
+    // Index table for tracked block owners and notifiers, chunks only store the index
+    private final List<UUID> uniqueIdsByIndex = new ArrayList<>();
+    private final Object2IntOpenHashMap<UUID> indexByUniqueId = createIndexTable();
     private final List<UUID> pendingUniqueIds = new ArrayList<>();
-    private int trackedUniqueIdCount = 0;
+
+    private static Object2IntOpenHashMap<UUID> createIndexTable() {
+        final Object2IntOpenHashMap<UUID> table = new Object2IntOpenHashMap<>();
+        table.defaultReturnValue(-1);
+        return table;
+    }
     @Nullable private SpongeConfig<WorldConfig> worldConfig;
     @Nullable private PortalAgentType portalAgentType;
 
@@ -773,19 +779,24 @@ public void setPropertySection(DataQuery path, DataView data) {
 
     @Override
     public int getIndexForUniqueId(UUID uuid) {
-        final Integer index = this.playerUniqueIdMap.inverse().get(uuid);
-        if (index != null) {
+        final int index = this.indexByUniqueId.getInt(uuid);
+        if (index != -1) {
             return index;
         }
 
-        this.playerUniqueIdMap.put(this.trackedUniqueIdCount, uuid);
+        final int newIndex = this.uniqueIdsByIndex.size();
+        this.uniqueIdsByIndex.add(uuid);
+        this.indexByUniqueId.put(uuid, newIndex);
         this.pendingUniqueIds.add(uuid);
-        return this.trackedUniqueIdCount++;
+        return newIndex;
     }
 
     @Override
     public Optional<UUID> getUniqueIdForIndex(int index) {
-        return Optional.ofNullable(this.playerUniqueIdMap.get(index));
+        if (index < 0 || index >= this.uniqueIdsByIndex.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(this.uniqueIdsByIndex.get(index));
     }
 
     @Override
@@ -823,7 +834,8 @@ public void readSpongeNbt(NBTTagCompound nbt) {
         this.generateBonusChest = nbt.getBoolean(NbtDataUtil.GENERATE_BONUS_CHEST);
         this.portalAgentType = PortalAgentRegistryModule.getInstance().validatePortalAgent(nbt.getString(NbtDataUtil.PORTAL_AGENT_TYPE), this.levelName);
         this.hasCustomDifficulty = nbt.getBoolean(NbtDataUtil.HAS_CUSTOM_DIFFICULTY);
-        this.trackedUniqueIdCount = 0;
+        this.uniqueIdsByIndex.clear();
+        this.indexByUniqueId.clear();
         if (nbt.hasKey(NbtDataUtil.WORLD_SERIALIZATION_BEHAVIOR)) {
             short saveBehavior = nbt.getShort(NbtDataUtil.WORLD_SERIALIZATION_BEHAVIOR);
             if (saveBehavior == 1) {
@@ -839,9 +851,9 @@ public void readSpongeNbt(NBTTagCompound nbt) {
             for (int i = 0; i < playerIdList.tagCount(); i++) {
                 final NBTTagCompound playerId = playerIdList.getCompoundTagAt(i);
                 final UUID playerUuid = playerId.getUniqueId(NbtDataUtil.UUID);
-                final Integer playerIndex = this.playerUniqueIdMap.inverse().get(playerUuid);
-                if (playerIndex == null) {
-                    this.playerUniqueIdMap.put(this.trackedUniqueIdCount++, playerUuid);
+                if (!this.indexByUniqueId.containsKey(playerUuid)) {
+                    this.indexByUniqueId.put(playerUuid, this.uniqueIdsByIndex.size());
+                    this.uniqueIdsByIndex.add(playerUuid);
                 } else {
                     playerIdList.removeTag(i);
                 }
@@ -38,6 +38,7 @@
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @Mixin(value = WorldServer.class, priority = 1111)
 @SuppressWarnings("UnresolvedMixinReference") // MinecraftDev
@@ -53,9 +54,11 @@ private List<EntityPlayer> onGetPlayersForExplosionPacket(WorldServer self) {
     @Redirect(method = "triggerInternalExplosion", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/Explosion;doExplosionB(Z)V"))
     private void onCallExplosion(Explosion explosion, boolean spawnParticles) {
         explosion.doExplosionB(true); // Note that this is forced to be true.
-        for (EntityPlayer playerEntity : this.playerEntities) {
-            final Vec3d knockback = explosion.getPlayerKnockbackMap().get(playerEntity);
-            if (knockback != null) {
+        // Sponge - Only go through the players knocked back by the explosion rather than every player of the world
+        for (Map.Entry<EntityPlayer, Vec3d> entry : explosion.getPlayerKnockbackMap().entrySet()) {
+            final EntityPlayer playerEntity = entry.getKey();
+            final Vec3d knockback = entry.getValue();
+            if (playerEntity instanceof EntityPlayerMP && ((EntityPlayerMP) playerEntity).connection != null) {
                 // In Vanilla, doExplosionB always updates the 'motion[xyz]' fields for every entity in range.
                 // However, this field is completely ignored for players (since 'velocityChanged') is never set, and
                 // a completely different value is sent through 'SPacketExplosion'.
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.server.management;
+
+import net.minecraft.server.management.PlayerChunkMap;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.world.gen.ChunkGenerationExecutor;
+import org.spongepowered.common.world.gen.SpongeChunkGenerator;
+import org.spongepowered.common.world.storage.AsyncChunkLoader;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nullable;
+
+/**
+ * Loads the chunk of a new player chunk map entry asynchronously. Only
+ * applied on SpongeVanilla, as Forge replaces this call with its own
+ * asynchronous chunk loading.
+ */
+@Mixin(PlayerChunkMapEntry.class)
+public abstract class MixinPlayerChunkMapEntry_Async_Chunk_Loading {
+
+    @Shadow @Final private PlayerChunkMap playerChunkMap;
+    @Shadow @Nullable private Chunk chunk;
+
+    private boolean loadingChunk;
+
+    @Redirect(method = "<init>", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;loadChunk(II)Lnet/minecraft/world/chunk/Chunk;"))
+    private Chunk onConstructLoadChunk(ChunkProviderServer chunkProvider, int x, int z) {
+        final CompletableFuture<Chunk> future = ((IMixinChunkProviderServer) chunkProvider).loadChunkAsync(x, z);
+        if (future.isDone()) {
+            return future.exceptionally(throwable -> null).join();
+        }
+        // providePlayerChunk waits until the read completes, the chunk is set on the main thread
+        this.loadingChunk = true;
+        future.whenComplete((chunk, throwable) -> {
+            this.loadingChunk = false;
+            if (this.playerChunkMap.getEntry(x, z) != (Object) this) {
+                // Every player left before the chunk was loaded
+                if (chunk != null) {
+                    chunkProvider.queueUnload(chunk);
+                }
+            } else if (this.chunk == null) {
+                this.chunk = chunk;
+                if (chunk == null && throwable == null) {
+                    this.prepareTerrain(x, z);
+                }
+            }
+        });
+        return null;
+    }
+
+    // The chunk has never been generated, so its terrain is generated off the main thread
+    // before providePlayerChunk generates the rest of it.
+    private void prepareTerrain(int x, int z) {
+        final SpongeChunkGenerator generator = ChunkGenerationExecutor.getGenerator(this.playerChunkMap.getWorldServer());
+        if (generator == null) {
+            return;
+        }
+        this.loadingChunk = true;
+        ChunkGenerationExecutor.prepareTerrain(generator, x, z).whenCompleteAsync((prepared, throwable) -> {
+            this.loadingChunk = false;
+            if (this.playerChunkMap.getEntry(x, z) != (Object) this) {
+                generator.discardPreparedTerrain(x, z);
+            }
+        }, AsyncChunkLoader.MAIN_THREAD);
+    }
+
+    @Inject(method = "providePlayerChunk", at = @At("HEAD"), cancellable = true)
+    private void onProvidePlayerChunk(boolean canGenerate, CallbackInfoReturnable<Boolean> cir) {
+        if (this.loadingChunk) {
+            cir.setReturnValue(false);
+        }
+    }
+}
@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.optimization.world;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
@@ -33,6 +34,9 @@
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.interfaces.IMixinChunk;
@@ -40,23 +44,28 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.core.world.MixinWorld;
+import org.spongepowered.common.relocate.co.aikar.timings.TimingHistory;
+import org.spongepowered.common.world.QueuedLightUpdates;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.Nullable;
 
 @Mixin(value = WorldServer.class)
 public abstract class MixinWorldServer_Async_Lighting extends MixinWorld implements IMixinWorldServer {
 
-    private static final int NUM_XZ_BITS = 4;
-    private static final int NUM_SHORT_Y_BITS = 8;
-    private static final short XZ_MASK = 0xF;
-    private static final short Y_SHORT_MASK = 0xFF;
+    private static final EnumSkyBlock[] LIGHT_TYPES = EnumSkyBlock.values();
 
     private ExecutorService lightExecutorService = 
                 Executors.newFixedThreadPool(SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getAsyncLightingCategory().getNumThreads(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
+    // Positions queued for a light update, and the positions updated since the last tick
+    private final AtomicInteger queuedLightUpdates = new AtomicInteger();
+    private final AtomicLong relitLightUpdates = new AtomicLong();
 
     @Override
     public boolean checkLightFor(EnumSkyBlock lightType, BlockPos pos) {
@@ -69,7 +78,6 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
         if (false && !this.isAreaLoaded(pos, 17, false)) {
             return false;
         } else {
-            final IMixinChunk spongeChunk = (IMixinChunk) currentChunk;
             int i = 0;
             int j = 0;
             //this.theProfiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
@@ -184,15 +192,6 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
                 }
             }
 
-            // Sponge start - Asynchronous light updates
-            spongeChunk.getQueuedLightingUpdates(lightType).remove((Short) this.blockPosToShort(pos));
-            spongeChunk.getPendingLightUpdates().decrementAndGet();
-            for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-                final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
-                neighbor.getPendingLightUpdates().decrementAndGet();
-            }
-
-            // Sponge end
             //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
             return true;
         }
@@ -209,20 +208,84 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable
         }
 
         final IMixinChunk spongeChunk = (IMixinChunk) currentChunk;
-        if (currentChunk == null || currentChunk.unloadQueued || !spongeChunk.areNeighborsLoaded()) {
+        if (currentChunk == null || currentChunk.unloadQueued || !spongeChunk.areNeighborsLoaded()
+                || !((IMixinBlockPos) pos).isValidPosition()) {
             return false;
         }
 
-        final short shortPos = this.blockPosToShort(pos);
-        if (spongeChunk.getQueuedLightingUpdates(lightType).contains(shortPos)) {
-            return false;
+        final QueuedLightUpdates queue = spongeChunk.getQueuedLightUpdates();
+        final int index = QueuedLightUpdates.getIndex(pos);
+        final Chunk chunk = currentChunk;
+        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            // Already on a lighting thread, so the update is done right away unless the chunk will do it
+            if (queue.contains(lightType, index)) {
+                return false;
+            }
+            final List<Chunk> neighbors = this.getLightNeighbors(spongeChunk);
+            this.addPendingLightUpdate(chunk, neighbors);
+            try {
+                this.checkLightAsync(lightType, pos, chunk, neighbors);
+            } finally {
+                this.removePendingLightUpdate(chunk, neighbors);
+            }
+            return true;
         }
 
-        final Chunk chunk = currentChunk;
-        spongeChunk.getQueuedLightingUpdates(lightType).add(shortPos);
-        spongeChunk.getPendingLightUpdates().incrementAndGet();
+        if (!queue.add(lightType, index)) {
+            return false;
+        }
+        this.queuedLightUpdates.incrementAndGet();
         spongeChunk.setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
 
+        // A single relight of the chunk handles every position queued until it runs
+        if (queue.trySchedule()) {
+            final List<Chunk> neighbors = this.getLightNeighbors(spongeChunk);
+            this.addPendingLightUpdate(chunk, neighbors);
+            try {
+                this.lightExecutorService.execute(() -> this.relightChunk(chunk, neighbors));
+            } catch (RejectedExecutionException e) {
+                queue.finishScheduled();
+                this.removePendingLightUpdate(chunk, neighbors);
+            }
+        }
+
+        return true;
+    }
+
+    private void relightChunk(Chunk chunk, List<Chunk> neighbors) {
+        final QueuedLightUpdates queue = ((IMixinChunk) chunk).getQueuedLightUpdates();
+        final IntArrayList indices = new IntArrayList();
+        boolean scheduled = true;
+        // Positions drained from the queue that are still counted as queued
+        int drained = 0;
+        try {
+            do {
+                for (EnumSkyBlock lightType : LIGHT_TYPES) {
+                    indices.clear();
+                    drained = queue.drain(lightType, indices);
+                    for (int i = 0; i < drained; i++) {
+                        this.checkLightAsync(lightType, QueuedLightUpdates.getPos(chunk.x, chunk.z, indices.getInt(i)), chunk, neighbors);
+                    }
+                    this.queuedLightUpdates.addAndGet(-drained);
+                    this.relitLightUpdates.addAndGet(drained);
+                    drained = 0;
+                }
+                queue.finishScheduled();
+                scheduled = false;
+                // Positions queued while finishing are left to this relight, unless another one was scheduled for them
+            } while (!queue.isEmpty() && (scheduled = queue.trySchedule()));
+        } finally {
+            // Only left over if a light check failed, the rest of the drained positions are dropped
+            this.queuedLightUpdates.addAndGet(-drained);
+            if (scheduled) {
+                // Lets the next queued position schedule a relight of the chunk again
+                queue.finishScheduled();
+            }
+            this.removePendingLightUpdate(chunk, neighbors);
+        }
+    }
+
+    private List<Chunk> getLightNeighbors(IMixinChunk spongeChunk) {
         List<Chunk> neighbors = spongeChunk.getNeighbors();
         // add diagonal chunks
         Chunk southEastChunk = ((IMixinChunk) spongeChunk.getNeighborChunk(0)).getNeighborChunk(2);
@@ -241,23 +304,31 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable
         if (northWestChunk != null) {
             neighbors.add(northWestChunk);
         }
+        return neighbors;
+    }
 
+    // Keeps the chunk and its neighbors from unloading while their light is being updated
+    private void addPendingLightUpdate(Chunk chunk, List<Chunk> neighbors) {
+        final long time = chunk.getWorld().getTotalWorldTime();
+        ((IMixinChunk) chunk).getPendingLightUpdates().incrementAndGet();
         for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
             final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
             neighbor.getPendingLightUpdates().incrementAndGet();
-            neighbor.setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+            neighbor.setLightUpdateTime(time);
         }
+    }
 
-        //System.out.println("size = " + ((ThreadPoolExecutor) this.lightExecutorService).getQueue().size());
-        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-            this.lightExecutorService.execute(() -> {
-                this.checkLightAsync(lightType, pos, chunk, neighbors);
-            });
-        } else {
-            this.checkLightAsync(lightType, pos, chunk, neighbors);
+    private void removePendingLightUpdate(Chunk chunk, List<Chunk> neighbors) {
+        ((IMixinChunk) chunk).getPendingLightUpdates().decrementAndGet();
+        for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
+            ((IMixinChunk) neighborChunk).getPendingLightUpdates().decrementAndGet();
         }
+    }
 
-        return true;
+    @Inject(method = "tick", at = @At("RETURN"))
+    private void onTickSampleLightUpdates(CallbackInfo ci) {
+        TimingHistory.queuedLightUpdates += this.queuedLightUpdates.get();
+        TimingHistory.relitLightUpdates += this.relitLightUpdates.getAndSet(0);
     }
 
     @Override
@@ -355,24 +426,4 @@ public void setLightForAsync(EnumSkyBlock type, BlockPos pos, int lightValue, Ch
             }
         }
     }
-
-    private short blockPosToShort(BlockPos pos) {
-        short serialized = (short) setNibble(0, pos.getX() & XZ_MASK, 0, NUM_XZ_BITS);
-        serialized = (short) setNibble(serialized, pos.getY() & Y_SHORT_MASK, 1, NUM_SHORT_Y_BITS);
-        serialized = (short) setNibble(serialized, pos.getZ() & XZ_MASK, 3, NUM_XZ_BITS);
-        return serialized;
-    }
-
-    /**
-     * Modifies bits in an integer.
-     *
-     * @param num Integer to modify
-     * @param data Bits of data to add
-     * @param which Index of nibble to start at
-     * @param bitsToReplace The number of bits to replace starting from nibble index
-     * @return The modified integer
-     */
-    private int setNibble(int num, int data, int which, int bitsToReplace) {
-        return (num & ~(bitsToReplace << (which * 4)) | (data << (which * 4)));
-    }
 }
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.world.chunk;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.world.chunk.BlockStateContainer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the bytes a chunk section was last written to a chunk packet with,
+ * so that sending the same chunk to many players only serializes the
+ * palette and block data of the sections changed since the last time.
+ */
+@Mixin(BlockStateContainer.class)
+public abstract class MixinBlockStateContainer_Section_Cache {
+
+    @Shadow public abstract int getSerializedSize();
+
+    @Nullable private byte[] serializedData;
+
+    @Inject(method = "set(ILnet/minecraft/block/state/IBlockState;)V", at = @At("HEAD"))
+    private void onSetInvalidateSerializedData(int index, IBlockState state, CallbackInfo ci) {
+        this.serializedData = null;
+    }
+
+    @Inject(method = "setBits", at = @At("HEAD"))
+    private void onSetBitsInvalidateSerializedData(int bits, CallbackInfo ci) {
+        this.serializedData = null;
+    }
+
+    @Inject(method = "write", at = @At("HEAD"), cancellable = true)
+    private void onWriteUseSerializedData(PacketBuffer buf, CallbackInfo ci) {
+        final byte[] data = this.serializedData;
+        if (data != null) {
+            buf.writeBytes(data);
+            ci.cancel();
+        }
+    }
+
+    @Inject(method = "write", at = @At("RETURN"))
+    private void onWriteStoreSerializedData(PacketBuffer buf, CallbackInfo ci) {
+        // The size matches what was just written, see MixinBlockStateContainer
+        final int size = this.getSerializedSize();
+        final byte[] data = new byte[size];
+        buf.getBytes(buf.writerIndex() - size, data);
+        this.serializedData = data;
+    }
+
+    @Inject(method = "getSerializedSize", at = @At("HEAD"), cancellable = true)
+    private void onGetSerializedSizeUseSerializedData(CallbackInfoReturnable<Integer> cir) {
+        final byte[] data = this.serializedData;
+        if (data != null) {
+            cir.setReturnValue(data.length);
+        }
+    }
+}
@@ -28,6 +28,7 @@
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -51,7 +52,6 @@
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.util.math.AxisAlignedBB;
-import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -72,6 +72,8 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
+import org.spongepowered.common.relocate.co.aikar.timings.TimingHistory;
+import org.spongepowered.common.world.PlayerProximityGrid;
 
 import java.util.Map;
 
@@ -85,13 +87,6 @@ public class EntityActivationRange {
             .put((byte) 5, "misc")
             .build();
 
-    static AxisAlignedBB maxBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB tileEntityBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static Map<Byte, Integer> maxActivationRanges = Maps.newHashMap();
 
     /**
@@ -212,6 +207,9 @@ public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>Uses the {@link PlayerProximityGrid} of the world so that every
+     * entity is checked once against only the players near its chunk.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
@@ -219,32 +217,30 @@ public static void activateEntities(World world) {
             return;
         }
 
-        for (EntityPlayer player : world.playerEntities) {
-
-            int maxRange = 0;
-            for (Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
+        int maxRange = 0;
+        for (Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
             }
+        }
+        maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
+        // Entities can stick out of their chunk, leave a chunk of slack around the chunk center
+        final double maxDistanceSq = (maxRange + 16) * (maxRange + 16);
+
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        final PlayerProximityGrid grid = ((IMixinWorldServer) world).getPlayerProximityGrid();
+        for (int index = 0; index < grid.getPlayerCount(); index++) {
+            ((IModData_Activation) grid.getPlayer(index)).setActivatedTick(currentTick);
+        }
 
-            maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
-            ((IModData_Activation) player).setActivatedTick(SpongeImpl.getServer().getTickCounter());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-
-            int i = MathHelper.floor(maxBB.minX / 16.0D);
-            int j = MathHelper.floor(maxBB.maxX / 16.0D);
-            int k = MathHelper.floor(maxBB.minZ / 16.0D);
-            int l = MathHelper.floor(maxBB.maxZ / 16.0D);
-
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    WorldServer worldserver = (WorldServer) world;
-                    Chunk chunk = ((IMixinChunkProviderServer) worldserver.getChunkProvider()).getLoadedChunkWithoutMarkingActive(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
-                    }
-                }
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) ((WorldServer) world).getChunkProvider();
+        for (PlayerProximityGrid.Cell cell : grid.getCells()) {
+            if (cell.getNearestDistanceSq() > maxDistanceSq) {
+                continue;
+            }
+            final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive(cell.getX(), cell.getZ());
+            if (chunk != null) {
+                activateChunkEntities(grid, cell.getPlayers(), chunk, currentTick);
             }
         }
     }
@@ -252,16 +248,18 @@ public static void activateEntities(World world) {
     /**
      * Checks for the activation state of all entities in this chunk.
      *
+     * @param grid The player proximity grid of the world
+     * @param chunkPlayers The indices of the players near the chunk
      * @param chunk Chunk to check for activation
+     * @param currentTick The current tick
      */
-    private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
+    private static void activateChunkEntities(PlayerProximityGrid grid, IntArrayList chunkPlayers, Chunk chunk, long currentTick) {
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
             for (Object o : chunk.getEntityLists()[i]) {
                 Entity entity = (Entity) o;
                 EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
                 final IModData_Activation spongeEntity = (IModData_Activation) entity;
-                long currentTick = SpongeImpl.getServer().getTickCounter();
                 if (!((IMixinEntity) entity).shouldTick()) {
                     continue;
                 }
@@ -282,53 +280,29 @@ private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
                         spongeEntity.requiresActivationCacheRefresh(false);
                     }
                     // check for entity type overrides
-                    byte activationType = spongeEntity.getActivationType();
-                    int bbActivationRange = spongeEntity.getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    }
-
-                    switch (spongeEntity.getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.setActivatedTick(currentTick);
-                            }
+                    final int bbActivationRange = spongeEntity.getActivationRange();
+                    final AxisAlignedBB entityBB = entity.getEntityBoundingBox();
+                    TimingHistory.activationChecks++;
+                    for (int index = 0; index < chunkPlayers.size(); index++) {
+                        final AxisAlignedBB playerBB = grid.getPlayer(chunkPlayers.getInt(index)).getEntityBoundingBox();
+                        if (isInRange(entityBB, playerBB, bbActivationRange)) {
+                            spongeEntity.setActivatedTick(currentTick);
+                            TimingHistory.activatedEntities++;
                             break;
-                        case 4:
-                            if (ambientBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.setActivatedTick(currentTick);
-                            }
+                        }
                     }
                 }
             }
         }
     }
 
+    // Same as growing the player box by the range (256 vertically) and checking for an intersection
+    private static boolean isInRange(AxisAlignedBB entityBB, AxisAlignedBB playerBB, int range) {
+        return entityBB.minX < playerBB.maxX + range && entityBB.maxX > playerBB.minX - range
+                && entityBB.minY < playerBB.maxY + 256 && entityBB.maxY > playerBB.minY - 256
+                && entityBB.minZ < playerBB.maxZ + range && entityBB.maxZ > playerBB.minZ - range;
+    }
+
     /**
      * If an entity is not in range, do some more checks to see if we should
      * give it a shot.
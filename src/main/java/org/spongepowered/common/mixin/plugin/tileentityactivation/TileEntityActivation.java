@@ -25,9 +25,7 @@
 package org.spongepowered.common.mixin.plugin.tileentityactivation;
 
 import com.flowpowered.math.vector.Vector3i;
-import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.server.management.PlayerChunkMap;
-import net.minecraft.server.management.PlayerChunkMapEntry;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.BlockPos;
@@ -44,8 +42,10 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.PlayerProximityGrid;
 
 import java.util.Map;
 
@@ -125,16 +125,15 @@ public static void initializeTileEntityActivationState(TileEntity tileEntity) {
     * @param world The world to perform activation checks in
     */
     public static void activateTileEntities(WorldServer world) {
-        final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
-        for (PlayerChunkMapEntry playerChunkMapEntry : playerChunkMap.entries) {
-            for (EntityPlayer player : playerChunkMapEntry.players) {
-                final Chunk chunk = playerChunkMapEntry.chunk;
-                if (chunk == null || chunk.unloadQueued || ((IMixinChunk) chunk).isPersistedChunk()) {
-                    continue;
-                }
-
-                activateChunkTileEntities(player, chunk);
+        final PlayerProximityGrid grid = ((IMixinWorldServer) world).getPlayerProximityGrid();
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) world.getChunkProvider();
+        for (PlayerProximityGrid.Cell cell : grid.getCells()) {
+            final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive(cell.getX(), cell.getZ());
+            if (chunk == null || chunk.unloadQueued || ((IMixinChunk) chunk).isPersistedChunk()) {
+                continue;
             }
+
+            activateChunkTileEntities(grid, cell.getPlayers(), chunk);
         }
     }
 
@@ -142,11 +141,16 @@ public static void activateTileEntities(WorldServer world) {
     /**
      * Checks for the activation state of all tileentities in this chunk.
      *
+     * @param grid The player proximity grid of the world
+     * @param chunkPlayers The indices of the players near the chunk
      * @param chunk Chunk to check for activation
      */
-    private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk) {
-        final Vector3i playerPos = VecHelper.toVector3i(player.getPosition());
+    private static void activateChunkTileEntities(PlayerProximityGrid grid, IntArrayList chunkPlayers, Chunk chunk) {
         final long currentTick = SpongeImpl.getServer().getTickCounter();
+        final Vector3i[] playerPositions = new Vector3i[chunkPlayers.size()];
+        for (int index = 0; index < playerPositions.length; index++) {
+            playerPositions[index] = VecHelper.toVector3i(grid.getPlayer(chunkPlayers.getInt(index)).getPosition());
+        }
         for (Map.Entry<BlockPos, TileEntity> mapEntry : chunk.getTileEntityMap().entrySet()) {
             final TileEntity tileEntity = mapEntry.getValue();
             final IModData_Activation spongeTileEntity = (IModData_Activation) tileEntity;
@@ -159,7 +163,6 @@ private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk)
                 continue;
             }
 
-            final Vector3i tilePos = VecHelper.toVector3i(tileEntity.getPos());
             if (currentTick > ((IModData_Activation) tileEntity).getActivatedTick()) {
                 if (spongeTileEntity.getDefaultActivationState()) {
                     ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
@@ -172,10 +175,14 @@ private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk)
                     spongeTileEntity.requiresActivationCacheRefresh(false);
                 }
 
+                final Vector3i tilePos = VecHelper.toVector3i(tileEntity.getPos());
                 int bbActivationRange = ((IModData_Activation) tileEntity).getActivationRange();
-                int blockDistance = Math.round(tilePos.distance(playerPos));
-                if (blockDistance <= bbActivationRange) {
-                    ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
+                for (Vector3i playerPos : playerPositions) {
+                    int blockDistance = Math.round(tilePos.distance(playerPos));
+                    if (blockDistance <= bbActivationRange) {
+                        ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
+                        break;
+                    }
                 }
             }
         }
@@ -24,9 +24,12 @@
  */
 package org.spongepowered.common.mixin.tracking.world;
 
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.ITileEntityProvider;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
@@ -34,11 +37,8 @@
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import org.apache.logging.log4j.Level;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.entity.living.player.User;
-import org.spongepowered.api.profile.GameProfile;
-import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
@@ -52,17 +52,15 @@
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.type.GeneralConfigBase;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.player.UserResolver;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
-import org.spongepowered.common.profile.SpongeProfileManager;
 import org.spongepowered.common.util.SpongeHooks;
-import org.spongepowered.common.util.SpongeUsernameCache;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -79,8 +77,6 @@ public abstract class MixinChunk_Tracker implements Chunk, IMixinChunk {
     private static final short XZ_MASK = 0xF;
     private static final short Y_SHORT_MASK = 0xFF;
     private static final int Y_INT_MASK = 0xFFFFFF;
-    private SpongeProfileManager spongeProfileManager;
-    private UserStorageService userStorageService;
 
     @Shadow @Final private World world;
     @Shadow @Final public int x;
@@ -89,16 +85,19 @@ public abstract class MixinChunk_Tracker implements Chunk, IMixinChunk {
 
     @Shadow public abstract ChunkPos getPos();
 
-    private Map<Integer, PlayerTracker> trackedIntBlockPositions = new HashMap<>();
-    private Map<Short, PlayerTracker> trackedShortBlockPositions = new HashMap<>();
+    private Int2LongMap trackedIntBlockPositions = newIntTable();
+    private Short2LongMap trackedShortBlockPositions = newShortTable();
 
-    @Final // need this constructor to never be overwritten by anything.
-    @Inject(method = "<init>(Lnet/minecraft/world/World;II)V", at = @At("RETURN"), remap = false)
-    private void onConstructedTracker(World world, int x, int z, CallbackInfo ci) {
-        if (!world.isRemote) {
-            this.spongeProfileManager = ((SpongeProfileManager) Sponge.getServer().getGameProfileManager());
-            this.userStorageService = SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get();
-        }
+    private static Int2LongMap newIntTable() {
+        final Int2LongOpenHashMap table = new Int2LongOpenHashMap();
+        table.defaultReturnValue(PlayerTracker.NONE);
+        return table;
+    }
+
+    private static Short2LongMap newShortTable() {
+        final Short2LongOpenHashMap table = new Short2LongOpenHashMap();
+        table.defaultReturnValue(PlayerTracker.NONE);
+        return table;
     }
 
     @Override
@@ -144,221 +143,125 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
 
         final IMixinWorldInfo worldInfo = (IMixinWorldInfo) this.world.getWorldInfo();
         final int indexForUniqueId = worldInfo.getIndexForUniqueId(user.getUniqueId());
+        final long tracked = this.getTrackedEntry(pos);
+        final long updated;
+        if (tracked == PlayerTracker.NONE) {
+            updated = PlayerTracker.pack(indexForUniqueId, trackerType);
+        } else if (trackerType == PlayerTracker.Type.OWNER) {
+            updated = PlayerTracker.pack(indexForUniqueId, indexForUniqueId);
+        } else {
+            updated = PlayerTracker.withNotifier(tracked, indexForUniqueId);
+        }
+        this.setTrackedEntry(pos, updated);
+    }
+
+    private long getTrackedEntry(BlockPos pos) {
         if (pos.getY() <= 255) {
-            short blockPos = this.blockPosToShort(pos);
-            final PlayerTracker playerTracker = this.trackedShortBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
-                } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
-                }
+            return this.trackedShortBlockPositions.get(this.blockPosToShort(pos));
+        }
+        return this.trackedIntBlockPositions.get(this.blockPosToInt(pos));
+    }
+
+    private void setTrackedEntry(BlockPos pos, long entry) {
+        if (pos.getY() <= 255) {
+            final short key = this.blockPosToShort(pos);
+            if (entry == PlayerTracker.NONE) {
+                this.trackedShortBlockPositions.remove(key);
             } else {
-                this.trackedShortBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
+                this.trackedShortBlockPositions.put(key, entry);
             }
         } else {
-            int blockPos = this.blockPosToInt(pos);
-            final PlayerTracker playerTracker = this.trackedIntBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
-                } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
-                }
+            final int key = this.blockPosToInt(pos);
+            if (entry == PlayerTracker.NONE) {
+                this.trackedIntBlockPositions.remove(key);
             } else {
-                this.trackedIntBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
+                this.trackedIntBlockPositions.put(key, entry);
             }
         }
     }
 
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
+    public Int2LongMap getTrackedIntPlayerPositions() {
         return this.trackedIntBlockPositions;
     }
 
     @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
+    public Short2LongMap getTrackedShortPlayerPositions() {
         return this.trackedShortBlockPositions;
     }
 
     @Override
     public Optional<User> getBlockOwner(BlockPos pos) {
-        final int intKey = this.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            final int notifierIndex = intTracker.ownerIndex;
-            return this.getValidatedUser(intKey, notifierIndex);
-        } else {
-            final short shortKey = this.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int notifierIndex = shortTracker.ownerIndex;
-                return this.getValidatedUser(shortKey, notifierIndex);
-            }
-        }
-
-        return Optional.empty();
+        return this.getValidatedUser(pos, PlayerTracker.Type.OWNER);
     }
 
     @Override
     public Optional<UUID> getBlockOwnerUUID(BlockPos pos) {
-        final int key = this.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            final int ownerIndex = intTracker.ownerIndex;
-            return this.getValidatedUUID(key, ownerIndex);
-        } else {
-            final short shortKey = this.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int ownerIndex = shortTracker.ownerIndex;
-                return this.getValidatedUUID(shortKey, ownerIndex);
-            }
-        }
-
-        return Optional.empty();
+        return this.getValidatedUUID(pos, PlayerTracker.Type.OWNER);
     }
 
     @Override
     public Optional<User> getBlockNotifier(BlockPos pos) {
-        final int intKey = this.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            return this.getValidatedUser(intKey, intTracker.notifierIndex);
-        } else {
-            final short shortKey = this.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                return this.getValidatedUser(shortKey, shortTracker.notifierIndex);
-            }
-        }
-
-        return Optional.empty();
+        return this.getValidatedUser(pos, PlayerTracker.Type.NOTIFIER);
     }
 
     @Override
     public Optional<UUID> getBlockNotifierUUID(BlockPos pos) {
-        final int key = this.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            return this.getValidatedUUID(key, intTracker.notifierIndex);
-        } else {
-            final short shortKey = this.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                return this.getValidatedUUID(shortKey, shortTracker.notifierIndex);
-            }
-        }
-
-        return Optional.empty();
+        return this.getValidatedUUID(pos, PlayerTracker.Type.NOTIFIER);
     }
 
-    private Optional<User> getValidatedUser(int key, int ownerIndex) {
-        Optional<UUID> uuid = this.getValidatedUUID(key, ownerIndex);
+    private Optional<User> getValidatedUser(BlockPos pos, PlayerTracker.Type type) {
+        final Optional<UUID> uuid = this.getValidatedUUID(pos, type);
         if (uuid.isPresent()) {
-            UUID userUniqueId = uuid.get();
-            // get player if online
-            EntityPlayer player = this.world.getPlayerEntityByUUID(userUniqueId);
-            if (player != null) {
-                return Optional.of((User) player);
-            }
-            // player is not online, get or create user from storage
-            return this.getUserFromId(userUniqueId);
+            return UserResolver.resolve(uuid.get());
         }
         return Optional.empty();
     }
 
-    private Optional<UUID> getValidatedUUID(int key, int ownerIndex) {
-        UUID uuid = (((IMixinWorldInfo) this.world.getWorldInfo()).getUniqueIdForIndex(ownerIndex)).orElse(null);
+    private Optional<UUID> getValidatedUUID(BlockPos pos, PlayerTracker.Type type) {
+        final long tracked = this.getTrackedEntry(pos);
+        final int index = type == PlayerTracker.Type.OWNER ? PlayerTracker.ownerIndex(tracked) : PlayerTracker.notifierIndex(tracked);
+        if (index == PlayerTracker.NO_INDEX) {
+            return Optional.empty();
+        }
+        UUID uuid = (((IMixinWorldInfo) this.world.getWorldInfo()).getUniqueIdForIndex(index)).orElse(null);
         if (uuid != null) {
             // Verify id is valid and not invalid
             if (SpongeImpl.getGlobalConfig().getConfig().getWorld().getInvalidLookupUuids().contains(uuid)) {
-                this.trackedIntBlockPositions.remove(key);
+                // Only forget the invalid one, the other may still be valid
+                this.setTrackedEntry(pos, type == PlayerTracker.Type.OWNER
+                        ? PlayerTracker.withOwner(tracked, PlayerTracker.NO_INDEX)
+                        : PlayerTracker.withNotifier(tracked, PlayerTracker.NO_INDEX));
                 return Optional.empty();
             }
-            // player is not online, get or create user from storage
             return Optional.of(uuid);
         }
         return Optional.empty();
     }
 
-    private Optional<User> getUserFromId(UUID uuid) {
-        // check username cache
-        String username = SpongeUsernameCache.getLastKnownUsername(uuid);
-        if (username != null) {
-            return this.userStorageService.get(GameProfile.of(uuid, username));
-        }
-
-        // check mojang cache
-        GameProfile profile = this.spongeProfileManager.getCache().getById(uuid).orElse(null);
-        if (profile != null) {
-            return this.userStorageService.get(profile);
-        }
-
-        // If we reach this point, queue UUID for async lookup and return empty
-        this.spongeProfileManager.lookupUserAsync(uuid);
-        return Optional.empty();
-    }
-
     // Special setter used by API
     @Override
     public void setBlockNotifier(BlockPos pos, @Nullable UUID uuid) {
-        if (pos.getY() <= 255) {
-            short blockPos = this.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(blockPos);
-            if (shortTracker != null) {
-                shortTracker.notifierIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedShortBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
-        } else {
-            int blockPos = this.blockPosToInt(pos);
-            final PlayerTracker intTracker = this.trackedIntBlockPositions.get(blockPos);
-            if (intTracker != null) {
-                intTracker.notifierIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedIntBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
-        }
+        final int index = uuid == null ? PlayerTracker.NO_INDEX : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
+        this.setTrackedEntry(pos, PlayerTracker.withNotifier(this.getTrackedEntry(pos), index));
     }
 
     // Special setter used by API
     @Override
     public void setBlockCreator(BlockPos pos, @Nullable UUID uuid) {
-        if (pos.getY() <= 255) {
-            short blockPos = this.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(blockPos);
-            if (shortTracker != null) {
-                shortTracker.ownerIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedShortBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo())
-                        .getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
-        } else {
-            int blockPos = this.blockPosToInt(pos);
-            final PlayerTracker intTracker = this.trackedIntBlockPositions.get(blockPos);
-            if (intTracker != null) {
-                intTracker.ownerIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedIntBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo())
-                        .getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
-        }
+        final int index = uuid == null ? PlayerTracker.NO_INDEX : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
+        this.setTrackedEntry(pos, PlayerTracker.withOwner(this.getTrackedEntry(pos), index));
     }
 
     @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
+    public void setTrackedIntPlayerPositions(Int2LongMap trackedPositions) {
+        trackedPositions.defaultReturnValue(PlayerTracker.NONE);
         this.trackedIntBlockPositions = trackedPositions;
     }
 
     @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
+    public void setTrackedShortPlayerPositions(Short2LongMap trackedPositions) {
+        trackedPositions.defaultReturnValue(PlayerTracker.NONE);
         this.trackedShortBlockPositions = trackedPositions;
     }
 
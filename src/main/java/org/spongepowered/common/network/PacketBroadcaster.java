@@ -0,0 +1,261 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.EnumConnectionState;
+import net.minecraft.network.EnumPacketDirection;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
+import net.minecraft.network.PacketBuffer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.IMixinNetworkManager;
+import org.spongepowered.common.interfaces.network.IMixinNetHandlerPlayServer;
+import org.spongepowered.common.mixin.core.network.IMixinNettyCompressionEncoder;
+
+import java.io.IOException;
+import java.util.zip.Deflater;
+
+import javax.annotation.Nullable;
+
+/**
+ * Sends the same packet to many players while serializing and compressing
+ * it only once, instead of once in the pipeline of every connection.
+ *
+ * <p>The shared buffer is written to each connection right after the point
+ * where the pipeline would have compressed it, so the length prefix and the
+ * encryption are still applied per connection.</p>
+ */
+public final class PacketBroadcaster {
+
+    // Pipeline names used by NetworkManager and NetworkSystem
+    private static final String ENCODER = "encoder";
+    private static final String COMPRESS = "compress";
+    private static final String PREPENDER = "prepender";
+    private static final String ENCODED_PACKET_HANDLER = "sponge_encoded_packet";
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(Deflater::new);
+
+    /**
+     * Sends the packet to every player with a connection.
+     *
+     * <p>The packet goes through the connection of each player instead if
+     * it {@link IMixinNetHandlerPlayServer#needsPerPlayerHandling needs per
+     * player handling}, or if shared packet broadcasting is disabled in the
+     * config, so that anything hooking into the sending of packets sees
+     * it.</p>
+     *
+     * @param players The players to send the packet to
+     * @param packet The packet
+     */
+    public static void sendToAll(Iterable<? extends EntityPlayerMP> players, Packet<?> packet) {
+        if (IMixinNetHandlerPlayServer.needsPerPlayerHandling(packet)
+                || !SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useSharedPacketBroadcast()) {
+            for (EntityPlayerMP player : players) {
+                if (player.connection != null) {
+                    player.connection.sendPacket(packet);
+                }
+            }
+            return;
+        }
+        final SharedPacket shared = new SharedPacket(packet);
+        try {
+            for (EntityPlayerMP player : players) {
+                shared.send(player);
+            }
+        } finally {
+            shared.release();
+        }
+    }
+
+    /**
+     * Serializes the packet the same way as the "encoder" handler of a play
+     * connection.
+     *
+     * @param packet The packet
+     * @return The packet id followed by the packet data
+     * @throws IOException If the packet could not be written
+     */
+    public static ByteBuf encode(Packet<?> packet) throws IOException {
+        final Integer id = EnumConnectionState.PLAY.getPacketId(EnumPacketDirection.CLIENTBOUND, packet);
+        if (id == null) {
+            throw new IOException("Can't serialize unregistered packet " + packet.getClass().getName());
+        }
+        final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        try {
+            buffer.writeVarInt(id);
+            packet.writePacketData(buffer);
+        } catch (Throwable t) {
+            buffer.release();
+            throw t;
+        }
+        return buffer;
+    }
+
+    /**
+     * Compresses the serialized packet the same way as the "compress"
+     * handler of a connection with the threshold.
+     *
+     * @param encoded The serialized packet
+     * @param threshold The compression threshold
+     * @return The compressed packet
+     */
+    public static ByteBuf compress(ByteBuf encoded, int threshold) {
+        final int size = encoded.readableBytes();
+        final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer(size + 5));
+        if (size < threshold) {
+            buffer.writeVarInt(0);
+            buffer.writeBytes(encoded, encoded.readerIndex(), size);
+            return buffer;
+        }
+        final byte[] input = new byte[size];
+        encoded.getBytes(encoded.readerIndex(), input);
+        buffer.writeVarInt(size);
+        final Deflater deflater = DEFLATER.get();
+        final byte[] output = new byte[8192];
+        deflater.setInput(input, 0, size);
+        deflater.finish();
+        while (!deflater.finished()) {
+            final int length = deflater.deflate(output);
+            buffer.writeBytes(output, 0, length);
+        }
+        deflater.reset();
+        return buffer;
+    }
+
+    private static final class SharedPacket {
+
+        private final Packet<?> packet;
+        private boolean encodingFailed;
+        @Nullable private ByteBuf encoded;
+        @Nullable private ByteBuf compressed;
+        private int compressedThreshold;
+
+        SharedPacket(Packet<?> packet) {
+            this.packet = packet;
+        }
+
+        void send(EntityPlayerMP player) {
+            if (player.connection == null) {
+                return;
+            }
+            final NetworkManager manager = player.connection.netManager;
+            final Channel channel = ((IMixinNetworkManager) manager).getChannel();
+            final ByteBuf buffer = this.encodingFailed || channel == null || !manager.isChannelOpen() ? null : this.getBuffer(channel);
+            if (buffer == null) {
+                // Leave anything unusual to the regular path
+                player.connection.sendPacket(this.packet);
+                return;
+            }
+            channel.writeAndFlush(new EncodedPacket(buffer.retainedDuplicate())).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+        }
+
+        @Nullable
+        private ByteBuf getBuffer(Channel channel) {
+            final ChannelPipeline pipeline = channel.pipeline();
+            if (channel.attr(NetworkManager.PROTOCOL_ATTRIBUTE_KEY).get() != EnumConnectionState.PLAY
+                    || pipeline.get(ENCODER) == null || pipeline.get(PREPENDER) == null) {
+                // Local connections of the integrated server don't serialize packets at all
+                return null;
+            }
+            if (this.encoded == null) {
+                try {
+                    this.encoded = encode(this.packet);
+                } catch (Exception e) {
+                    this.encodingFailed = true;
+                    return null;
+                }
+            }
+            if (pipeline.get(ENCODED_PACKET_HANDLER) == null) {
+                try {
+                    // Placed so that outbound packets go through it after being compressed and before getting their length
+                    pipeline.addAfter(PREPENDER, ENCODED_PACKET_HANDLER, EncodedPacketHandler.INSTANCE);
+                } catch (IllegalArgumentException ignored) {
+                    // Added concurrently
+                }
+            }
+            final ChannelHandler compress = pipeline.get(COMPRESS);
+            if (compress == null) {
+                return this.encoded;
+            }
+            final int threshold = ((IMixinNettyCompressionEncoder) compress).getThreshold();
+            if (this.compressed == null) {
+                this.compressed = compress(this.encoded, threshold);
+                this.compressedThreshold = threshold;
+            } else if (this.compressedThreshold != threshold) {
+                return null;
+            }
+            return this.compressed;
+        }
+
+        void release() {
+            if (this.encoded != null) {
+                this.encoded.release();
+            }
+            if (this.compressed != null) {
+                this.compressed.release();
+            }
+        }
+    }
+
+    /**
+     * A packet already serialized, and compressed if the connection uses
+     * compression, which the encoding handlers of the pipeline pass along.
+     */
+    static final class EncodedPacket extends DefaultByteBufHolder {
+
+        EncodedPacket(ByteBuf data) {
+            super(data);
+        }
+    }
+
+    @ChannelHandler.Sharable
+    static final class EncodedPacketHandler extends ChannelOutboundHandlerAdapter {
+
+        static final EncodedPacketHandler INSTANCE = new EncodedPacketHandler();
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            if (msg instanceof EncodedPacket) {
+                ctx.write(((EncodedPacket) msg).content(), promise);
+            } else {
+                ctx.write(msg, promise);
+            }
+        }
+    }
+
+    private PacketBroadcaster() {
+    }
+}
@@ -54,6 +54,14 @@ public class TimingHistory {
     public static long entityTicks;
     public static long tileEntityTicks;
     public static long activatedEntityTicks;
+    // Sum of the chunk unload queue depth of every world, sampled each tick
+    public static long queuedChunkUnloads;
+    // Entities tested against player activation ranges, and how many of those were activated
+    public static long activationChecks;
+    public static long activatedEntities;
+    // Sum of the async light update queue depth of every world sampled each tick, and the positions relit
+    public static long queuedLightUpdates;
+    public static long relitLightUpdates;
     static int worldIdPool = 1;
     static Map<String, Integer> worldMap = LoadingMap.newHashMap((input) -> worldIdPool++);
     final long endTime;
@@ -203,6 +211,11 @@ public static void resetTicks(boolean fullReset) {
         tileEntityTicks = 0;
         entityTicks = 0;
         activatedEntityTicks = 0;
+        queuedChunkUnloads = 0;
+        activationChecks = 0;
+        activatedEntities = 0;
+        queuedLightUpdates = 0;
+        relitLightUpdates = 0;
     }
 
     JsonObject export() {
@@ -239,7 +252,12 @@ public JsonArray export() {
                             this.ticksRecord.player,
                             this.ticksRecord.entity,
                             this.ticksRecord.activatedEntity,
-                            this.ticksRecord.tileEntity),
+                            this.ticksRecord.tileEntity,
+                            this.ticksRecord.queuedChunkUnloads,
+                            this.ticksRecord.activationChecks,
+                            this.ticksRecord.activatedEntities,
+                            this.ticksRecord.queuedLightUpdates,
+                            this.ticksRecord.relitLightUpdates),
                     this.usedMemory,
                     this.freeMemory,
                     this.loadAvg);
@@ -253,6 +271,11 @@ static class TicksRecord {
         final long entity;
         final long tileEntity;
         final long activatedEntity;
+        final long queuedChunkUnloads;
+        final long activationChecks;
+        final long activatedEntities;
+        final long queuedLightUpdates;
+        final long relitLightUpdates;
 
         TicksRecord() {
             this.timed = timedTicks - (TimingsManager.MINUTE_REPORTS.size() * 1200);
@@ -260,6 +283,11 @@ static class TicksRecord {
             this.entity = entityTicks;
             this.tileEntity = tileEntityTicks;
             this.activatedEntity = activatedEntityTicks;
+            this.queuedChunkUnloads = queuedChunkUnloads;
+            this.activationChecks = activationChecks;
+            this.activatedEntities = activatedEntities;
+            this.queuedLightUpdates = queuedLightUpdates;
+            this.relitLightUpdates = relitLightUpdates;
         }
 
     }
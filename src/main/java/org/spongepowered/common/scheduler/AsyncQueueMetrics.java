@@ -0,0 +1,122 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.base.MoreObjects;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks how many asynchronous tasks of a single plugin are waiting for,
+ * or currently occupying, a worker thread of the {@link AsyncScheduler}.
+ */
+public final class AsyncQueueMetrics {
+
+    private final PluginContainer plugin;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    AsyncQueueMetrics(PluginContainer plugin) {
+        this.plugin = plugin;
+    }
+
+    void onSubmit() {
+        this.submitted.increment();
+        this.queued.incrementAndGet();
+    }
+
+    void onStart() {
+        this.queued.decrementAndGet();
+        this.active.incrementAndGet();
+    }
+
+    void onComplete() {
+        this.active.decrementAndGet();
+        this.completed.increment();
+    }
+
+    void onRejected() {
+        this.queued.decrementAndGet();
+        this.rejected.increment();
+    }
+
+    public PluginContainer getPlugin() {
+        return this.plugin;
+    }
+
+    /**
+     * Gets the number of tasks that have been handed to the worker pool but
+     * have not started running yet.
+     *
+     * @return The number of queued tasks
+     */
+    public int getQueued() {
+        return this.queued.get();
+    }
+
+    /**
+     * Gets the number of tasks that are currently running on a worker thread.
+     *
+     * @return The number of active tasks
+     */
+    public int getActive() {
+        return this.active.get();
+    }
+
+    public long getSubmitted() {
+        return this.submitted.sum();
+    }
+
+    public long getCompleted() {
+        return this.completed.sum();
+    }
+
+    /**
+     * Gets the number of tasks that were dropped because the worker pool had
+     * been shut down.
+     *
+     * @return The number of rejected tasks
+     */
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("plugin", this.plugin.getId())
+                .add("queued", this.getQueued())
+                .add("active", this.getActive())
+                .add("submitted", this.getSubmitted())
+                .add("completed", this.getCompleted())
+                .add("rejected", this.getRejected())
+                .toString();
+    }
+}
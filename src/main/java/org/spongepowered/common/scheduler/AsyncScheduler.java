@@ -24,12 +24,23 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.common.SpongeImpl;
 
-import java.util.Set;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -37,18 +48,33 @@
 
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
+    // Pending tasks, ordered by the time they are next due. Guarded by the lock.
+    private final PriorityQueue<QueueEntry> queue = new PriorityQueue<>(QueueEntry.ORDER);
+    private long entrySequence;
+    // Tasks that were found to be due in preTick, dispatched outside of the lock.
+    // Only accessed by the scheduler thread.
+    private final Queue<ScheduledTask> dueTasks = new ArrayDeque<>();
     // Locking mechanism
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The thread pooling executor of asynchronous tasks, unbounded unless configured otherwise.
+    private final ThreadPoolExecutor executor;
+    private final Map<PluginContainer, AsyncQueueMetrics> queueMetrics = Maps.newConcurrentMap();
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
 
+        final int threads = SpongeImpl.getGlobalConfig().getConfig().getScheduler().getAsyncWorkerThreads();
+        final ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("Sponge Async Scheduler Worker #%d").setDaemon(true).build();
+        if (threads <= 0) {
+            // Same as a cached thread pool, a task never waits for another one to finish
+            this.executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory);
+        } else {
+            // The work queue is unbounded so that every accepted task runs eventually
+            this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
         Thread thread = new Thread(AsyncScheduler.this::mainLoop);
         thread.setName("Sponge Async Scheduler Thread");
         thread.setDaemon(true);
@@ -59,49 +85,25 @@ ExecutorService getExecutor() {
         return this.executor;
     }
 
-    private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
-        while (true) {
-            recalibrateMinimumTimeout();
-            this.runTick();
-        }
+    int getWorkerThreads() {
+        return this.executor.getPoolSize();
     }
 
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
+    int getQueueDepth() {
+        return this.executor.getQueue().size();
+    }
 
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
-            }
-        } finally {
-            this.lock.unlock();
+    Map<PluginContainer, AsyncQueueMetrics> getQueueMetrics() {
+        return ImmutableMap.copyOf(this.queueMetrics);
+    }
+
+    AsyncQueueMetrics getQueueMetrics(PluginContainer plugin) {
+        return this.queueMetrics.computeIfAbsent(plugin, AsyncQueueMetrics::new);
+    }
+
+    private void mainLoop() {
+        while (true) {
+            this.runTick();
         }
     }
 
@@ -109,28 +111,91 @@ private void recalibrateMinimumTimeout() {
     protected void preTick() {
         this.lock.lock();
         try {
-            this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+            // Sleep until the earliest task is due, or until a new task is added.
+            QueueEntry head = this.queue.peek();
+            while (head == null || head.deadline - System.nanoTime() > 0) {
+                if (head == null) {
+                    this.condition.await();
+                } else {
+                    this.condition.awaitNanos(head.deadline - System.nanoTime());
+                }
+                head = this.queue.peek();
+            }
+            this.collectDueTasks(System.nanoTime());
         } catch (InterruptedException ignored) {
-            // The taskMap has been modified; there is work to do.
+            // The queue has been modified; there is work to do.
             // Continue on without handling the Exception.
         } catch (IllegalMonitorStateException e) {
             SpongeImpl.getLogger().error("The scheduler internal state machine suffered a catastrophic error", e);
+        } finally {
+            this.lock.unlock();
         }
     }
 
-    @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
+    /**
+     * Moves every task whose deadline has passed from the queue over to the
+     * due tasks, re-queueing repeating tasks for their next execution. Only
+     * the expired head of the queue is touched, so the cost of a wake-up does
+     * not depend on the total number of scheduled tasks.
+     *
+     * @param now The current time in nanoseconds
+     */
+    private void collectDueTasks(long now) {
+        QueueEntry entry;
+        while ((entry = this.queue.peek()) != null && entry.deadline - now <= 0) {
+            this.queue.poll();
+            final ScheduledTask task = entry.task;
+            // If the task is now slated to be cancelled, we just remove it as if it
+            // no longer exists.
+            if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                this.removeTask(task);
+                continue;
+            }
+            // The previous execution of this repeating task has not started yet,
+            // skip this period rather than piling up executions.
+            if (task.getState() == ScheduledTask.ScheduledTaskState.SWITCHING) {
+                this.enqueue(task, now + task.period);
+                continue;
+            }
+            task.dispatchLag = now - entry.deadline;
+            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+            task.setTimestamp(now);
+            this.dueTasks.add(task);
+            // If task is one time shot, remove it from the map.
+            if (task.period == 0L) {
+                this.removeTask(task);
+            } else {
+                this.enqueue(task, now + task.period);
+            }
+        }
     }
 
     @Override
-    protected void finallyPostTick() {
-        this.lock.unlock();
+    protected void processTasks() {
+        ScheduledTask task;
+        while ((task = this.dueTasks.poll()) != null) {
+            this.startTask(task);
+        }
     }
 
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
-        this.executor.submit(runnable);
+        final AsyncQueueMetrics metrics = this.getQueueMetrics(task.getOwner());
+        metrics.onSubmit();
+        try {
+            this.executor.execute(() -> {
+                metrics.onStart();
+                try {
+                    runnable.run();
+                } finally {
+                    metrics.onComplete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Only happens once the worker pool has been shut down
+            metrics.onRejected();
+            SpongeImpl.getLogger().warn("Dropped the async task {} owned by {}: {}", task.getName(), task.getOwner(), e.getMessage());
+        }
     }
 
     @Override
@@ -138,10 +203,38 @@ protected void addTask(ScheduledTask task) {
         this.lock.lock();
         try {
             super.addTask(task);
+            this.enqueue(task, task.getTimestamp() + task.offset);
             this.condition.signalAll();
         } finally {
             this.lock.unlock();
         }
     }
 
+    private void enqueue(ScheduledTask task, long deadline) {
+        this.queue.add(new QueueEntry(task, deadline, this.entrySequence++));
+    }
+
+    private static final class QueueEntry {
+
+        // Order by deadline, with the insertion order breaking ties. Deadlines
+        // are compared by difference as System.nanoTime() may overflow.
+        static final Comparator<QueueEntry> ORDER = (a, b) -> {
+            final long diff = a.deadline - b.deadline;
+            if (diff != 0) {
+                return diff < 0 ? -1 : 1;
+            }
+            return Long.compare(a.sequence, b.sequence);
+        };
+
+        final ScheduledTask task;
+        final long deadline;
+        final long sequence;
+
+        QueueEntry(ScheduledTask task, long deadline, long sequence) {
+            this.task = task;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+    }
+
 }
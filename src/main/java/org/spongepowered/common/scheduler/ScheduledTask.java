@@ -45,6 +45,7 @@ public class ScheduledTask implements Task {
     final long period; //nanoseconds or ticks
     final boolean delayIsTicks;
     final boolean intervalIsTicks;
+    final boolean deferrable;
     private final PluginContainer owner;
     private final Consumer<Task> consumer;
     private long timestamp;
@@ -54,6 +55,8 @@ public class ScheduledTask implements Task {
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
     private Timing taskTimer;
+    // How late, in nanoseconds, the task was when it was last dispatched.
+    long dispatchLag;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -82,13 +85,14 @@ public enum ScheduledTaskState {
     }
 
     ScheduledTask(TaskSynchronicity syncType, Consumer<Task> task, String taskName, long delay, boolean delayIsTicks, long interval,
-            boolean intervalIsTicks, PluginContainer pluginContainer) {
+            boolean intervalIsTicks, boolean deferrable, PluginContainer pluginContainer) {
         // All tasks begin waiting.
         this.setState(ScheduledTaskState.WAITING);
         this.offset = delay;
         this.delayIsTicks = delayIsTicks;
         this.period = interval;
         this.intervalIsTicks = intervalIsTicks;
+        this.deferrable = deferrable;
         this.owner = pluginContainer;
         this.consumer = task;
         this.id = UUID.randomUUID();
@@ -102,6 +106,7 @@ public enum ScheduledTaskState {
                 .add("owner", this.owner)
                 .add("id", this.id)
                 .add("isAsync", this.isAsynchronous())
+                .add("isDeferrable", this.deferrable)
                 .toString();
     }
 
@@ -174,6 +179,20 @@ long nextExecutionTimestamp() {
         return this.timestamp + this.offset;
     }
 
+    /**
+     * Gets the execution time, in nanoseconds, above which an execution of
+     * this task is considered an overrun. A value of zero means executions
+     * never overrun.
+     *
+     * @return The overrun threshold in nanoseconds
+     */
+    long getOverrunThreshold() {
+        if (this.period > 0) {
+            return this.intervalIsTicks ? this.period * SpongeScheduler.TICK_DURATION_NS : this.period;
+        }
+        return this.isAsynchronous() ? 0L : SpongeScheduler.TICK_DURATION_NS;
+    }
+
     void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
@@ -26,6 +26,7 @@
 
 import co.aikar.timings.Timing;
 import org.spongepowered.common.relocate.co.aikar.timings.TimingsManager;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.spongepowered.api.Sponge;
@@ -46,6 +47,7 @@ abstract class SchedulerBase {
 
     // The simple queue of all pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    private final Map<PluginContainer, TaskMetrics> taskMetrics = Maps.newConcurrentMap();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -102,6 +104,27 @@ protected Set<Task> getScheduledTasks() {
         }
     }
 
+    Map<PluginContainer, TaskMetrics> getTaskMetrics() {
+        return ImmutableMap.copyOf(this.taskMetrics);
+    }
+
+    TaskMetrics getTaskMetrics(PluginContainer plugin) {
+        return this.taskMetrics.computeIfAbsent(plugin, TaskMetrics::new);
+    }
+
+    /**
+     * Converts an amount of time obtained by subtracting two results of
+     * {@link #getTimestamp(ScheduledTask)} to nanoseconds. This must be
+     * called before the state of the task changes.
+     *
+     * @param task The task
+     * @param amount The amount in timestamp units
+     * @return The amount in nanoseconds
+     */
+    protected long toNanos(ScheduledTask task, long amount) {
+        return amount;
+    }
+
     /**
      * Process all tasks in the map.
      */
@@ -109,7 +132,7 @@ protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            this.processTasks();
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -117,6 +140,14 @@ protected final void runTick() {
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.stopTimingIfSync();
     }
 
+    /**
+     * Processes the tasks that may be due during this tick. By default every
+     * task in the task map is checked.
+     */
+    protected void processTasks() {
+        this.taskMap.values().forEach(this::processTask);
+    }
+
     /**
      * Fired when the scheduler begins to tick, before any tasks are processed.
      */
@@ -163,7 +194,9 @@ protected void processTask(ScheduledTask task) {
         // Repeating tasks get a reset-timestamp each time they are set RUNNING
         // If the task has a period of 0 (zero) this task will not repeat, and
         // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
+        final long elapsed = now - task.getTimestamp();
+        if (threshold <= elapsed) {
+            task.dispatchLag = this.toNanos(task, elapsed - threshold);
             task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
             task.setTimestamp(this.getTimestamp(task));
             startTask(task);
@@ -180,8 +213,12 @@ protected void processTask(ScheduledTask task) {
      * @param task The task to start
      */
     protected void startTask(final ScheduledTask task) {
+        final long dispatched = System.nanoTime();
+        final long dispatchLag = task.dispatchLag;
         this.executeTaskRunnable(task, () -> {
             task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            final long start = System.nanoTime();
+            boolean failed = false;
             try (final PhaseContext<?> context = createContext(task, task.getOwner());
                  final Timing timings = task.getTimingsHandler()) {
                 timings.startTimingIfSync();
@@ -191,10 +228,13 @@ protected void startTask(final ScheduledTask task) {
                 try {
                     task.getConsumer().accept(task);
                 } catch (Throwable t) {
+                    failed = true;
                     SpongeImpl.getLogger().error("The Scheduler tried to run the task {} owned by {}, but an error occured.", task.getName(),
                         task.getOwner(), t);
                 }
             }
+            this.getTaskMetrics(task.getOwner()).record(dispatchLag + (start - dispatched), System.nanoTime() - start,
+                task.getOverrunThreshold(), failed);
         });
     }
 
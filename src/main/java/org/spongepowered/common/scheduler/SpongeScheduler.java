@@ -43,6 +43,7 @@
 import org.spongepowered.common.interfaces.entity.player.IMixinInventoryPlayer;
 
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -182,6 +183,16 @@ void submit(ScheduledTask task) {
         getDelegate(task).addTask(task);
     }
 
+    /**
+     * Gets the number of deferrable synchronous tasks that are due but have
+     * been carried over because the tick budget was spent.
+     *
+     * @return The number of deferred sync tasks
+     */
+    public int getDeferredSyncTaskCount() {
+        return this.syncScheduler.getDeferredTaskCount();
+    }
+
     /**
      * Ticks the synchronous scheduler.
      */
@@ -198,6 +209,79 @@ public void tickSyncScheduler() {
         }
     }
 
+    /**
+     * Gets the worker queue metrics of the asynchronous tasks of every plugin
+     * that has scheduled an asynchronous task so far.
+     *
+     * @return The async queue metrics, by plugin
+     */
+    public Map<PluginContainer, AsyncQueueMetrics> getAsyncQueueMetrics() {
+        return this.asyncScheduler.getQueueMetrics();
+    }
+
+    /**
+     * Gets the worker queue metrics of the asynchronous tasks of the given
+     * plugin.
+     *
+     * @param plugin The plugin
+     * @return The async queue metrics
+     */
+    public AsyncQueueMetrics getAsyncQueueMetrics(PluginContainer plugin) {
+        return this.asyncScheduler.getQueueMetrics(checkNotNull(plugin, "plugin"));
+    }
+
+    /**
+     * Gets the number of worker threads currently started for asynchronous
+     * tasks.
+     *
+     * @return The number of async worker threads
+     */
+    public int getAsyncWorkerThreads() {
+        return this.asyncScheduler.getWorkerThreads();
+    }
+
+    /**
+     * Gets the total number of asynchronous tasks that are waiting for a free
+     * worker thread.
+     *
+     * @return The async worker queue depth
+     */
+    public int getAsyncQueueDepth() {
+        return this.asyncScheduler.getQueueDepth();
+    }
+
+    /**
+     * Gets the execution metrics of the tasks of every plugin that has run a
+     * task on the synchronous or asynchronous scheduler so far.
+     *
+     * @param async Whether to get the metrics of the asynchronous scheduler
+     * @return The task metrics, by plugin
+     */
+    public Map<PluginContainer, TaskMetrics> getTaskMetrics(boolean async) {
+        return getDelegate(async ? ScheduledTask.TaskSynchronicity.ASYNCHRONOUS : ScheduledTask.TaskSynchronicity.SYNCHRONOUS).getTaskMetrics();
+    }
+
+    /**
+     * Gets the execution metrics of the tasks of the given plugin on the
+     * synchronous or asynchronous scheduler.
+     *
+     * @param plugin The plugin
+     * @param async Whether to get the metrics of the asynchronous scheduler
+     * @return The task metrics
+     */
+    public TaskMetrics getTaskMetrics(PluginContainer plugin, boolean async) {
+        return getDelegate(async ? ScheduledTask.TaskSynchronicity.ASYNCHRONOUS : ScheduledTask.TaskSynchronicity.SYNCHRONOUS)
+                .getTaskMetrics(checkNotNull(plugin, "plugin"));
+    }
+
+    /**
+     * Resets the task metrics of every plugin on both schedulers.
+     */
+    public void resetTaskMetrics() {
+        this.syncScheduler.getTaskMetrics().values().forEach(TaskMetrics::reset);
+        this.asyncScheduler.getTaskMetrics().values().forEach(TaskMetrics::reset);
+    }
+
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
         return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
     }
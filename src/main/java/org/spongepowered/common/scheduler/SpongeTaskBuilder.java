@@ -30,6 +30,7 @@
 
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.common.SpongeImpl;
 
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -44,6 +45,7 @@ public class SpongeTaskBuilder implements Task.Builder {
     private long interval; //nanoseconds or ticks
     private boolean delayIsTicks;
     private boolean intervalIsTicks;
+    private boolean deferrable;
 
     public SpongeTaskBuilder(SpongeScheduler scheduler) {
         this.scheduler = scheduler;
@@ -94,6 +96,20 @@ public Task.Builder intervalTicks(long interval) {
         return this;
     }
 
+    /**
+     * Marks the task as deferrable. When the synchronous scheduler runs with
+     * a tick budget, deferrable tasks that become due after the budget has
+     * been spent are carried over to a following tick. This has no effect on
+     * asynchronous tasks.
+     *
+     * @param deferrable Whether the task is deferrable
+     * @return This builder, for chaining
+     */
+    public Task.Builder deferrable(boolean deferrable) {
+        this.deferrable = deferrable;
+        return this;
+    }
+
     @Override
     public Task.Builder name(String name) {
         checkArgument(checkNotNull(name, "name").length() > 0, "Name cannot be empty");
@@ -120,7 +136,10 @@ public Task submit(Object plugin) {
             interval = intervalIsTicks ? interval * SpongeScheduler.TICK_DURATION_NS : interval;
             delayIsTicks = intervalIsTicks = false;
         }
-        ScheduledTask task = new ScheduledTask(this.syncType, this.consumer, name, delay, delayIsTicks, interval, intervalIsTicks, pluginContainer);
+        boolean deferrable = this.syncType == ScheduledTask.TaskSynchronicity.SYNCHRONOUS && (this.deferrable
+                || SpongeImpl.getGlobalConfig().getConfig().getScheduler().getDeferrablePlugins().contains(pluginContainer.getId()));
+        ScheduledTask task = new ScheduledTask(this.syncType, this.consumer, name, delay, delayIsTicks, interval, intervalIsTicks, deferrable,
+                pluginContainer);
         this.scheduler.submit(task);
         return task;
     }
@@ -132,6 +151,7 @@ public Task.Builder from(Task value) {
         this.interval = value.getInterval();
         this.delay = value.getDelay();
         this.delayIsTicks = false;
+        this.deferrable = value instanceof ScheduledTask && ((ScheduledTask) value).deferrable;
         this.name = value.getName();
         return this;
     }
@@ -143,6 +163,7 @@ public Task.Builder reset() {
         this.interval = 0;
         this.delay = 0;
         this.delayIsTicks = false;
+        this.deferrable = false;
         this.name = null;
         return this;
     }
@@ -25,28 +25,53 @@
 package org.spongepowered.common.scheduler;
 
 import org.spongepowered.api.Sponge;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
 import javax.annotation.Nullable;
 
 public class SyncScheduler extends SchedulerBase {
 
     // The number of ticks elapsed since this scheduler began.
     private volatile long counter = 0L;
+    // The time at which the current server tick started, and the budget and
+    // maximum carry over of deferrable tasks, read once per tick.
+    private long tickStart;
+    private long tickBudget;
+    private long maxDeferredTicks;
+    // Deferrable tasks that are due but did not fit in the budget of the tick
+    // they became due in, oldest first.
+    private final PriorityQueue<DeferredTask> deferredTasks = new PriorityQueue<>(DeferredTask.ORDER);
+    private long deferSequence;
 
     SyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.SYNCHRONOUS);
     }
 
     /**
-     * The hook to update the Ticks known by the SyncScheduler.
+     * The hook to update the Ticks known by the SyncScheduler, called at the
+     * start of every server tick. The tick budget of deferrable tasks is
+     * measured from here.
      */
     void tick() {
+        this.tickStart = System.nanoTime();
+        final SchedulerCategory config = SpongeImpl.getGlobalConfig().getConfig().getScheduler();
+        this.tickBudget = TimeUnit.MILLISECONDS.toNanos(config.getSyncTickBudget());
+        this.maxDeferredTicks = config.getSyncMaxDeferredTicks();
         this.counter++;
         this.runTick();
     }
 
+    int getDeferredTaskCount() {
+        return this.deferredTasks.size();
+    }
+
     @Override
     protected long getTimestamp(ScheduledTask task) {
         if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
@@ -65,6 +90,53 @@ protected long getTimestamp(ScheduledTask task) {
         return 0L;
     }
 
+    @Override
+    protected long toNanos(ScheduledTask task, long amount) {
+        final boolean ticks = task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.delayIsTicks : task.intervalIsTicks;
+        return ticks ? amount * SpongeScheduler.TICK_DURATION_NS : amount;
+    }
+
+    @Override
+    protected void processTasks() {
+        super.processTasks();
+        this.runDeferredTasks();
+    }
+
+    @Override
+    protected void startTask(ScheduledTask task) {
+        if (task.deferrable && this.tickBudget > 0) {
+            // Queue the task, it is started in runDeferredTasks once all
+            // non deferrable tasks of this tick have run.
+            this.deferredTasks.add(new DeferredTask(task, this.counter, System.nanoTime(), this.deferSequence++));
+            return;
+        }
+        super.startTask(task);
+    }
+
+    /**
+     * Runs deferred tasks, oldest first, for as long as the current tick is
+     * within its budget. Tasks that have been carried over for too many ticks
+     * run regardless of the budget.
+     */
+    private void runDeferredTasks() {
+        DeferredTask deferred;
+        while ((deferred = this.deferredTasks.peek()) != null) {
+            if (this.tickBudget > 0 && System.nanoTime() - this.tickStart >= this.tickBudget
+                    && this.counter - deferred.tick < this.maxDeferredTicks) {
+                break;
+            }
+            this.deferredTasks.poll();
+            final ScheduledTask task = deferred.task;
+            if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                continue;
+            }
+            // The period of a repeating task starts once it actually runs.
+            task.setTimestamp(this.getTimestamp(task));
+            task.dispatchLag += System.nanoTime() - deferred.deferredAt;
+            super.startTask(task);
+        }
+    }
+
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         try (BasicPluginContext context = createContext(task)) {
@@ -81,4 +153,22 @@ private BasicPluginContext createContext(ScheduledTask task) {
                 .source(task) : null;
     }
 
+    private static final class DeferredTask {
+
+        static final Comparator<DeferredTask> ORDER = Comparator.<DeferredTask>comparingLong(deferred -> deferred.tick)
+                .thenComparingLong(deferred -> deferred.sequence);
+
+        final ScheduledTask task;
+        final long tick;
+        final long deferredAt;
+        final long sequence;
+
+        DeferredTask(ScheduledTask task, long tick, long deferredAt, long sequence) {
+            this.task = task;
+            this.tick = tick;
+            this.deferredAt = deferredAt;
+            this.sequence = sequence;
+        }
+    }
+
 }
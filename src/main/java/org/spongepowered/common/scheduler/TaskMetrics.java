@@ -0,0 +1,108 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.base.MoreObjects;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.util.metric.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Always-on execution statistics of the tasks owned by a single plugin on a
+ * single scheduler.
+ *
+ * <p>The schedule lag is the time between the moment a task became due and
+ * the moment its consumer started running. An overrun is an execution that
+ * took longer than the interval of the task, or, for non repeating
+ * synchronous tasks, longer than a tick.</p>
+ */
+public final class TaskMetrics {
+
+    private final PluginContainer plugin;
+    private final LatencyHistogram lag = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+    private final LongAdder overruns = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    TaskMetrics(PluginContainer plugin) {
+        this.plugin = plugin;
+    }
+
+    void record(long lagNanos, long runNanos, long overrunThresholdNanos, boolean failed) {
+        this.lag.record(lagNanos);
+        this.runTime.record(runNanos);
+        if (overrunThresholdNanos > 0 && runNanos > overrunThresholdNanos) {
+            this.overruns.increment();
+        }
+        if (failed) {
+            this.failures.increment();
+        }
+    }
+
+    public PluginContainer getPlugin() {
+        return this.plugin;
+    }
+
+    public LatencyHistogram getLag() {
+        return this.lag;
+    }
+
+    public LatencyHistogram getRunTime() {
+        return this.runTime;
+    }
+
+    public long getExecutions() {
+        return this.runTime.getCount();
+    }
+
+    public long getOverruns() {
+        return this.overruns.sum();
+    }
+
+    public long getFailures() {
+        return this.failures.sum();
+    }
+
+    public void reset() {
+        this.lag.reset();
+        this.runTime.reset();
+        this.overruns.reset();
+        this.failures.reset();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("plugin", this.plugin.getId())
+                .add("executions", this.getExecutions())
+                .add("meanLag", this.lag.getMean())
+                .add("meanRunTime", this.runTime.getMean())
+                .add("maxRunTime", this.runTime.getMax())
+                .add("overruns", this.getOverruns())
+                .add("failures", this.getFailures())
+                .toString();
+    }
+}
@@ -33,6 +33,7 @@
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.user.UserStorageService;
+import org.spongepowered.common.entity.player.UserResolver;
 
 import java.util.Collection;
 import java.util.Locale;
@@ -83,6 +84,7 @@ public User getOrCreate(GameProfile profile) {
     }
 
     public User forceRecreateUser(GameProfile profile) {
+        UserResolver.invalidate(profile.getUniqueId());
         return UserDiscoverer.forceRecreate((com.mojang.authlib.GameProfile) profile);
     }
 
@@ -94,13 +96,15 @@ public Collection<GameProfile> getAll() {
     @Override
     public boolean delete(GameProfile profile) {
         checkState(Sponge.isServerAvailable(), "Server is not available!");
-        return UserDiscoverer.delete(checkNotNull(profile, "profile").getUniqueId());
+        UserResolver.invalidate(checkNotNull(profile, "profile").getUniqueId());
+        return UserDiscoverer.delete(profile.getUniqueId());
     }
 
     @Override
     public boolean delete(User user) {
         checkState(Sponge.isServerAvailable(), "Server is not available!");
-        return UserDiscoverer.delete(checkNotNull(user, "user").getUniqueId());
+        UserResolver.invalidate(checkNotNull(user, "user").getUniqueId());
+        return UserDiscoverer.delete(user.getUniqueId());
     }
 
     @Override
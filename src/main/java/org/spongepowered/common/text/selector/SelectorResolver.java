@@ -29,6 +29,7 @@
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.ImmutableSet;
+import net.minecraft.entity.player.EntityPlayer;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
@@ -58,6 +59,7 @@
 import org.spongepowered.api.world.Locatable;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.VecHelper;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -65,10 +67,9 @@
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
@@ -143,18 +144,78 @@ private Predicate<Entity> makeFilter() {
     }
 
     private void addDimensionFilters(final Vector3d position, List<Predicate<Entity>> filters) {
-        if (this.selector.has(ArgumentTypes.DIMENSION.x()) || 
-                this.selector.has(ArgumentTypes.DIMENSION.y()) || 
-                this.selector.has(ArgumentTypes.DIMENSION.z())) return;
+        final AABB volume = getVolume(position);
+        if (volume != null) {
+            filters.add(input -> input.getBoundingBox().map(aabb -> aabb.intersects(volume)).orElse(false));
+        }
+    }
+
+    @Nullable
+    private AABB getVolume(Vector3d position) {
+        if (!this.selector.has(ArgumentTypes.DIMENSION.x()) &&
+                !this.selector.has(ArgumentTypes.DIMENSION.y()) &&
+                !this.selector.has(ArgumentTypes.DIMENSION.z())) {
+            return null;
+        }
 
         Integer x = this.selector.get(ArgumentTypes.DIMENSION.x()).orElse(0);
         Integer y = this.selector.get(ArgumentTypes.DIMENSION.y()).orElse(0);
         Integer z = this.selector.get(ArgumentTypes.DIMENSION.z()).orElse(0);
-        AABB axisalignedbb = getAABB(this.position.toInt(), x, y, z);
+        return getAABB(position.toInt(), x, y, z);
+    }
 
-        if (this.entityOrigin != null) {
-            filters.add(input -> this.entityOrigin.getBoundingBox().map(aabb -> aabb.intersects(axisalignedbb)).orElse(false));
+    /**
+     * Gets the box that every selected entity has to intersect, from the
+     * maximum radius and the volume of the selector, if any of them is set.
+     *
+     * @return The bounds of the selected entities, or null if unbounded
+     */
+    @Nullable
+    private AABB getBounds() {
+        final Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        AABB bounds = getVolume(position);
+        final Optional<Integer> radiusMax = this.selector.get(ArgumentTypes.RADIUS.maximum());
+        if (radiusMax.isPresent()) {
+            final double radius = Math.max(radiusMax.get(), 1.0E-4D);
+            final Vector3d min = position.sub(radius, radius, radius);
+            final Vector3d max = position.add(radius, radius, radius);
+            if (bounds == null) {
+                bounds = new AABB(min, max);
+            } else {
+                final Vector3d intersectionMin = bounds.getMin().max(min);
+                final Vector3d intersectionMax = bounds.getMax().min(max);
+                if (intersectionMin.getX() < intersectionMax.getX() && intersectionMin.getY() < intersectionMax.getY()
+                        && intersectionMin.getZ() < intersectionMax.getZ()) {
+                    bounds = new AABB(intersectionMin, intersectionMax);
+                } else {
+                    // Nothing can be within both, the filters will reject whatever is within the radius
+                    bounds = new AABB(min, max);
+                }
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * Gets the entity class every selected entity is an instance of, to look
+     * up the entities through the class index of the chunks.
+     *
+     * @return The entity class of the selected entities
+     */
+    private Class<? extends net.minecraft.entity.Entity> getEntityClass() {
+        final SelectorType selectorType = this.selector.getType();
+        final Optional<Argument.Invertible<EntityType>> typeOpt = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        final boolean untypedRandom = selectorType == SelectorTypes.RANDOM && !typeOpt.isPresent();
+        if (selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER || untypedRandom) {
+            return EntityPlayer.class;
+        }
+        if (typeOpt.isPresent() && !typeOpt.get().isInverted()) {
+            final Class<?> entityClass = typeOpt.get().getValue().getEntityClass();
+            if (net.minecraft.entity.Entity.class.isAssignableFrom(entityClass)) {
+                return entityClass.asSubclass(net.minecraft.entity.Entity.class);
+            }
         }
+        return net.minecraft.entity.Entity.class;
     }
 
     private void addGamemodeFilters(List<Predicate<Entity>> filters) {
@@ -331,30 +392,84 @@ public ImmutableSet<Entity> resolve() {
         int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
         boolean isReversed = maxToSelect < 0;
         maxToSelect = Math.abs(maxToSelect);
-        Set<? extends Extent> extents = getExtentSet();
-        Stream<Entity> entityStream = extents.stream()
-                .flatMap(ext -> ext.getEntities().stream())
-                .filter(this.selectorFilter);
+        final List<Entity> entities = new ArrayList<>();
+        final AABB bounds = getBounds();
+        final Class<? extends net.minecraft.entity.Entity> entityClass = getEntityClass();
+        for (Extent extent : getExtentSet()) {
+            collectEntities(extent, bounds, entityClass, entities);
+        }
 
         if (maxToSelect == 0) {
-            return entityStream.sorted(distanceSort(isReversed))
-                    .collect(ImmutableSet.toImmutableSet());
+            entities.sort(distanceSort(isReversed));
+            return ImmutableSet.copyOf(entities);
         }
 
         if (selectorType == SelectorTypes.RANDOM) {
-            List<Entity> holder = entityStream.collect(Collectors.toList());
-            if (holder.isEmpty()) return ImmutableSet.of();
+            if (entities.isEmpty()) return ImmutableSet.of();
 
-            Collections.shuffle(holder);
-            return ImmutableSet.copyOf(holder.subList(0, maxToSelect));
+            Collections.shuffle(entities);
+            return ImmutableSet.copyOf(entities.subList(0, maxToSelect));
         }
 
-        return entityStream.sorted(distanceSort(isReversed))
-                .limit(maxToSelect)
-                .collect(ImmutableSet.toImmutableSet());
+        return ImmutableSet.copyOf(selectFirst(entities, distanceSort(isReversed), maxToSelect));
+    }
+
+    private void collectEntities(Extent extent, @Nullable AABB bounds, Class<? extends net.minecraft.entity.Entity> entityClass,
+            List<Entity> entities) {
+        if (extent instanceof net.minecraft.world.World) {
+            final net.minecraft.world.World world = (net.minecraft.world.World) extent;
+            if (bounds != null) {
+                // Only looks into the chunks around the bounds, through their entity class index
+                for (net.minecraft.entity.Entity entity : world.getEntitiesWithinAABB(entityClass, VecHelper.toMinecraftAABB(bounds),
+                        entity -> this.selectorFilter.test((Entity) entity))) {
+                    entities.add((Entity) entity);
+                }
+                return;
+            }
+            final List<? extends net.minecraft.entity.Entity> candidates = EntityPlayer.class.isAssignableFrom(entityClass)
+                    ? world.playerEntities
+                    : world.loadedEntityList;
+            for (net.minecraft.entity.Entity entity : candidates) {
+                if (entityClass.isInstance(entity) && this.selectorFilter.test((Entity) entity)) {
+                    entities.add((Entity) entity);
+                }
+            }
+            return;
+        }
+        if (bounds != null) {
+            entities.addAll(extent.getIntersectingEntities(bounds, this.selectorFilter));
+        } else {
+            entities.addAll(extent.getEntities(this.selectorFilter));
+        }
+    }
+
+    /**
+     * Selects the first entities in the order of the comparator, keeping only
+     * that many entities at a time instead of sorting all of them.
+     *
+     * @param entities The entities to select from
+     * @param comparator The order of the entities
+     * @param count The amount of entities to select
+     * @return The selected entities, in order
+     */
+    private static List<Entity> selectFirst(List<Entity> entities, Comparator<Entity> comparator, int count) {
+        if (entities.size() <= count) {
+            entities.sort(comparator);
+            return entities;
+        }
+        final PriorityQueue<Entity> queue = new PriorityQueue<>(count + 1, comparator.reversed());
+        for (Entity entity : entities) {
+            queue.offer(entity);
+            if (queue.size() > count) {
+                queue.poll();
+            }
+        }
+        final List<Entity> selected = new ArrayList<>(queue);
+        selected.sort(comparator);
+        return selected;
     }
 
-    private Comparator<? super Entity> distanceSort(boolean isReversed) {
+    private Comparator<Entity> distanceSort(boolean isReversed) {
         Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
         int multiplier = isReversed ? -1 : 1;
         return (a, b) -> {
@@ -30,6 +30,8 @@
 public class QueuedChunk {
     public ChunkPos coords;
     public NBTTagCompound compound;
+    // The number of batches in a row this chunk failed to be written in
+    public int failedWrites;
 
     public QueuedChunk(ChunkPos coords, NBTTagCompound compound) {
         this.coords = coords;
@@ -0,0 +1,132 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.interfaces.IMixinChunk;
+
+import java.util.PriorityQueue;
+
+import javax.annotation.Nullable;
+
+/**
+ * Chunks queued for unload, ordered by the time they become eligible to
+ * unload so that a tick only touches chunks that are actually due.
+ *
+ * <p>Entries are not removed when a chunk is re-activated (which clears
+ * {@link Chunk#unloadQueued}) or persisted, instead they are dropped when
+ * they reach the head of the queue. A chunk is only ever in the queue
+ * once.</p>
+ */
+public final class ChunkUnloadQueue {
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private long sequence;
+
+    /**
+     * Adds the chunk to the queue if it isn't queued already.
+     *
+     * @param chunk The chunk that was marked for unload
+     * @param now The current time in milliseconds
+     */
+    public void add(Chunk chunk, long now) {
+        final IMixinChunk mixinChunk = (IMixinChunk) chunk;
+        if (mixinChunk.isInUnloadQueue()) {
+            return;
+        }
+        mixinChunk.setInUnloadQueue(true);
+        this.queue.add(new Entry(chunk, now, this.sequence++));
+    }
+
+    /**
+     * Removes and returns the next chunk that is still marked for unload and
+     * whose unload delay has elapsed. Chunks that have been re-activated are
+     * dropped, chunks that were rescheduled are put back with their new time.
+     *
+     * @param now The current time in milliseconds
+     * @param unloadDelay The unload delay in milliseconds, or 0 for none
+     * @return The next chunk to unload, or null if none is due
+     */
+    @Nullable
+    public Chunk pollDue(long now, long unloadDelay) {
+        Entry head;
+        while ((head = this.queue.peek()) != null && head.due <= now) {
+            this.queue.poll();
+            final Chunk chunk = head.chunk;
+            final IMixinChunk mixinChunk = (IMixinChunk) chunk;
+            if (!chunk.unloadQueued) {
+                mixinChunk.setInUnloadQueue(false);
+                continue;
+            }
+            if (mixinChunk.isPersistedChunk()) {
+                // Unmark the chunk, so that it's queued again by the chunk GC once it stops being persisted
+                chunk.unloadQueued = false;
+                mixinChunk.setInUnloadQueue(false);
+                continue;
+            }
+            final long due = getDueTime(head.queued, mixinChunk.getScheduledForUnload(), unloadDelay);
+            if (due > now) {
+                head.due = due;
+                this.queue.add(head);
+                continue;
+            }
+            mixinChunk.setInUnloadQueue(false);
+            return chunk;
+        }
+        return null;
+    }
+
+    public int size() {
+        return this.queue.size();
+    }
+
+    private static long getDueTime(long queued, long scheduledForUnload, long unloadDelay) {
+        if (unloadDelay <= 0 || scheduledForUnload == -1) {
+            return queued;
+        }
+        return Math.max(queued, scheduledForUnload + unloadDelay);
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        final Chunk chunk;
+        final long queued;
+        final long sequence;
+        long due;
+
+        Entry(Chunk chunk, long queued, long sequence) {
+            this.chunk = chunk;
+            this.queued = queued;
+            this.sequence = sequence;
+            this.due = queued;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            final int compare = Long.compare(this.due, other.due);
+            return compare != 0 ? compare : Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.flowpowered.math.vector.Vector3d;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.world.explosion.Explosion;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.ExplosionCoalescingCategory;
+import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the explosions of primed TNT detonating during the entity tick of
+ * a world, merging those close to each other, and triggers them once the
+ * entities of the world have been ticked.
+ */
+public final class ExplosionCoalescer {
+
+    private final List<Group> groups = new ArrayList<>();
+
+    /**
+     * Adds an explosion to trigger at the end of the entity tick, merging it
+     * with a previously added explosion within the merge distance if the
+     * merged radius stays within the configured maximum.
+     *
+     * @param explosion The explosion
+     */
+    public void add(Explosion explosion) {
+        final ExplosionCoalescingCategory config = SpongeImpl.getGlobalConfig().getConfig().getOptimizations()
+                .getExplosionCoalescingCategory();
+        this.add(explosion, config.getMergeDistance(), config.getMaxRadius());
+    }
+
+    void add(Explosion explosion, double mergeDistance, float maxRadius) {
+        final double mergeDistanceSq = mergeDistance * mergeDistance;
+        final Vector3d position = explosion.getLocation().getPosition();
+        for (Group group : this.groups) {
+            if (group.canMerge(explosion)
+                    && group.radius + explosion.getRadius() <= maxRadius
+                    && group.explosion.getLocation().getPosition().distanceSquared(position) <= mergeDistanceSq) {
+                group.radius += explosion.getRadius();
+                group.merged++;
+                return;
+            }
+        }
+        this.groups.add(new Group(explosion));
+    }
+
+    /**
+     * Triggers the collected explosions, each group of merged explosions
+     * being triggered as a single explosion with their summed radius.
+     *
+     * @param world The world of the explosions
+     */
+    public void flush(IMixinWorldServer world) {
+        if (this.groups.isEmpty()) {
+            return;
+        }
+        for (Group group : this.drain()) {
+            final Explosion explosion = group.merged == 1
+                    ? group.explosion
+                    : Explosion.builder().from(group.explosion).radius(group.radius).build();
+            try (final CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+                explosion.getSourceExplosive().ifPresent(frame::pushCause);
+                world.triggerInternalExplosion(explosion, e -> GeneralPhase.State.EXPLOSION.createPhaseContext().explosion(e));
+            }
+        }
+    }
+
+    // Copied as the triggered explosions may prime and detonate more TNT
+    List<Group> drain() {
+        final List<Group> groups = new ArrayList<>(this.groups);
+        this.groups.clear();
+        return groups;
+    }
+
+    static final class Group {
+
+        final Explosion explosion;
+        float radius;
+        int merged = 1;
+
+        Group(Explosion explosion) {
+            this.explosion = explosion;
+            this.radius = explosion.getRadius();
+        }
+
+        boolean canMerge(Explosion explosion) {
+            return this.explosion.canCauseFire() == explosion.canCauseFire()
+                    && this.explosion.shouldBreakBlocks() == explosion.shouldBreakBlocks()
+                    && this.explosion.shouldDamageEntities() == explosion.shouldDamageEntities()
+                    && this.explosion.shouldPlaySmoke() == explosion.shouldPlaySmoke();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The block densities computed by explosions during the current tick,
+ * keyed on the explosion position and the bounding box of the entity, so
+ * that explosions at the same location, such as stacked TNT, don't trace
+ * the same rays against the same entities again.
+ *
+ * <p>Blocks destroyed by an earlier explosion of the same tick are not
+ * seen by later ones, which is why this is only used when enabled in the
+ * optimization config.</p>
+ */
+public final class ExplosionExposureCache {
+
+    private final Map<Key, Float> densities = new HashMap<>();
+    private int lastTick = -1;
+
+    /**
+     * Gets the block density between the explosion and the bounding box,
+     * computing it if no explosion at the same position requested it for
+     * the same box during this tick.
+     *
+     * @param world The world of the explosion
+     * @param explosion The explosion position
+     * @param boundingBox The entity bounding box
+     * @return The block density
+     */
+    public float getBlockDensity(World world, Vec3d explosion, AxisAlignedBB boundingBox) {
+        return this.getBlockDensity(SpongeImpl.getServer().getTickCounter(), world, explosion, boundingBox);
+    }
+
+    float getBlockDensity(int currentTick, World world, Vec3d explosion, AxisAlignedBB boundingBox) {
+        if (this.lastTick != currentTick) {
+            this.lastTick = currentTick;
+            this.densities.clear();
+        }
+        final Key key = new Key(explosion, boundingBox);
+        final Float density = this.densities.get(key);
+        if (density != null) {
+            return density;
+        }
+        final float computed = world.getBlockDensity(explosion, boundingBox);
+        this.densities.put(key, computed);
+        return computed;
+    }
+
+    private static final class Key {
+
+        private final double x;
+        private final double y;
+        private final double z;
+        private final double minX;
+        private final double minY;
+        private final double minZ;
+        private final double maxX;
+        private final double maxY;
+        private final double maxZ;
+        private final int hash;
+
+        Key(Vec3d explosion, AxisAlignedBB boundingBox) {
+            this.x = explosion.x;
+            this.y = explosion.y;
+            this.z = explosion.z;
+            this.minX = boundingBox.minX;
+            this.minY = boundingBox.minY;
+            this.minZ = boundingBox.minZ;
+            this.maxX = boundingBox.maxX;
+            this.maxY = boundingBox.maxY;
+            this.maxZ = boundingBox.maxZ;
+            int hash = Double.hashCode(this.x);
+            hash = 31 * hash + Double.hashCode(this.y);
+            hash = 31 * hash + Double.hashCode(this.z);
+            hash = 31 * hash + Double.hashCode(this.minX);
+            hash = 31 * hash + Double.hashCode(this.minY);
+            hash = 31 * hash + Double.hashCode(this.minZ);
+            hash = 31 * hash + Double.hashCode(this.maxX);
+            hash = 31 * hash + Double.hashCode(this.maxY);
+            hash = 31 * hash + Double.hashCode(this.maxZ);
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return this.x == other.x && this.y == other.y && this.z == other.z
+                    && this.minX == other.minX && this.minY == other.minY && this.minZ == other.minZ
+                    && this.maxX == other.maxX && this.maxY == other.maxY && this.maxZ == other.maxZ;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.Packet;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import org.spongepowered.common.network.PacketBroadcaster;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * The players of a world by the chunk they are in, kept up to date as they
+ * move between chunks, to find the recipients of packets broadcast around
+ * a position without going through every player of the server.
+ */
+public final class PlayerChunkIndex {
+
+    private static final long NOT_INDEXED = Long.MIN_VALUE;
+
+    private final Long2ObjectMap<List<EntityPlayerMP>> playersByChunk = new Long2ObjectOpenHashMap<>();
+    private final Reference2LongMap<EntityPlayerMP> chunkByPlayer = new Reference2LongOpenHashMap<>();
+
+    public PlayerChunkIndex() {
+        this.chunkByPlayer.defaultReturnValue(NOT_INDEXED);
+    }
+
+    /**
+     * Indexes the player in the chunk, removing it from the chunk it was
+     * previously indexed in.
+     *
+     * @param player The player
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     */
+    public void add(EntityPlayerMP player, int chunkX, int chunkZ) {
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        final long previous = this.chunkByPlayer.put(player, key);
+        if (previous == key) {
+            return;
+        }
+        if (previous != NOT_INDEXED) {
+            this.removeFromChunk(player, previous);
+        }
+        this.playersByChunk.computeIfAbsent(key, k -> new ArrayList<>(1)).add(player);
+    }
+
+    /**
+     * Removes the player from the index if it is indexed in the chunk.
+     *
+     * @param player The player
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     */
+    public void remove(EntityPlayerMP player, int chunkX, int chunkZ) {
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        if (this.chunkByPlayer.getLong(player) == key) {
+            this.chunkByPlayer.removeLong(player);
+            this.removeFromChunk(player, key);
+        }
+    }
+
+    public void remove(EntityPlayerMP player) {
+        final long previous = this.chunkByPlayer.removeLong(player);
+        if (previous != NOT_INDEXED) {
+            this.removeFromChunk(player, previous);
+        }
+    }
+
+    private void removeFromChunk(EntityPlayerMP player, long key) {
+        final List<EntityPlayerMP> players = this.playersByChunk.get(key);
+        if (players != null && players.remove(player) && players.isEmpty()) {
+            this.playersByChunk.remove(key);
+        }
+    }
+
+    /**
+     * Gets the players closer than the radius to the position, in the same
+     * way as {@link net.minecraft.server.management.PlayerList#sendToAllNearExcept}.
+     * Players without a connection are left out.
+     *
+     * @param except The player to leave out, if any
+     * @param x The x position
+     * @param y The y position
+     * @param z The z position
+     * @param radius The radius
+     * @return The players near the position
+     */
+    public List<EntityPlayerMP> getPlayersNear(@Nullable EntityPlayer except, double x, double y, double z, double radius) {
+        if (this.chunkByPlayer.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<EntityPlayerMP> recipients = new ArrayList<>();
+        final double radiusSq = radius * radius;
+        // Players are indexed in the chunk they were in when last updated, so look one chunk further
+        final int minX = (MathHelper.floor(x - radius) >> 4) - 1;
+        final int maxX = (MathHelper.floor(x + radius) >> 4) + 1;
+        final int minZ = (MathHelper.floor(z - radius) >> 4) - 1;
+        final int maxZ = (MathHelper.floor(z + radius) >> 4) + 1;
+        final long chunks = ((long) maxX - minX + 1) * ((long) maxZ - minZ + 1);
+        if (chunks > this.playersByChunk.size()) {
+            // Cheaper to go through the occupied chunks than every chunk in range
+            for (List<EntityPlayerMP> players : this.playersByChunk.values()) {
+                addPlayersNear(players, except, x, y, z, radiusSq, recipients);
+            }
+        } else {
+            for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+                for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++) {
+                    final List<EntityPlayerMP> players = this.playersByChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+                    if (players != null) {
+                        addPlayersNear(players, except, x, y, z, radiusSq, recipients);
+                    }
+                }
+            }
+        }
+        return recipients;
+    }
+
+    private static void addPlayersNear(List<EntityPlayerMP> players, @Nullable EntityPlayer except, double x, double y, double z,
+            double radiusSq, List<EntityPlayerMP> recipients) {
+        for (int i = 0; i < players.size(); i++) {
+            final EntityPlayerMP player = players.get(i);
+            // Fake players of mods may be in the world without a connection
+            if (player == except || player.connection == null) {
+                continue;
+            }
+            final double dx = x - player.posX;
+            final double dy = y - player.posY;
+            final double dz = z - player.posZ;
+            if (dx * dx + dy * dy + dz * dz < radiusSq) {
+                recipients.add(player);
+            }
+        }
+    }
+
+    /**
+     * Sends the packet to the players closer than the radius to the
+     * position.
+     *
+     * @param except The player to leave out, if any
+     * @param x The x position
+     * @param y The y position
+     * @param z The z position
+     * @param radius The radius
+     * @param packet The packet to send
+     */
+    public void sendToAllNearExcept(@Nullable EntityPlayer except, double x, double y, double z, double radius, Packet<?> packet) {
+        final List<EntityPlayerMP> players = this.getPlayersNear(except, x, y, z, radius);
+        if (!players.isEmpty()) {
+            PacketBroadcaster.sendToAll(players, packet);
+        }
+    }
+
+    /**
+     * Sends the packets to the players closer than the radius to the
+     * position, looking them up once for all of the packets.
+     *
+     * @param except The player to leave out, if any
+     * @param x The x position
+     * @param y The y position
+     * @param z The z position
+     * @param radius The radius
+     * @param packets The packets to send
+     */
+    public void sendToAllNearExcept(@Nullable EntityPlayer except, double x, double y, double z, double radius, List<Packet<?>> packets) {
+        final List<EntityPlayerMP> players = this.getPlayersNear(except, x, y, z, radius);
+        if (players.isEmpty()) {
+            return;
+        }
+        for (Packet<?> packet : packets) {
+            PacketBroadcaster.sendToAll(players, packet);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.booleans.BooleanArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The chunks within view distance of the players of a world, with the
+ * players each chunk is close to, built once per tick and shared by entity
+ * activation, tile entity activation and the world entity spawner instead
+ * of each of them sweeping the chunks around every player.
+ */
+public final class PlayerProximityGrid {
+
+    private final Long2ObjectOpenHashMap<Cell> cellsByChunk = new Long2ObjectOpenHashMap<>();
+    private final List<Cell> cells = new ArrayList<>();
+    // Cells of previous ticks, reused to avoid reallocating them every tick
+    private final List<Cell> pool = new ArrayList<>();
+    private final List<EntityPlayer> players = new ArrayList<>();
+    private final IntArrayList playerChunkX = new IntArrayList();
+    private final IntArrayList playerChunkZ = new IntArrayList();
+    private final BooleanArrayList affectsSpawning = new BooleanArrayList();
+    private int lastTick = -1;
+
+    /**
+     * Rebuilds the grid from the current player positions, unless it was
+     * already built during this server tick.
+     *
+     * @param world The world of the grid
+     */
+    public void update(WorldServer world) {
+        this.update(SpongeImpl.getServer().getTickCounter(), ((org.spongepowered.api.world.World) world).getViewDistance(), world.playerEntities);
+    }
+
+    void update(int currentTick, int radius, List<? extends EntityPlayer> players) {
+        if (this.lastTick == currentTick) {
+            return;
+        }
+        this.lastTick = currentTick;
+        this.pool.addAll(this.cells);
+        this.cells.clear();
+        this.cellsByChunk.clear();
+        this.players.clear();
+        this.playerChunkX.clear();
+        this.playerChunkZ.clear();
+        this.affectsSpawning.clear();
+
+        for (EntityPlayer player : players) {
+            final int index = this.players.size();
+            final int playerX = MathHelper.floor(player.posX / 16.0D);
+            final int playerZ = MathHelper.floor(player.posZ / 16.0D);
+            // We treat players who do not affect spawning as "spectators"
+            final boolean spawning = ((IMixinEntityPlayer) player).affectsSpawning() && !player.isSpectator();
+            this.players.add(player);
+            this.playerChunkX.add(playerX);
+            this.playerChunkZ.add(playerZ);
+            this.affectsSpawning.add(spawning);
+
+            for (int x = playerX - radius; x <= playerX + radius; x++) {
+                for (int z = playerZ - radius; z <= playerZ + radius; z++) {
+                    final long key = ChunkPos.asLong(x, z);
+                    Cell cell = this.cellsByChunk.get(key);
+                    if (cell == null) {
+                        cell = this.pool.isEmpty() ? new Cell() : this.pool.remove(this.pool.size() - 1);
+                        cell.reset(x, z);
+                        this.cellsByChunk.put(key, cell);
+                        this.cells.add(cell);
+                    }
+                    cell.players.add(index);
+
+                    final int chunkDistance = Math.max(Math.abs(x - playerX), Math.abs(z - playerZ));
+                    final double dx = (x << 4) + 8 - player.posX;
+                    final double dz = (z << 4) + 8 - player.posZ;
+                    cell.nearestDistanceSq = Math.min(cell.nearestDistanceSq, dx * dx + dz * dz);
+                    if (spawning && chunkDistance < cell.nearestSpawnChunkDistance) {
+                        cell.nearestSpawnChunkDistance = chunkDistance;
+                        cell.nearestSpawnPlayer = index;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets every chunk within view distance of a player, whether loaded or
+     * not, each once.
+     *
+     * @return The cells of the grid
+     */
+    public List<Cell> getCells() {
+        return this.cells;
+    }
+
+    public EntityPlayer getPlayer(int index) {
+        return this.players.get(index);
+    }
+
+    public int getPlayerCount() {
+        return this.players.size();
+    }
+
+    public boolean affectsSpawning(int index) {
+        return this.affectsSpawning.getBoolean(index);
+    }
+
+    /**
+     * Gets the distance in chunks, along the furthest axis, between the
+     * player and the chunk of the cell.
+     *
+     * @param index The player index
+     * @param cell The cell
+     * @return The chunk distance
+     */
+    public int getChunkDistance(int index, Cell cell) {
+        return Math.max(Math.abs(cell.x - this.playerChunkX.getInt(index)), Math.abs(cell.z - this.playerChunkZ.getInt(index)));
+    }
+
+    public static final class Cell {
+
+        int x;
+        int z;
+        final IntArrayList players = new IntArrayList(2);
+        double nearestDistanceSq;
+        int nearestSpawnChunkDistance;
+        int nearestSpawnPlayer;
+
+        void reset(int x, int z) {
+            this.x = x;
+            this.z = z;
+            this.players.clear();
+            this.nearestDistanceSq = Double.MAX_VALUE;
+            this.nearestSpawnChunkDistance = Integer.MAX_VALUE;
+            this.nearestSpawnPlayer = -1;
+        }
+
+        public int getX() {
+            return this.x;
+        }
+
+        public int getZ() {
+            return this.z;
+        }
+
+        /**
+         * Gets the indices of the players the chunk is within view distance
+         * of.
+         *
+         * @return The player indices
+         */
+        public IntArrayList getPlayers() {
+            return this.players;
+        }
+
+        /**
+         * Gets the squared horizontal distance from the center of the chunk
+         * to the nearest player.
+         *
+         * @return The nearest player distance squared
+         */
+        public double getNearestDistanceSq() {
+            return this.nearestDistanceSq;
+        }
+
+        /**
+         * Gets the chunk distance to the nearest player that affects
+         * spawning, or {@link Integer#MAX_VALUE} if there is none.
+         *
+         * @return The nearest spawning player chunk distance
+         */
+        public int getNearestSpawnChunkDistance() {
+            return this.nearestSpawnChunkDistance;
+        }
+
+        public int getNearestSpawnPlayer() {
+            return this.nearestSpawnPlayer;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The positions of a chunk waiting for a sky or block light update, stored
+ * as one bit per block of each of the 16 sections for both light types,
+ * along with whether a relight of the chunk is scheduled.
+ *
+ * <p>Positions may be added from the main thread while a lighting thread
+ * drains them, without either of them locking.</p>
+ */
+public final class QueuedLightUpdates {
+
+    private static final int SECTIONS = 16;
+    private static final int WORDS_PER_SECTION = 4096 / Long.SIZE;
+
+    private final AtomicLongArray skyLight = new AtomicLongArray(SECTIONS * WORDS_PER_SECTION);
+    private final AtomicLongArray blockLight = new AtomicLongArray(SECTIONS * WORDS_PER_SECTION);
+    // A bit for each section that may have positions queued
+    private final AtomicInteger skyLightSections = new AtomicInteger();
+    private final AtomicInteger blockLightSections = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Gets the index of a position within its chunk, which must have a valid
+     * y coordinate.
+     *
+     * @param pos The position
+     * @return The index of the position
+     */
+    public static int getIndex(BlockPos pos) {
+        return pos.getY() << 8 | (pos.getZ() & 15) << 4 | pos.getX() & 15;
+    }
+
+    public static BlockPos getPos(int chunkX, int chunkZ, int index) {
+        return new BlockPos(chunkX << 4 | index & 15, index >>> 8, chunkZ << 4 | index >>> 4 & 15);
+    }
+
+    /**
+     * Queues a position for a light update.
+     *
+     * @param type The light type
+     * @param index The index of the position
+     * @return True if the position was not queued yet
+     */
+    public boolean add(EnumSkyBlock type, int index) {
+        final AtomicLongArray bits = type == EnumSkyBlock.SKY ? this.skyLight : this.blockLight;
+        final int word = index >>> 6;
+        final long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+        final AtomicInteger sections = type == EnumSkyBlock.SKY ? this.skyLightSections : this.blockLightSections;
+        final int section = 1 << (index >>> 12);
+        int currentSections;
+        do {
+            currentSections = sections.get();
+        } while ((currentSections & section) == 0 && !sections.compareAndSet(currentSections, currentSections | section));
+        this.size.incrementAndGet();
+        return true;
+    }
+
+    public boolean contains(EnumSkyBlock type, int index) {
+        final AtomicLongArray bits = type == EnumSkyBlock.SKY ? this.skyLight : this.blockLight;
+        return (bits.get(index >>> 6) & 1L << index) != 0;
+    }
+
+    /**
+     * Removes every queued position of a light type.
+     *
+     * @param type The light type
+     * @param indices The list to add the indices of the removed positions to
+     * @return The amount of removed positions
+     */
+    public int drain(EnumSkyBlock type, IntArrayList indices) {
+        final AtomicLongArray bits = type == EnumSkyBlock.SKY ? this.skyLight : this.blockLight;
+        int sections = (type == EnumSkyBlock.SKY ? this.skyLightSections : this.blockLightSections).getAndSet(0);
+        int drained = 0;
+        while (sections != 0) {
+            final int section = Integer.numberOfTrailingZeros(sections);
+            sections &= sections - 1;
+            final int start = section * WORDS_PER_SECTION;
+            for (int word = start; word < start + WORDS_PER_SECTION; word++) {
+                if (bits.get(word) == 0) {
+                    continue;
+                }
+                long value = bits.getAndSet(word, 0);
+                while (value != 0) {
+                    indices.add(word << 6 | Long.numberOfTrailingZeros(value));
+                    value &= value - 1;
+                    drained++;
+                }
+            }
+        }
+        this.size.addAndGet(-drained);
+        return drained;
+    }
+
+    public int size() {
+        return this.size.get();
+    }
+
+    public boolean isEmpty() {
+        return this.size.get() <= 0;
+    }
+
+    /**
+     * Marks a relight of the chunk as scheduled.
+     *
+     * @return True if no relight was scheduled yet
+     */
+    public boolean trySchedule() {
+        return this.scheduled.compareAndSet(false, true);
+    }
+
+    public void finishScheduled() {
+        this.scheduled.set(false);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.EnumCreatureType;
+import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+
+import java.util.Arrays;
+
+/**
+ * Live counts of the entities of a world that count towards the spawn cap
+ * of each {@link EnumCreatureType}, kept up to date as entities are added,
+ * removed or made persistent instead of scanning the loaded entity list
+ * every spawn tick. Anything setting {@link EntityLiving#persistenceRequired}
+ * has to call {@link #refresh(Entity)} afterwards.
+ *
+ * <p>Each entity remembers the creature types it currently contributes to,
+ * so an update only has to apply the difference.</p>
+ */
+public final class SpawnerEntityCounts {
+
+    private int[] counts = new int[EnumCreatureType.values().length];
+
+    /**
+     * Updates the counts of the world the entity is in, after its
+     * persistence changed.
+     *
+     * @param entity The entity
+     */
+    public static void refresh(Entity entity) {
+        if (entity.world instanceof IMixinWorldServer) {
+            ((IMixinWorldServer) entity.world).getSpawnerEntityCounts().update(entity);
+        }
+    }
+
+    /**
+     * Gets the amount of entities that count towards the spawn cap of the
+     * creature type.
+     *
+     * @param type The creature type
+     * @return The entity count
+     */
+    public int getCount(EnumCreatureType type) {
+        return type.ordinal() < this.counts.length ? this.counts[type.ordinal()] : 0;
+    }
+
+    /**
+     * Brings the contribution of the entity in line with its current state,
+     * called once it is added to or removed from the world.
+     *
+     * @param entity The entity
+     */
+    public void update(Entity entity) {
+        final IMixinEntity mixinEntity = EntityUtil.toMixin(entity);
+        final int previous = mixinEntity.getSpawnerCreatureTypes();
+        final int current = mixinEntity.isTrackedInWorld() && !isPersistent(entity) ? getCreatureTypes(entity) : 0;
+        if (previous == current) {
+            return;
+        }
+        this.apply(previous, -1);
+        this.apply(current, 1);
+        mixinEntity.setSpawnerCreatureTypes(current);
+    }
+
+    private void apply(int types, int delta) {
+        for (int ordinal = 0; types != 0; ordinal++, types >>>= 1) {
+            if ((types & 1) != 0) {
+                if (ordinal >= this.counts.length) {
+                    // Creature types can be added at runtime
+                    this.counts = Arrays.copyOf(this.counts, ordinal + 1);
+                }
+                this.counts[ordinal] += delta;
+            }
+        }
+    }
+
+    private static boolean isPersistent(Entity entity) {
+        return entity instanceof EntityLiving && ((EntityLiving) entity).isNoDespawnRequired();
+    }
+
+    private static int getCreatureTypes(Entity entity) {
+        int types = 0;
+        for (EnumCreatureType type : EnumCreatureType.values()) {
+            if (type.ordinal() < Integer.SIZE && type.getCreatureClass().isAssignableFrom(entity.getClass())) {
+                types |= 1 << type.ordinal();
+            }
+        }
+        return types;
+    }
+}
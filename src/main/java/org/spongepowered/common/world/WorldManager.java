@@ -73,6 +73,7 @@
 import org.spongepowered.common.interfaces.IMixinIntegratedServer;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayerMP;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.interfaces.world.IMixinDimensionType;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
@@ -80,6 +81,7 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldSettings;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.storage.SpongeRegionFileCache;
 
 import java.io.DataInputStream;
 import java.io.IOException;
@@ -529,6 +531,9 @@ public static boolean unloadWorld(WorldServer worldServer, boolean checkConfig)
                 worldByDimensionId.remove(dimensionId);
                 weakWorldByWorld.remove(worldServer);
                 ((IMixinMinecraftServer) server).removeWorldTickTimes(dimensionId);
+                if (worldServer.getChunkProvider().chunkLoader instanceof IMixinAnvilChunkLoader) {
+                    SpongeRegionFileCache.invalidateHeaders(((IMixinAnvilChunkLoader) worldServer.getChunkProvider().chunkLoader).getWorldDir().toFile());
+                }
                 SpongeImpl.getLogger().info("Unloading world [{}] (DIM{})", worldServer.getWorldInfo().getWorldName(), dimensionId);
                 reorderWorldsVanillaFirst();
             }
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraft.world.gen.IChunkGenerator;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.TerrainGenerationCategory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs the terrain stage of {@link SpongeChunkGenerator}, biomes, base
+ * terrain and generation populators, on a dedicated pool. The prepared
+ * primer is picked up by the next {@code generateChunk} call for the chunk
+ * on the main thread.
+ */
+public final class ChunkGenerationExecutor {
+
+    @Nullable private static ExecutorService generationExecutor;
+
+    public static boolean isEnabled() {
+        return SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncTerrainGeneration();
+    }
+
+    /**
+     * Gets the generator of the world if its terrain can be prepared off the
+     * main thread.
+     *
+     * @param world The world
+     * @return The generator, or null if terrain can't be prepared
+     */
+    @Nullable
+    public static SpongeChunkGenerator getGenerator(WorldServer world) {
+        if (!isEnabled()) {
+            return null;
+        }
+        final ChunkProviderServer chunkProvider = world.getChunkProvider();
+        final IChunkGenerator generator = chunkProvider.chunkGenerator;
+        if (generator instanceof SpongeChunkGenerator && ((SpongeChunkGenerator) generator).canPrepareTerrain()) {
+            return (SpongeChunkGenerator) generator;
+        }
+        return null;
+    }
+
+    /**
+     * Prepares the terrain of the chunk off the main thread. The future
+     * completes with false if the chunk will be generated entirely on the
+     * main thread instead.
+     *
+     * @param generator The generator of the world
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The future completed once the terrain is prepared
+     */
+    public static CompletableFuture<Boolean> prepareTerrain(SpongeChunkGenerator generator, int x, int z) {
+        final CompletableFuture<Boolean> future;
+        try {
+            future = generator.prepareTerrain(x, z, getExecutor());
+        } catch (RejectedExecutionException e) {
+            // The pool is saturated, generate this one on the main thread
+            return CompletableFuture.completedFuture(false);
+        }
+        return future.exceptionally(t -> {
+            SpongeImpl.getLogger().error("Failed to prepare the terrain of chunk {}, {}. It will be generated on the main thread.", x, z, t);
+            return false;
+        });
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (generationExecutor == null) {
+            final TerrainGenerationCategory category = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getTerrainGenerationCategory();
+            final int threads = Math.max(1, category.getThreads());
+            generationExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, category.getQueueSize())),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge - Terrain Generation Thread #%d").setDaemon(true).build(),
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        return generationExecutor;
+    }
+
+    private ChunkGenerationExecutor() {
+    }
+}
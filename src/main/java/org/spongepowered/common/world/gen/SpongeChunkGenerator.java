@@ -84,6 +84,7 @@
 import org.spongepowered.common.interfaces.world.gen.IChunkProviderOverworld;
 import org.spongepowered.common.interfaces.world.gen.IFlaggedPopulator;
 import org.spongepowered.common.interfaces.world.gen.IGenerationPopulator;
+import org.spongepowered.common.interfaces.world.gen.IThreadSafeGenerator;
 import org.spongepowered.common.util.gen.ChunkPrimerBuffer;
 import org.spongepowered.common.util.gen.ObjectArrayMutableBiomeBuffer;
 import org.spongepowered.common.world.WorldUtil;
@@ -96,6 +97,11 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -123,6 +129,11 @@ public class SpongeChunkGenerator implements WorldGenerator, IChunkGenerator {
     protected Map<String, Timing> populatorTimings = Maps.newHashMap();
     protected Timing chunkGeneratorTiming;
 
+    // Terrain generated off the main thread, waiting for generateChunk
+    private final Map<Long, PreparedTerrain> preparedTerrain = new ConcurrentHashMap<>();
+    // The generation buffers of each generator thread, reused for every chunk it prepares
+    private final ThreadLocal<TerrainBuffers> terrainBuffers = ThreadLocal.withInitial(TerrainBuffers::new);
+
     public SpongeChunkGenerator(World world, GenerationPopulator base, BiomeGenerator biomegen) {
         this.world = checkNotNull(world, "world");
         this.baseGenerator = checkNotNull(base, "baseGenerator");
@@ -133,7 +144,7 @@ public SpongeChunkGenerator(World world, GenerationPopulator base, BiomeGenerato
 
         this.genpop = Lists.newArrayList();
         this.pop = Lists.newArrayList();
-        this.biomeSettings = Maps.newHashMap();
+        this.biomeSettings = new ConcurrentHashMap<>();
         this.rand = new Random(world.getSeed());
         this.noise4 = new NoiseGeneratorPerlin(this.rand, 4);
         this.stoneNoise = new double[256];
@@ -192,7 +203,7 @@ public Map<BiomeType, BiomeGenerationSettings> getBiomeOverrides() {
     }
 
     public void setBiomeOverrides(Map<BiomeType, BiomeGenerationSettings> biomeOverrides) {
-        this.biomeSettings = Maps.newHashMap(biomeOverrides);
+        this.biomeSettings = new ConcurrentHashMap<>(biomeOverrides);
     }
 
     @Override
@@ -238,18 +249,112 @@ public List<Populator> getPopulators(Class<? extends Populator> type) {
 
     @Override
     public Chunk generateChunk(int chunkX, int chunkZ) {
+        final PreparedTerrain prepared = this.preparedTerrain.remove(ChunkPos.asLong(chunkX, chunkZ));
+        if (prepared != null) {
+            return this.assembleChunk(chunkX, chunkZ, prepared.primer,
+                    biomeArray -> System.arraycopy(prepared.biomes, 0, biomeArray, 0, prepared.biomes.length));
+        }
+
         this.rand.setSeed(chunkX * 341873128712L + chunkZ * 132897987541L);
         this.cachedBiomes.reuse(new Vector3i(chunkX * 16, 0, chunkZ * 16));
         this.biomeGenerator.generateBiomes(this.cachedBiomes);
-        ImmutableBiomeVolume biomeBuffer = this.cachedBiomes.getImmutableBiomeCopy();
 
-        // Generate base terrain
         ChunkPrimer chunkprimer = new ChunkPrimer();
+        this.stoneNoise = this.generateTerrain(chunkX, chunkZ, chunkprimer, this.cachedBiomes, this.rand, this.stoneNoise, this::getBiomeSettings);
+        return this.assembleChunk(chunkX, chunkZ, chunkprimer, this.cachedBiomes::fill);
+    }
+
+    /**
+     * Gets whether the terrain of chunks can be generated off the main thread
+     * with {@link #prepareTerrain(int, int, Executor)}, which requires the
+     * biome generator, the base generator and the generation populators to
+     * be {@link IThreadSafeGenerator}s.
+     *
+     * @return Whether terrain can be prepared
+     */
+    public boolean canPrepareTerrain() {
+        return canPrepareTerrain(this.biomeGenerator, this.baseGenerator, this.genpop);
+    }
+
+    static boolean canPrepareTerrain(BiomeGenerator biomeGenerator, GenerationPopulator baseGenerator, List<GenerationPopulator> generationPopulators) {
+        if (!(biomeGenerator instanceof IThreadSafeGenerator) || !(baseGenerator instanceof IThreadSafeGenerator)) {
+            return false;
+        }
+        for (GenerationPopulator populator : generationPopulators) {
+            if (!(populator instanceof IThreadSafeGenerator)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Generates the biomes and the terrain of the chunk on the executor. The
+     * next {@link #generateChunk(int, int)} call for the chunk builds it from
+     * the prepared terrain instead of generating it again.
+     *
+     * <p>The future completes with false if the terrain could not be prepared,
+     * because a biome of the chunk has no generation settings yet or uses
+     * generation populators that aren't thread safe. The chunk is then
+     * generated on the main thread as usual.</p>
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @param executor The executor to generate on
+     * @return The future completed once the terrain is prepared
+     */
+    public CompletableFuture<Boolean> prepareTerrain(int chunkX, int chunkZ, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            final TerrainBuffers buffers = this.terrainBuffers.get();
+            buffers.random.setSeed(chunkX * 341873128712L + chunkZ * 132897987541L);
+            final ObjectArrayMutableBiomeBuffer biomes = buffers.biomes;
+            biomes.reuse(new Vector3i(chunkX * 16, 0, chunkZ * 16));
+            this.biomeGenerator.generateBiomes(biomes);
+            // Settings are only created on the main thread, see getBiomeSettings
+            final Map<BiomeType, BiomeGenerationSettings> settings = Maps.newHashMap();
+            for (BiomeType type : getUniqueBiomes(biomes, chunkX, chunkZ)) {
+                final BiomeGenerationSettings biomeSettings = this.biomeSettings.get(type);
+                if (biomeSettings == null) {
+                    return false;
+                }
+                for (GenerationPopulator populator : biomeSettings.getGenerationPopulators()) {
+                    if (!(populator instanceof IThreadSafeGenerator)) {
+                        return false;
+                    }
+                }
+                settings.put(type, biomeSettings);
+            }
+
+            final ChunkPrimer primer = new ChunkPrimer();
+            buffers.stoneNoise = this.generateTerrain(chunkX, chunkZ, primer, biomes, buffers.random, buffers.stoneNoise, settings::get);
+            final byte[] biomeArray = new byte[CHUNK_AREA.getX() * CHUNK_AREA.getZ()];
+            biomes.fill(biomeArray);
+            this.preparedTerrain.put(ChunkPos.asLong(chunkX, chunkZ), new PreparedTerrain(primer, biomeArray));
+            return true;
+        }, executor);
+    }
+
+    /**
+     * Drops terrain prepared for the chunk that is no longer going to be used.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     */
+    public void discardPreparedTerrain(int chunkX, int chunkZ) {
+        this.preparedTerrain.remove(ChunkPos.asLong(chunkX, chunkZ));
+    }
+
+    // The primer only stage of generateChunk, only touches the given buffers
+    private double[] generateTerrain(int chunkX, int chunkZ, ChunkPrimer chunkprimer, ObjectArrayMutableBiomeBuffer biomes, Random random,
+            double[] stoneNoise, Function<BiomeType, BiomeGenerationSettings> settings) {
+        ImmutableBiomeVolume biomeBuffer = biomes.getImmutableBiomeCopy();
+
+        // Generate base terrain
         MutableBlockVolume blockBuffer = new ChunkPrimerBuffer(chunkprimer, chunkX, chunkZ);
         this.baseGenerator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
 
         if (!(this.baseGenerator instanceof SpongeGenerationPopulator)) {
-            this.replaceBiomeBlocks(this.world, this.rand, chunkX, chunkZ, chunkprimer, biomeBuffer);
+            stoneNoise = this.replaceBiomeBlocks(this.world, random, chunkX, chunkZ, chunkprimer, biomeBuffer, stoneNoise, settings);
         }
 
         // Apply the generator populators to complete the blockBuffer
@@ -257,39 +362,61 @@ public Chunk generateChunk(int chunkX, int chunkZ) {
             populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
         }
 
-        // Get unique biomes to determine what generator populators to run
-        List<BiomeType> uniqueBiomes = Lists.newArrayList();
-        BiomeType biome;
-        for (int x = 0; x < 16; x++) {
-            for (int z = 0; z < 16; z++) {
-                biome = this.cachedBiomes.getBiome(chunkX * 16 + x, 0, chunkZ * 16 + z);
-                if (!uniqueBiomes.contains(biome)) {
-                    uniqueBiomes.add(biome);
-                }
-            }
-        }
-
         // run our generator populators
-        for (BiomeType type : uniqueBiomes) {
-            BiomeGenerationSettings settings = this.getBiomeSettings(type);
-            for (GenerationPopulator populator : settings.getGenerationPopulators()) {
+        for (BiomeType type : getUniqueBiomes(biomes, chunkX, chunkZ)) {
+            for (GenerationPopulator populator : settings.apply(type).getGenerationPopulators()) {
                 populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
             }
         }
+        return stoneNoise;
+    }
 
-        // Assemble chunk
+    private Chunk assembleChunk(int chunkX, int chunkZ, ChunkPrimer chunkprimer, Consumer<byte[]> biomeFiller) {
         Chunk chunk;
         if (this.baseGenerator instanceof SpongeGenerationPopulator && ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk() != null) {
             chunk = ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk();
             ((IMixinChunk) chunk).fill(chunkprimer);
         } else {
             chunk = new Chunk(this.world, chunkprimer, chunkX, chunkZ);
-            this.cachedBiomes.fill(chunk.getBiomeArray());
+            biomeFiller.accept(chunk.getBiomeArray());
         }
         chunk.generateSkylightMap();
         return chunk;
     }
 
+    // Get unique biomes to determine what generator populators to run
+    private static List<BiomeType> getUniqueBiomes(ObjectArrayMutableBiomeBuffer biomes, int chunkX, int chunkZ) {
+        List<BiomeType> uniqueBiomes = Lists.newArrayList();
+        BiomeType biome;
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                biome = biomes.getBiome(chunkX * 16 + x, 0, chunkZ * 16 + z);
+                if (!uniqueBiomes.contains(biome)) {
+                    uniqueBiomes.add(biome);
+                }
+            }
+        }
+        return uniqueBiomes;
+    }
+
+    private static final class PreparedTerrain {
+
+        final ChunkPrimer primer;
+        final byte[] biomes;
+
+        PreparedTerrain(ChunkPrimer primer, byte[] biomes) {
+            this.primer = primer;
+            this.biomes = biomes;
+        }
+    }
+
+    private static final class TerrainBuffers {
+
+        final Random random = new Random();
+        final ObjectArrayMutableBiomeBuffer biomes = new ObjectArrayMutableBiomeBuffer(Vector3i.ZERO, CHUNK_AREA);
+        double[] stoneNoise = new double[256];
+    }
+
     @Override
     public void populate(int chunkX, int chunkZ) {
         IMixinWorldServer world = (IMixinWorldServer) this.world;
@@ -541,16 +668,22 @@ public void recreateStructures(Chunk chunkIn, int x, int z) {
     }
 
     public void replaceBiomeBlocks(World world, Random rand, int x, int z, ChunkPrimer chunk, ImmutableBiomeVolume biomes) {
+        this.stoneNoise = this.replaceBiomeBlocks(world, rand, x, z, chunk, biomes, this.stoneNoise, this::getBiomeSettings);
+    }
+
+    private double[] replaceBiomeBlocks(World world, Random rand, int x, int z, ChunkPrimer chunk, ImmutableBiomeVolume biomes, double[] stoneNoise,
+            Function<BiomeType, BiomeGenerationSettings> settings) {
         double d0 = 0.03125D;
-        this.stoneNoise = this.noise4.getRegion(this.stoneNoise, x * 16, z * 16, 16, 16, d0 * 2.0D, d0 * 2.0D, 1.0D);
+        stoneNoise = this.noise4.getRegion(stoneNoise, x * 16, z * 16, 16, 16, d0 * 2.0D, d0 * 2.0D, 1.0D);
         Vector3i min = biomes.getBiomeMin();
         for (int x0 = 0; x0 < 16; ++x0) {
             for (int z0 = 0; z0 < 16; ++z0) {
                 BiomeType biomegenbase = biomes.getBiome(min.getX() + x0, 0, min.getZ() + z0);
-                this.generateBiomeTerrain(world, rand, chunk, x * 16 + x0, z * 16 + z0, this.stoneNoise[x0 + z0 * 16],
-                        this.getBiomeSettings(biomegenbase).getGroundCoverLayers());
+                this.generateBiomeTerrain(world, rand, chunk, x * 16 + x0, z * 16 + z0, stoneNoise[x0 + z0 * 16],
+                        settings.apply(biomegenbase).getGroundCoverLayers());
             }
         }
+        return stoneNoise;
     }
 
     public void generateBiomeTerrain(World worldIn, Random rand, ChunkPrimer chunk, int x, int z, double stoneNoise,
@@ -38,11 +38,12 @@
 import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.gen.GenerationPopulator;
+import org.spongepowered.common.interfaces.world.gen.IThreadSafeGenerator;
 
 import java.util.Arrays;
 import java.util.Random;
 
-public class MesaBiomeGenerationPopulator implements GenerationPopulator {
+public class MesaBiomeGenerationPopulator implements GenerationPopulator, IThreadSafeGenerator {
 
     private BlockState[] possibleBlocks;
     private long lastSeed;
@@ -52,8 +53,6 @@ public class MesaBiomeGenerationPopulator implements GenerationPopulator {
     private boolean hasHills = false;
     private boolean hasTrees = false;
 
-    private double[] stoneNoise;
-
     public MesaBiomeGenerationPopulator(boolean mesa, boolean trees) {
         this.hasHills = mesa;
         this.hasTrees = trees;
@@ -61,23 +60,12 @@ public MesaBiomeGenerationPopulator(boolean mesa, boolean trees) {
 
     @Override
     public void populate(World world, MutableBlockVolume buffer, ImmutableBiomeVolume biomes) {
-        long seed = world.getProperties().getSeed();
-        if (this.possibleBlocks == null || this.lastSeed != seed) {
-            this.func_150619_a(seed);
-        }
-
-        if (this.noise1 == null || this.noise2 == null || this.lastSeed != seed) {
-            Random random1 = new Random(seed);
-            this.noise1 = new NoiseGeneratorPerlin(random1, 4);
-            this.noise2 = new NoiseGeneratorPerlin(random1, 1);
-        }
-
-        this.lastSeed = seed;
+        this.initNoise(world.getProperties().getSeed());
         int cx = buffer.getBlockMin().getX();
         int cz = buffer.getBlockMin().getZ();
         Vector3i size = buffer.getBlockSize();
 
-        this.stoneNoise = this.noise1.getRegion(this.stoneNoise, cx, cz, size.getX(), size.getZ(), 0.0625D, 0.0625D, 1.0D);
+        double[] stoneNoise = this.noise1.getRegion(null, cx, cz, size.getX(), size.getZ(), 0.0625D, 0.0625D, 1.0D);
 
         Random rand = new Random(cx / 16 * 341873128712L + cz / 16 * 132897987541L);
 
@@ -85,12 +73,27 @@ public void populate(World world, MutableBlockVolume buffer, ImmutableBiomeVolum
             int xo = buffer.getBlockMin().getX() + x;
             for (int z = 0; z < size.getZ(); z++) {
                 int zo = buffer.getBlockMin().getZ() + z;
-                performOnColumn(rand, buffer, world, xo, zo, this.stoneNoise[x + z * 16]);
+                performOnColumn(rand, buffer, world, xo, zo, stoneNoise[x + z * 16]);
             }
         }
 
     }
 
+    // Synchronized so that chunks generated in parallel see the noise of the seed
+    private synchronized void initNoise(long seed) {
+        if (this.possibleBlocks == null || this.lastSeed != seed) {
+            this.func_150619_a(seed);
+        }
+
+        if (this.noise1 == null || this.noise2 == null || this.lastSeed != seed) {
+            Random random1 = new Random(seed);
+            this.noise1 = new NoiseGeneratorPerlin(random1, 4);
+            this.noise2 = new NoiseGeneratorPerlin(random1, 1);
+        }
+
+        this.lastSeed = seed;
+    }
+
     public void performOnColumn(Random p_180622_2_, MutableBlockVolume p_180622_3_, World world, int p_180622_4_, int p_180622_5_,
             double p_180622_6_) {
         double d5 = 0.0D;
@@ -30,6 +30,7 @@
 import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.world.WorldServer;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -45,11 +46,15 @@
 import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.world.gen.ChunkGenerationExecutor;
+import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -63,6 +68,10 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
 
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
+    // Stop issuing reads for a step once this many are in flight
+    private static final int MAX_PENDING_CHUNK_LOADS = 256;
+    // How many spiral steps ahead terrain is prepared off the main thread
+    private static final int MAX_PREPARED_STEPS = 64;
 
     private static final Vector3i[] OFFSETS = {
             Vector3i.UNIT_Z.negate().mul(2),
@@ -75,6 +84,12 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
 
     private final World world;
     private final Predicate<Vector3i> doesChunkExistCheck;
+    @Nullable private final IMixinChunkProviderServer chunkProvider;
+    // If null, terrain is generated on the main thread
+    @Nullable private final SpongeChunkGenerator generator;
+    private final Deque<PreparedStep> preparedSteps = new ArrayDeque<>();
+    // Steps whose chunks are still being loaded asynchronously, in spiral order
+    private final Deque<LoadingStep> loadingSteps = new ArrayDeque<>();
     private final int chunkRadius;
     private final int chunkCount;
     private final float tickPercent;
@@ -119,9 +134,12 @@ private SpongeChunkPreGenerateTask(Object plugin,
         // This also allows us to catch non Anvil file formats too.
         if (world.getWorldStorage() instanceof IMixinChunkProviderServer) {
             this.doesChunkExistCheck = this::checkChunkExistsAnvil;
+            this.chunkProvider = (IMixinChunkProviderServer) world.getWorldStorage();
         } else {
             this.doesChunkExistCheck = v -> false;
+            this.chunkProvider = null;
         }
+        this.generator = world instanceof WorldServer ? ChunkGenerationExecutor.getGenerator((WorldServer) world) : null;
 
         this.chunkRadius = GenericMath.floor(diameter / 32);
         this.chunkCount = chunkCount;
@@ -185,6 +203,43 @@ public Duration getTotalTime() {
         return Duration.of((isCancelled() ? this.generationEndTime : System.currentTimeMillis()) - this.generationStartTime, ChronoUnit.MILLIS);
     }
 
+    /**
+     * Gets the fraction of the target chunks that have been generated or
+     * skipped so far.
+     *
+     * @return The progress, between 0 and 1
+     */
+    public double getProgress() {
+        return this.totalChunksToGenerate == 0 ? 1 : Math.min(1, (double) (this.chunksGenerated + this.chunksSkipped) / this.totalChunksToGenerate);
+    }
+
+    /**
+     * Gets the average amount of chunks generated per second since the task
+     * started.
+     *
+     * @return The chunks generated per second
+     */
+    public double getChunksPerSecond() {
+        final long millis = getTotalTime().toMillis();
+        return millis <= 0 ? 0 : this.chunksGenerated * 1000.0 / millis;
+    }
+
+    /**
+     * Gets the estimated time until all target chunks are generated or
+     * skipped, based on the average rate so far.
+     *
+     * @return The estimated time remaining, if any chunks have been processed
+     */
+    public Optional<Duration> getEstimatedTimeRemaining() {
+        final long millis = getTotalTime().toMillis();
+        final int processed = this.chunksGenerated + this.chunksSkipped;
+        if (millis <= 0 || processed == 0) {
+            return Optional.empty();
+        }
+        final long remaining = Math.max(0, this.totalChunksToGenerate - processed);
+        return Optional.of(Duration.ofMillis(remaining * millis / processed));
+    }
+
     @Override
     public boolean isCancelled() {
         if (this.isCancelled) {
@@ -208,6 +263,8 @@ public void cancel() {
             }
             this.spongeTask.cancel();
             this.isCancelled = true;
+            discardPreparedSteps();
+            this.loadingSteps.clear();
         }
     }
 
@@ -237,31 +294,59 @@ public void accept(Task task) {
             return;
         }
 
-        // Count how many chunks are generated during the tick
+        // Count how many chunks are generated during the tick, starting with the
+        // steps whose asynchronous loads have completed since the last tick
         int count = 0;
         int skipped = 0;
-        do {
-            final Vector3i position = nextChunkPosition();
-            final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
-            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
-            final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
-
-            // We can only skip generation if all chunks are loaded.
-            if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
-
-                // At least one chunk isn't generated, so to populate, we need to load them all.
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(pos1, true);
-                this.world.loadChunk(pos2, true);
-                this.world.loadChunk(pos3, true);
-
-                count += this.currentGenCount;
-            } else {
-
-                // Skipped them, log this.
-                skipped += this.currentGenCount;
-            }
-        } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+        LoadingStep loadingStep;
+        while ((loadingStep = this.loadingSteps.peekFirst()) != null && loadingStep.loaded.isDone()) {
+            this.loadingSteps.pollFirst();
+            count += loadingStep.genCount;
+        }
+        if (this.generator != null) {
+            // Terrain of the upcoming steps is generated on worker threads, steps are finished here
+            // in spiral order as soon as their terrain is ready.
+            do {
+                prepareSteps();
+                final PreparedStep step = this.preparedSteps.peekFirst();
+                if (step == null || !step.ready.isDone()) {
+                    break;
+                }
+                this.preparedSteps.pollFirst();
+                if (step.generate) {
+                    final CompletableFuture<?>[] loads = new CompletableFuture<?>[step.positions.length];
+                    for (int i = 0; i < step.positions.length; i++) {
+                        final Vector3i position = step.positions[i];
+                        loads[i] = loadChunk(position);
+                        // Chunks loaded by something else in the meantime haven't used their terrain
+                        this.generator.discardPreparedTerrain(position.getX(), position.getZ());
+                    }
+                    count += countLoadedStep(step.genCount, loads);
+                } else {
+                    skipped += step.genCount;
+                }
+            } while (checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime) && checkPendingLoads());
+            prepareSteps();
+        } else {
+            do {
+                final Vector3i position = nextChunkPosition();
+                final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
+                final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
+                final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
+
+                // We can only skip generation if all chunks are loaded.
+                if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
+
+                    // At least one chunk isn't generated, so to populate, we need to load them all.
+                    count += countLoadedStep(this.currentGenCount, loadChunk(position), loadChunk(pos1), loadChunk(pos2), loadChunk(pos3));
+                } else {
+
+                    // Skipped them, log this.
+                    skipped += this.currentGenCount;
+                }
+            } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime)
+                    && checkPendingLoads());
+        }
 
         this.chunksGenerated += count;
         this.chunksSkipped += skipped;
@@ -282,7 +367,7 @@ public void accept(Task task) {
             return;
         }
 
-        if (!hasNextChunkPosition()) {
+        if (!hasNextChunkPosition() && this.preparedSteps.isEmpty() && this.loadingSteps.isEmpty()) {
             // Generation has completed.
             Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventComplete(
                     this.cause,
@@ -296,11 +381,78 @@ public void accept(Task task) {
         }
     }
 
+    private void prepareSteps() {
+        while (this.preparedSteps.size() < MAX_PREPARED_STEPS && hasNextChunkPosition()) {
+            final Vector3i position = nextChunkPosition();
+            final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
+            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
+            final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
+            final Vector3i[] positions = {position, pos1, pos2, pos3};
+
+            final List<CompletableFuture<Boolean>> futures = new ArrayList<>(positions.length);
+            for (Vector3i chunk : positions) {
+                if (!this.doesChunkExistCheck.test(chunk)) {
+                    futures.add(ChunkGenerationExecutor.prepareTerrain(this.generator, chunk.getX(), chunk.getZ()));
+                }
+            }
+            final CompletableFuture<Void> ready = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+            this.preparedSteps.addLast(new PreparedStep(positions, this.currentGenCount, !futures.isEmpty(), ready));
+        }
+    }
+
+    private void discardPreparedSteps() {
+        if (this.generator == null) {
+            return;
+        }
+        final SpongeChunkGenerator generator = this.generator;
+        for (PreparedStep step : this.preparedSteps) {
+            step.ready.thenRun(() -> {
+                for (Vector3i position : step.positions) {
+                    generator.discardPreparedTerrain(position.getX(), position.getZ());
+                }
+            });
+        }
+        this.preparedSteps.clear();
+    }
+
     private boolean areAllChunksLoaded(Vector3i chunk1, Vector3i chunk2, Vector3i chunk3, Vector3i chunk4) {
         return this.doesChunkExistCheck.test(chunk1) && this.doesChunkExistCheck.test(chunk2) &&
                 this.doesChunkExistCheck.test(chunk3) && this.doesChunkExistCheck.test(chunk4);
     }
 
+    private CompletableFuture<?> loadChunk(Vector3i position) {
+        if (this.chunkProvider != null && this.doesChunkExistCheck.test(position)) {
+            // Already generated, so it can be read off the main thread. Population of
+            // the neighbours happens once it is added on the main thread.
+            return this.chunkProvider.loadChunkAsync(position.getX(), position.getZ()).handle((chunk, throwable) -> {
+                if (chunk == null && !this.isCancelled) {
+                    // The chunk couldn't be read, load or generate it like the synchronous path would
+                    this.world.loadChunk(position, true);
+                }
+                return null;
+            });
+        }
+        this.world.loadChunk(position, true);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Gets the amount of chunks a step generated if its chunks are loaded
+     * already, otherwise keeps the step to be counted once they are.
+     */
+    private int countLoadedStep(int genCount, CompletableFuture<?>... loads) {
+        final CompletableFuture<Void> loaded = CompletableFuture.allOf(loads);
+        if (loaded.isDone() && this.loadingSteps.isEmpty()) {
+            return genCount;
+        }
+        this.loadingSteps.addLast(new LoadingStep(genCount, loaded));
+        return 0;
+    }
+
+    private boolean checkPendingLoads() {
+        return this.chunkProvider == null || this.chunkProvider.getPendingChunkLoadCount() < MAX_PENDING_CHUNK_LOADS;
+    }
+
     private void unregisterListener() {
         if (this.eventListener != null) {
             Sponge.getEventManager().unregisterListeners(this.eventListener);
@@ -316,6 +468,8 @@ private void cancelTask(Task task) {
 
         this.isCancelled = true;
         unregisterListener();
+        discardPreparedSteps();
+        this.loadingSteps.clear();
     }
 
     private boolean hasNextChunkPosition() {
@@ -364,9 +518,36 @@ private boolean checkChunkExistsAnvil(Vector3i v) {
         }
     }
 
+    private static final class PreparedStep {
+
+        final Vector3i[] positions;
+        final int genCount;
+        final boolean generate;
+        final CompletableFuture<Void> ready;
+
+        PreparedStep(Vector3i[] positions, int genCount, boolean generate, CompletableFuture<Void> ready) {
+            this.positions = positions;
+            this.genCount = genCount;
+            this.generate = generate;
+            this.ready = ready;
+        }
+    }
+
+    private static final class LoadingStep {
+
+        final int genCount;
+        final CompletableFuture<Void> loaded;
+
+        LoadingStep(int genCount, CompletableFuture<Void> loaded) {
+            this.genCount = genCount;
+            this.loaded = loaded;
+        }
+    }
+
     public static class Builder implements ChunkPreGenerate.Builder {
 
         private static final String TIME_FORMAT = "s's 'S'ms'";
+        private static final String ETA_FORMAT = "H'h 'm'm 's's'";
 
         private final World world;
         private final Vector3d center;
@@ -401,6 +582,18 @@ public ChunkPreGenerate.Builder logger(@Nullable Logger logger) {
                 this.addListener(event -> {
                     if (event instanceof ChunkPreGenerationEvent.Post) {
                         ChunkPreGenerationEvent.Post post = (ChunkPreGenerationEvent.Post) event;
+                        if (post.getChunkPreGenerate() instanceof SpongeChunkPreGenerateTask) {
+                            final SpongeChunkPreGenerateTask task = (SpongeChunkPreGenerateTask) post.getChunkPreGenerate();
+                            logger.info("Generated {} chunks in {}, {}% complete, {} chunks/s, {} remaining", post.getChunksGeneratedThisStep(),
+                                DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false),
+                                GenericMath.floor(100 * task.getProgress()),
+                                String.format("%.1f", task.getChunksPerSecond()),
+                                task.getEstimatedTimeRemaining()
+                                    .map(eta -> DurationFormatUtils.formatDuration(eta.toMillis(), ETA_FORMAT, false))
+                                    .orElse("unknown")
+                            );
+                            return;
+                        }
                         logger.info("Generated {} chunks in {}, {}% complete", post.getChunksGeneratedThisStep(),
                             DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false),
                             GenericMath.floor(
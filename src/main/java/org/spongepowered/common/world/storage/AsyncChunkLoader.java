@@ -0,0 +1,86 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs the I/O half of chunk loading, reading the region file and decoding
+ * the chunk NBT, on a dedicated pool. The returned compound is handed back
+ * to the main thread where the chunk itself is built.
+ */
+public final class AsyncChunkLoader {
+
+    public static final Executor MAIN_THREAD = runnable -> SpongeImpl.getServer().addScheduledTask(runnable);
+
+    @Nullable private static ExecutorService ioExecutor;
+
+    public static boolean isEnabled() {
+        return SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncChunkLoading();
+    }
+
+    /**
+     * Reads and decodes the chunk at the given position off the main thread.
+     * The future completes with null if the chunk has not been generated.
+     *
+     * @param chunkLoader The chunk loader of the world
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The future chunk compound
+     */
+    public static CompletableFuture<NBTTagCompound> readChunkCompound(IMixinAnvilChunkLoader chunkLoader, int x, int z) {
+        final CompletableFuture<NBTTagCompound> future = new CompletableFuture<>();
+        getExecutor().execute(() -> {
+            try {
+                future.complete(chunkLoader.readChunkCompound(x, z));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (ioExecutor == null) {
+            final int threads = Math.max(1, SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getAsyncChunkLoadingCategory().getIoThreads());
+            ioExecutor = Executors.newFixedThreadPool(threads,
+                    new ThreadFactoryBuilder().setNameFormat("Sponge - Async Chunk Load Thread #%d").setDaemon(true).build());
+        }
+        return ioExecutor;
+    }
+
+    private AsyncChunkLoader() {
+    }
+}
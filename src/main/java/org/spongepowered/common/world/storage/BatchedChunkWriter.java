@@ -0,0 +1,232 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.ChunkSaveCategory;
+import org.spongepowered.common.interfaces.world.IMixinRegionFile;
+import org.spongepowered.common.util.QueuedChunk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.zip.DeflaterOutputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes a batch of queued chunks for a chunk loader. The chunks are
+ * compressed in parallel and then written grouped by region file, in queue
+ * order, with a single sync of each region file at the end of the batch.
+ */
+public final class BatchedChunkWriter {
+
+    private static final int WRITE_ATTEMPTS = 5;
+
+    @Nullable private static ExecutorService compressionExecutor;
+
+    public static int getBatchSize() {
+        return Math.max(1, getCategory().getBatchSize());
+    }
+
+    /**
+     * Writes the given chunks to the region files in the save location.
+     * Chunks that could not be compressed or written are logged and left out
+     * of the returned chunks.
+     *
+     * @param chunkSaveLocation The save location of the chunk loader
+     * @param chunks The chunks to write, in queue order
+     * @return The chunks that were written
+     */
+    public static List<QueuedChunk> write(File chunkSaveLocation, Collection<QueuedChunk> chunks) {
+        return write(chunks, getExecutor(), getCategory().syncRegionFiles(), pos -> new PinnedRegionFile(chunkSaveLocation, pos));
+    }
+
+    static List<QueuedChunk> write(Collection<QueuedChunk> chunks, Executor executor, boolean sync,
+            Function<ChunkPos, RegionTarget> regionOpener) {
+        final Map<Long, List<PendingWrite>> byRegion = new LinkedHashMap<>();
+        for (QueuedChunk chunk : chunks) {
+            if (chunk.compound == null) {
+                continue;
+            }
+            final PendingWrite write = new PendingWrite(chunk, CompletableFuture.supplyAsync(() -> compress(chunk), executor));
+            byRegion.computeIfAbsent(ChunkPos.asLong(chunk.coords.x >> 5, chunk.coords.z >> 5), key -> new ArrayList<>()).add(write);
+        }
+
+        final List<QueuedChunk> written = new ArrayList<>(chunks.size());
+        for (List<PendingWrite> writes : byRegion.values()) {
+            final ChunkPos first = writes.get(0).chunk.coords;
+            // The region file stays open until every chunk of the region is written
+            try (RegionTarget region = regionOpener.apply(first)) {
+                final int writtenBefore = written.size();
+                for (PendingWrite write : writes) {
+                    if (writeChunk(region, write)) {
+                        written.add(write.chunk);
+                    }
+                }
+                if (sync && written.size() > writtenBefore) {
+                    try {
+                        region.sync();
+                    } catch (IOException e) {
+                        SpongeImpl.getLogger().error("Failed to sync region file for chunk {}", first, e);
+                    }
+                }
+            }
+        }
+        return written;
+    }
+
+    private static boolean writeChunk(RegionTarget region, PendingWrite write) {
+        final ChunkPos pos = write.chunk.coords;
+        final byte[] data;
+        try {
+            data = write.data.join();
+        } catch (CompletionException e) {
+            SpongeImpl.getLogger().error("Failed to compress chunk {}", pos, e.getCause());
+            return false;
+        }
+        IOException last = null;
+        for (int attempt = 0; attempt < WRITE_ATTEMPTS; attempt++) {
+            try {
+                region.write(pos.x & 31, pos.z & 31, data);
+                return true;
+            } catch (IOException e) {
+                last = e;
+            }
+        }
+        SpongeImpl.getLogger().error("Failed to save chunk {}", pos, last);
+        return false;
+    }
+
+    private static byte[] compress(QueuedChunk chunk) {
+        // Same format as RegionFile#getChunkDataOutputStream, zlib deflated NBT
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(8096);
+        try (DataOutputStream stream = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            CompressedStreamTools.write(chunk.compound, stream);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ChunkSaveCategory getCategory() {
+        return SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getChunkSaveCategory();
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (compressionExecutor == null) {
+            compressionExecutor = Executors.newFixedThreadPool(Math.max(1, getCategory().getCompressionThreads()),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge - Chunk Compression Thread #%d").setDaemon(true).build());
+        }
+        return compressionExecutor;
+    }
+
+    /**
+     * The region file a group of chunks is written to.
+     */
+    interface RegionTarget extends AutoCloseable {
+
+        /**
+         * Writes deflated chunk data to the region file.
+         *
+         * @param x The chunk x coordinate within the region
+         * @param z The chunk z coordinate within the region
+         * @param data The deflated chunk data
+         * @throws IOException If the chunk data could not be written
+         */
+        void write(int x, int z, byte[] data) throws IOException;
+
+        /**
+         * Syncs the written chunks to the disk.
+         *
+         * @throws IOException If the region file could not be synced
+         */
+        void sync() throws IOException;
+
+        @Override
+        void close();
+    }
+
+    private static final class PinnedRegionFile implements RegionTarget {
+
+        private final File file;
+        private final RegionFile regionFile;
+
+        PinnedRegionFile(File chunkSaveLocation, ChunkPos pos) {
+            this.file = SpongeRegionFileCache.getRegionFilePath(chunkSaveLocation, pos.x, pos.z);
+            final File regionDir = this.file.getParentFile();
+            if (!regionDir.exists()) {
+                regionDir.mkdirs();
+            }
+            // Pinned so it isn't closed to make room for other region files while it is written to
+            this.regionFile = SpongeRegionFileCache.pinRegionFile(this.file);
+        }
+
+        @Override
+        public void write(int x, int z, byte[] data) throws IOException {
+            ((IMixinRegionFile) this.regionFile).writeChunk(x, z, data, data.length);
+        }
+
+        @Override
+        public void sync() throws IOException {
+            ((IMixinRegionFile) this.regionFile).getDataFile().getFD().sync();
+        }
+
+        @Override
+        public void close() {
+            SpongeRegionFileCache.unpinRegionFile(this.file);
+        }
+    }
+
+    private static final class PendingWrite {
+
+        final QueuedChunk chunk;
+        final CompletableFuture<byte[]> data;
+
+        PendingWrite(QueuedChunk chunk, CompletableFuture<byte[]> data) {
+            this.chunk = chunk;
+            this.data = data;
+        }
+    }
+
+    private BatchedChunkWriter() {
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagByte;
+import net.minecraft.nbt.NBTTagByteArray;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagFloat;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLong;
+import net.minecraft.nbt.NBTTagLongArray;
+import net.minecraft.nbt.NBTTagShort;
+import net.minecraft.nbt.NBTTagString;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads the {@code Level} compound of a chunk straight from the decompressed
+ * region stream, only building the tags of the requested keys. The payload of
+ * every other tag is skipped without being materialized.
+ *
+ * <p>Like {@link net.minecraft.nbt.NBTSizeTracker}, the size of the built tags
+ * is tracked and reading fails once it exceeds a limit, so corrupt lengths
+ * fail with an {@link IOException} instead of exhausting the heap.</p>
+ */
+final class ProjectedChunkReader {
+
+    private static final int MAX_DEPTH = 512;
+    // The approximate size of the tags built for a single chunk
+    static final long MAX_LEVEL_BYTES = 32 * 1024 * 1024;
+    // Rough per tag and per compound entry overhead, the same for every tag type
+    private static final int TAG_BYTES = 16;
+    private static final int ENTRY_BYTES = 32;
+
+    /**
+     * Reads the level compound of the chunk.
+     *
+     * @param input The decompressed chunk data
+     * @param levelKeys The keys of the level compound to read, or null for all
+     * @return The level compound, or null if the chunk has none
+     * @throws IOException If the data could not be read
+     */
+    @Nullable
+    static NBTTagCompound readLevel(DataInput input, @Nullable Set<String> levelKeys) throws IOException {
+        return readLevel(input, levelKeys, MAX_LEVEL_BYTES);
+    }
+
+    /**
+     * Reads the level compound of the chunk.
+     *
+     * @param input The decompressed chunk data
+     * @param levelKeys The keys of the level compound to read, or null for all
+     * @param maxBytes The maximum approximate size of the tags that are read
+     * @return The level compound, or null if the chunk has none
+     * @throws IOException If the data could not be read or is too large
+     */
+    @Nullable
+    static NBTTagCompound readLevel(DataInput input, @Nullable Set<String> levelKeys, long maxBytes) throws IOException {
+        final SizeTracker tracker = new SizeTracker(maxBytes);
+        if (input.readByte() != NbtDataUtil.TAG_COMPOUND) {
+            throw new IOException("Root tag must be a named compound tag");
+        }
+        skipString(input);
+        NBTTagCompound level = null;
+        byte id;
+        while ((id = input.readByte()) != NbtDataUtil.TAG_END) {
+            final String name = input.readUTF();
+            if (id == NbtDataUtil.TAG_COMPOUND && NbtDataUtil.CHUNK_DATA_LEVEL.equals(name)) {
+                level = new NBTTagCompound();
+                readCompound(input, levelKeys, level, 1, tracker);
+            } else {
+                skip(input, id, 1);
+            }
+        }
+        return level;
+    }
+
+    private static void readCompound(DataInput input, @Nullable Set<String> keys, NBTTagCompound compound, int depth, SizeTracker tracker)
+            throws IOException {
+        byte id;
+        while ((id = input.readByte()) != NbtDataUtil.TAG_END) {
+            final String name = input.readUTF();
+            if (keys == null || keys.contains(name)) {
+                tracker.read(ENTRY_BYTES + 2L * name.length());
+                compound.setTag(name, read(input, id, depth + 1, tracker));
+            } else {
+                skip(input, id, depth + 1);
+            }
+        }
+    }
+
+    private static NBTBase read(DataInput input, byte id, int depth, SizeTracker tracker) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+        tracker.read(TAG_BYTES);
+        switch (id) {
+            case NbtDataUtil.TAG_BYTE:
+                return new NBTTagByte(input.readByte());
+            case NbtDataUtil.TAG_SHORT:
+                return new NBTTagShort(input.readShort());
+            case NbtDataUtil.TAG_INT:
+                return new NBTTagInt(input.readInt());
+            case NbtDataUtil.TAG_LONG:
+                return new NBTTagLong(input.readLong());
+            case NbtDataUtil.TAG_FLOAT:
+                return new NBTTagFloat(input.readFloat());
+            case NbtDataUtil.TAG_DOUBLE:
+                return new NBTTagDouble(input.readDouble());
+            case NbtDataUtil.TAG_BYTE_ARRAY: {
+                final int length = readLength(input, id);
+                tracker.read(length);
+                final byte[] bytes = new byte[length];
+                input.readFully(bytes);
+                return new NBTTagByteArray(bytes);
+            }
+            case NbtDataUtil.TAG_STRING: {
+                final String string = input.readUTF();
+                tracker.read(2L * string.length());
+                return new NBTTagString(string);
+            }
+            case NbtDataUtil.TAG_LIST: {
+                final byte elementId = input.readByte();
+                final int length = readLength(input, id);
+                if (elementId == NbtDataUtil.TAG_END && length > 0) {
+                    throw new IOException("Missing type of NBT list with " + length + " elements");
+                }
+                final NBTTagList list = new NBTTagList();
+                for (int i = 0; i < length; i++) {
+                    list.appendTag(read(input, elementId, depth + 1, tracker));
+                }
+                return list;
+            }
+            case NbtDataUtil.TAG_COMPOUND: {
+                final NBTTagCompound compound = new NBTTagCompound();
+                readCompound(input, null, compound, depth, tracker);
+                return compound;
+            }
+            case NbtDataUtil.TAG_INT_ARRAY: {
+                final int length = readLength(input, id);
+                tracker.read(length * 4L);
+                final int[] ints = new int[length];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = input.readInt();
+                }
+                return new NBTTagIntArray(ints);
+            }
+            case NbtDataUtil.TAG_LONG_ARRAY: {
+                final int length = readLength(input, id);
+                tracker.read(length * 8L);
+                final long[] longs = new long[length];
+                for (int i = 0; i < longs.length; i++) {
+                    longs[i] = input.readLong();
+                }
+                return new NBTTagLongArray(longs);
+            }
+            default:
+                throw new IOException("Unknown NBT tag id " + id);
+        }
+    }
+
+    private static void skip(DataInput input, byte id, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+        switch (id) {
+            case NbtDataUtil.TAG_BYTE:
+                skipFully(input, 1);
+                break;
+            case NbtDataUtil.TAG_SHORT:
+                skipFully(input, 2);
+                break;
+            case NbtDataUtil.TAG_INT:
+            case NbtDataUtil.TAG_FLOAT:
+                skipFully(input, 4);
+                break;
+            case NbtDataUtil.TAG_LONG:
+            case NbtDataUtil.TAG_DOUBLE:
+                skipFully(input, 8);
+                break;
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                skipFully(input, readLength(input, id));
+                break;
+            case NbtDataUtil.TAG_STRING:
+                skipString(input);
+                break;
+            case NbtDataUtil.TAG_LIST: {
+                final byte elementId = input.readByte();
+                final int length = readLength(input, id);
+                for (int i = 0; i < length; i++) {
+                    skip(input, elementId, depth + 1);
+                }
+                break;
+            }
+            case NbtDataUtil.TAG_COMPOUND: {
+                byte childId;
+                while ((childId = input.readByte()) != NbtDataUtil.TAG_END) {
+                    skipString(input);
+                    skip(input, childId, depth + 1);
+                }
+                break;
+            }
+            case NbtDataUtil.TAG_INT_ARRAY:
+                skipFully(input, readLength(input, id) * 4L);
+                break;
+            case NbtDataUtil.TAG_LONG_ARRAY:
+                skipFully(input, readLength(input, id) * 8L);
+                break;
+            default:
+                throw new IOException("Unknown NBT tag id " + id);
+        }
+    }
+
+    private static int readLength(DataInput input, byte id) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Negative length " + length + " of NBT tag with id " + id);
+        }
+        return length;
+    }
+
+    private static void skipString(DataInput input) throws IOException {
+        skipFully(input, input.readUnsignedShort());
+    }
+
+    private static void skipFully(DataInput input, long bytes) throws IOException {
+        while (bytes > 0) {
+            final int skipped = input.skipBytes((int) Math.min(bytes, Integer.MAX_VALUE));
+            if (skipped > 0) {
+                bytes -= skipped;
+            } else {
+                // skipBytes may give up early, reading a byte blocks or throws at the end of the stream
+                input.readByte();
+                bytes--;
+            }
+        }
+    }
+
+    private static final class SizeTracker {
+
+        private final long max;
+        private long read;
+
+        SizeTracker(long max) {
+            this.max = max;
+        }
+
+        void read(long bytes) throws IOException {
+            this.read += bytes;
+            if (this.read > this.max) {
+                throw new IOException("Tried to read NBT tag that was too big; tried to allocate: " + this.read + " bytes where max allowed: "
+                        + this.max);
+            }
+        }
+    }
+
+    private ProjectedChunkReader() {
+    }
+}
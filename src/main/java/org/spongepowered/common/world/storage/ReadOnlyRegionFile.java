@@ -0,0 +1,152 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads chunks from a region file without opening it through the shared
+ * {@link RegionFileCache}, so a scan doesn't close region files the server is
+ * using. The file is only opened for reading, unlike {@link RegionFile} which
+ * may pad the file when it is opened.
+ *
+ * <p>The channel of a region file is opened once with {@link #open(File)}
+ * and used to read its header and all of its chunks.</p>
+ */
+final class ReadOnlyRegionFile {
+
+    private static final int SECTOR_BYTES = 4096;
+    // 1024 sector offsets followed by 1024 timestamps
+    private static final int HEADER_BYTES = 2 * SECTOR_BYTES;
+    private static final int VERSION_GZIP = 1;
+    private static final int VERSION_DEFLATE = 2;
+
+    /**
+     * Opens the region file for reading.
+     *
+     * @param file The region file
+     * @return The channel to read the region file with, or null if the region
+     *     file doesn't exist
+     * @throws IOException If the region file could not be opened
+     */
+    @Nullable
+    static FileChannel open(File file) throws IOException {
+        try {
+            return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the sector offsets of the region file, indexed by
+     * {@code x + z * 32}.
+     *
+     * @param channel The channel of the region file
+     * @return The sector offsets, or null if the region file has no complete
+     *     header
+     * @throws IOException If the region file could not be read
+     */
+    @Nullable
+    static IntBuffer readOffsets(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_BYTES) {
+            return null;
+        }
+        final ByteBuffer header = ByteBuffer.allocate(SECTOR_BYTES);
+        if (readFully(channel, header, 0) < SECTOR_BYTES) {
+            return null;
+        }
+        header.flip();
+        return header.asIntBuffer();
+    }
+
+    /**
+     * Reads the decompressed data of the chunk stored at the given sector
+     * offset.
+     *
+     * @param channel The channel of the region file
+     * @param offset The sector offset from the header of the region file
+     * @return The decompressed chunk data
+     * @throws IOException If the chunk data could not be read or is invalid
+     */
+    static DataInputStream getChunkDataInputStream(FileChannel channel, int offset) throws IOException {
+        final int sector = offset >>> 8;
+        final int sectors = offset & 0xFF;
+        if (sector < HEADER_BYTES / SECTOR_BYTES || sectors == 0) {
+            throw new IOException("Invalid sector offset " + sector + " with " + sectors + " sectors");
+        }
+        final ByteBuffer data = ByteBuffer.allocate(sectors * SECTOR_BYTES);
+        final int read = readFully(channel, data, (long) sector * SECTOR_BYTES);
+        if (read < 5) {
+            throw new IOException("Chunk at sector " + sector + " is past the end of the region file");
+        }
+        final int length = data.getInt(0);
+        if (length <= 0 || length > read - 4) {
+            throw new IOException("Invalid length " + length + " of chunk at sector " + sector);
+        }
+        final byte version = data.get(4);
+        final InputStream compressed = new ByteArrayInputStream(data.array(), 5, length - 1);
+        switch (version) {
+            case VERSION_GZIP:
+                return new DataInputStream(new BufferedInputStream(new GZIPInputStream(compressed)));
+            case VERSION_DEFLATE:
+                return new DataInputStream(new BufferedInputStream(new InflaterInputStream(compressed)));
+            default:
+                throw new IOException("Unknown compression type " + version + " of chunk at sector " + sector);
+        }
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int read = 0;
+        while (buffer.hasRemaining()) {
+            final int count = channel.read(buffer, position + read);
+            if (count < 0) {
+                break;
+            }
+            read += count;
+        }
+        return read;
+    }
+
+    private ReadOnlyRegionFile() {
+    }
+}
@@ -30,29 +30,36 @@
 import org.spongepowered.api.world.storage.ChunkDataStream;
 
 import java.io.DataInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.IntBuffer;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public class SpongeChunkDataStream implements ChunkDataStream {
 
     private static class RegionFileItr {
 
-        private final RegionFile file;
+        private final File file;
+        // Read from the cached header, the region file is only opened to read chunks
+        private final IntBuffer offsets;
         public int index;
 
-        public RegionFileItr(RegionFile regionFile) {
-            this.file = regionFile;
+        public RegionFileItr(File file) {
+            this.file = file;
+            this.offsets = SpongeRegionFileCache.getOffsets(file);
         }
 
         public int getNext() {
             int index = this.index;
-            int[] offsets = this.file.offsets;
-            while (index != -1 && index < offsets.length && offsets[index] == 0) {
+            final int length = this.offsets.limit();
+            while (index != -1 && index < length && this.offsets.get(index) == 0) {
                 index++;
             }
-            if (index >= offsets.length) {
+            if (index >= length) {
                 return -1;
             }
             return index;
@@ -61,7 +68,13 @@ public int getNext() {
         public DataInputStream getStreamAt(int index) {
             int x = index & 31;
             int z = index >>> 5;
-            return this.file.getChunkDataInputStream(x, z);
+            // The chunk data is read into memory before the region file is unpinned
+            final RegionFile regionFile = SpongeRegionFileCache.pinRegionFile(this.file);
+            try {
+                return regionFile.getChunkDataInputStream(x, z);
+            } finally {
+                SpongeRegionFileCache.unpinRegionFile(this.file);
+            }
         }
 
     }
@@ -81,7 +94,7 @@ private boolean itrAvailable() {
         Iterable<Path> files = WorldStorageUtil.listRegionFiles(this.worldDir);
         for (Path file : files) {
             if (!this.openedFiles.contains(file)) {
-                this.regionFileItr = new RegionFileItr(WorldStorageUtil.getRegionFile(file));
+                this.regionFileItr = new RegionFileItr(file.toFile());
                 this.openedFiles.add(file);
                 return true;
             }
@@ -140,6 +153,17 @@ public int available() {
         return count;
     }
 
+    /**
+     * Streams the chunks of this data stream's world independently of its
+     * position, see {@link SpongeChunkScan}. The stream may be made parallel.
+     *
+     * @param levelKeys The keys of the chunk level compound to read, empty for all
+     * @return The stream of chunk data
+     */
+    public Stream<DataContainer> stream(Collection<String> levelKeys) {
+        return SpongeChunkScan.containers(this.worldDir, levelKeys);
+    }
+
     @Override
     public void reset() {
         this.regionFileItr = null;
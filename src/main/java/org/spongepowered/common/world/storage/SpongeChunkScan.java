@@ -0,0 +1,255 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nullable;
+
+/**
+ * Scans every generated chunk of a world, as a companion to the sequential
+ * {@link SpongeChunkDataStream}. Chunks are read lazily through a
+ * {@link Spliterator} that splits by region file, so a parallel stream fans
+ * whole region files out over its fork join pool and only reads as fast as
+ * the consumers accept results.
+ *
+ * <p>A projection limits which keys of the chunk {@code Level} compound are
+ * read, the payload of every other tag is skipped while decoding.</p>
+ *
+ * <p>Region files are read through {@link ReadOnlyRegionFile} and never
+ * through the region file cache of the server. Chunks that are still waiting
+ * to be saved are read as they were last written.</p>
+ */
+public final class SpongeChunkScan {
+
+    @Nullable private static ForkJoinPool scanPool;
+
+    /**
+     * Streams the level compounds of all generated chunks of the world.
+     *
+     * @param worldDir The world directory
+     * @param levelKeys The keys of the level compound to read, empty for all
+     * @return The sequential stream, use {@link Stream#parallel()} to scan
+     *     region files in parallel. It should be closed if it may not be
+     *     consumed entirely, to close the region file being read.
+     */
+    public static Stream<NBTTagCompound> levels(Path worldDir, Collection<String> levelKeys) {
+        final List<Path> regionFiles = Lists.newArrayList(WorldStorageUtil.listRegionFiles(worldDir));
+        final ImmutableSet<String> keys = levelKeys.isEmpty() ? null : ImmutableSet.copyOf(levelKeys);
+        final Set<FileChannel> openChannels = ConcurrentHashMap.newKeySet();
+        return StreamSupport.stream(new RegionSpliterator(regionFiles, 0, regionFiles.size(), keys, openChannels), false)
+                // Region files still being read when the stream was short-circuited
+                .onClose(() -> openChannels.forEach(RegionSpliterator::close));
+    }
+
+    /**
+     * Streams all generated chunks of the world as {@link DataContainer}s,
+     * the same as {@link SpongeChunkDataStream} provides them.
+     *
+     * @param worldDir The world directory
+     * @param levelKeys The keys of the level compound to read, empty for all
+     * @return The sequential stream
+     */
+    public static Stream<DataContainer> containers(Path worldDir, Collection<String> levelKeys) {
+        return levels(worldDir, levelKeys).map(NbtTranslator.getInstance()::translateFrom);
+    }
+
+    /**
+     * Scans all generated chunks of the world in parallel on a dedicated
+     * pool. The consumer is called from the pool threads.
+     *
+     * @param worldDir The world directory
+     * @param levelKeys The keys of the level compound to read, empty for all
+     * @param projection Maps the level compound of each chunk
+     * @param consumer Consumes the results
+     * @param <T> The type of result
+     * @return The future completed when every chunk was consumed
+     */
+    public static <T> CompletableFuture<Void> forEachParallel(Path worldDir, Collection<String> levelKeys,
+            Function<NBTTagCompound, T> projection, Consumer<T> consumer) {
+        return CompletableFuture.runAsync(() -> {
+            try (Stream<NBTTagCompound> levels = levels(worldDir, levelKeys)) {
+                levels.parallel().map(projection).forEach(consumer);
+            }
+        }, getScanPool());
+    }
+
+    private static synchronized ForkJoinPool getScanPool() {
+        if (scanPool == null) {
+            scanPool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        }
+        return scanPool;
+    }
+
+    private static final class RegionSpliterator implements Spliterator<NBTTagCompound> {
+
+        private final List<Path> regionFiles;
+        @Nullable private final ImmutableSet<String> levelKeys;
+        private final Set<FileChannel> openChannels;
+        private int nextRegion;
+        private final int endRegion;
+
+        @Nullable private File currentFile;
+        @Nullable private FileChannel currentChannel;
+        @Nullable private IntBuffer currentOffsets;
+        private int currentIndex;
+
+        RegionSpliterator(List<Path> regionFiles, int startRegion, int endRegion, @Nullable ImmutableSet<String> levelKeys,
+                Set<FileChannel> openChannels) {
+            this.regionFiles = regionFiles;
+            this.nextRegion = startRegion;
+            this.endRegion = endRegion;
+            this.levelKeys = levelKeys;
+            this.openChannels = openChannels;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super NBTTagCompound> action) {
+            while (true) {
+                if (this.currentOffsets == null) {
+                    if (this.nextRegion >= this.endRegion) {
+                        return false;
+                    }
+                    this.currentFile = this.regionFiles.get(this.nextRegion++).toFile();
+                    this.currentIndex = 0;
+                    if (!this.openRegion(this.currentFile)) {
+                        continue;
+                    }
+                }
+                while (this.currentIndex < this.currentOffsets.limit()) {
+                    final int index = this.currentIndex++;
+                    final int offset = this.currentOffsets.get(index);
+                    if (offset == 0) {
+                        continue;
+                    }
+                    final NBTTagCompound level = this.read(index, offset);
+                    if (level != null) {
+                        action.accept(level);
+                        return true;
+                    }
+                }
+                this.closeRegion();
+            }
+        }
+
+        // Opens the channel of the region file once for its header and all of its chunks
+        private boolean openRegion(File file) {
+            try {
+                this.currentChannel = ReadOnlyRegionFile.open(file);
+                if (this.currentChannel == null) {
+                    return false;
+                }
+                this.openChannels.add(this.currentChannel);
+                this.currentOffsets = ReadOnlyRegionFile.readOffsets(this.currentChannel);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to read header of region file {}", file, e);
+            }
+            if (this.currentOffsets == null) {
+                this.closeRegion();
+                return false;
+            }
+            return true;
+        }
+
+        private void closeRegion() {
+            if (this.currentChannel != null) {
+                this.openChannels.remove(this.currentChannel);
+                close(this.currentChannel);
+            }
+            this.currentChannel = null;
+            this.currentOffsets = null;
+            this.currentFile = null;
+        }
+
+        static void close(FileChannel channel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to close region file", e);
+            }
+        }
+
+        @Nullable
+        private NBTTagCompound read(int index, int offset) {
+            try (DataInputStream input = ReadOnlyRegionFile.getChunkDataInputStream(this.currentChannel, offset)) {
+                return ProjectedChunkReader.readLevel(input, this.levelKeys);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to read chunk {}, {} of region file {}", index & 31, index >>> 5, this.currentFile, e);
+                return null;
+            }
+        }
+
+        @Nullable
+        @Override
+        public Spliterator<NBTTagCompound> trySplit() {
+            // Only whole region files that haven't been started are handed off
+            final int remaining = this.endRegion - this.nextRegion;
+            if (remaining < 2) {
+                return null;
+            }
+            final int middle = this.nextRegion + remaining / 2;
+            final RegionSpliterator prefix = new RegionSpliterator(this.regionFiles, this.nextRegion, middle, this.levelKeys, this.openChannels);
+            this.nextRegion = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            // Upper bound, each region file holds at most 32x32 chunks
+            return (this.endRegion - this.nextRegion) * 1024L + (this.currentOffsets == null ? 0 : this.currentOffsets.limit() - this.currentIndex);
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL | IMMUTABLE;
+        }
+    }
+
+    private SpongeChunkScan() {
+    }
+}
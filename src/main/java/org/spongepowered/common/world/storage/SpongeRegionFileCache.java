@@ -0,0 +1,291 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Bookkeeping on top of {@link RegionFileCache}, which is turned into a least
+ * recently used cache of open region files, and a cache of region headers
+ * used to look up chunks without opening their region file.
+ *
+ * <p>All access to {@link RegionFileCache#REGIONS_BY_FILE} is guarded by the
+ * {@link RegionFileCache} class lock, the same lock its static synchronized
+ * methods use.</p>
+ *
+ * <p>Region files used outside of that lock by other threads are pinned with
+ * {@link #pinRegionFile(File)}, pinned region files are never closed to make
+ * room for other region files. Cached headers are copies, they are dropped
+ * whenever their region file is closed as it may have been written to while
+ * it was open.</p>
+ */
+public final class SpongeRegionFileCache {
+
+    // 1024 sector offsets followed by 1024 timestamps
+    private static final int HEADER_BYTES = 8192;
+
+    private static final Object2IntMap<File> openRegionFilesByDirectory = new Object2IntOpenHashMap<>();
+    private static final Object2IntMap<File> pinnedRegionFiles = new Object2IntOpenHashMap<>();
+    @Nullable private static Cache<File, ByteBuffer> headers;
+
+    /**
+     * Gets the open region file, opening it and closing the least recently
+     * used region file that isn't pinned if the configured limit is reached.
+     *
+     * @param file The region file
+     * @return The open region file
+     */
+    public static RegionFile getRegionFile(File file) {
+        synchronized (RegionFileCache.class) {
+            RegionFile regionFile = RegionFileCache.REGIONS_BY_FILE.get(file);
+            if (regionFile != null) {
+                return regionFile;
+            }
+            final int maxOpen = SpongeImpl.getGlobalConfig().getConfig().getWorld().getMaxOpenRegionFiles();
+            final Iterator<Map.Entry<File, RegionFile>> iterator = RegionFileCache.REGIONS_BY_FILE.entrySet().iterator();
+            while (RegionFileCache.REGIONS_BY_FILE.size() >= maxOpen && iterator.hasNext()) {
+                final Map.Entry<File, RegionFile> eldest = iterator.next();
+                if (pinnedRegionFiles.containsKey(eldest.getKey())) {
+                    continue;
+                }
+                iterator.remove();
+                close(eldest.getKey(), eldest.getValue());
+            }
+            regionFile = new RegionFile(file);
+            RegionFileCache.REGIONS_BY_FILE.put(file, regionFile);
+            final File directory = file.getParentFile();
+            openRegionFilesByDirectory.put(directory, openRegionFilesByDirectory.getInt(directory) + 1);
+            return regionFile;
+        }
+    }
+
+    /**
+     * Gets the open region file like {@link #getRegionFile(File)} and pins it,
+     * so it stays open until it is unpinned again. Every call must be followed
+     * by a call to {@link #unpinRegionFile(File)}.
+     *
+     * @param file The region file
+     * @return The open region file
+     */
+    public static RegionFile pinRegionFile(File file) {
+        synchronized (RegionFileCache.class) {
+            final RegionFile regionFile = getRegionFile(file);
+            pinnedRegionFiles.put(file, pinnedRegionFiles.getInt(file) + 1);
+            return regionFile;
+        }
+    }
+
+    /**
+     * Releases a pin taken with {@link #pinRegionFile(File)}.
+     *
+     * @param file The region file
+     */
+    public static void unpinRegionFile(File file) {
+        synchronized (RegionFileCache.class) {
+            final int pins = pinnedRegionFiles.getInt(file) - 1;
+            if (pins <= 0) {
+                pinnedRegionFiles.removeInt(file);
+            } else {
+                pinnedRegionFiles.put(file, pins);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the chunk has been saved to its region file, using the
+     * open region file if there is one and otherwise its cached header.
+     *
+     * @param worldDir The world directory
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return Whether the chunk exists
+     */
+    public static boolean chunkExists(File worldDir, int chunkX, int chunkZ) {
+        final File file = getRegionFilePath(worldDir, chunkX, chunkZ);
+        final int index = (chunkX & 31) + (chunkZ & 31) * 32;
+        synchronized (RegionFileCache.class) {
+            final RegionFile regionFile = RegionFileCache.REGIONS_BY_FILE.get(file);
+            if (regionFile != null) {
+                return regionFile.offsets[index] != 0;
+            }
+            final ByteBuffer header = getHeader(getHeaderCache(), file);
+            return header != null && header.getInt(index * 4) != 0;
+        }
+    }
+
+    /**
+     * Gets a copy of the sector offsets of the region file, indexed by
+     * {@code x + z * 32}. Uses the cached header when the region file isn't
+     * open so the region file itself is only opened when a chunk is read.
+     *
+     * @param file The region file
+     * @return The sector offsets
+     */
+    public static IntBuffer getOffsets(File file) {
+        synchronized (RegionFileCache.class) {
+            RegionFile regionFile = RegionFileCache.REGIONS_BY_FILE.get(file);
+            if (regionFile == null) {
+                final IntBuffer offsets = getOffsets(getHeaderCache(), file);
+                if (offsets != null) {
+                    return offsets;
+                }
+                regionFile = getRegionFile(file);
+            }
+            // Copied while holding the lock, the region file keeps changing them as chunks are written
+            return IntBuffer.wrap(regionFile.offsets.clone());
+        }
+    }
+
+    /**
+     * Gets the sector offsets from the cached header of the region file,
+     * reading the header if it isn't cached yet.
+     *
+     * @param cache The header cache
+     * @param file The region file
+     * @return The sector offsets, or null if the header couldn't be read
+     */
+    @Nullable
+    static IntBuffer getOffsets(Cache<File, ByteBuffer> cache, File file) {
+        final ByteBuffer header = getHeader(cache, file);
+        // A view of its own for every caller, the cached header is shared
+        return header == null ? null : header.asReadOnlyBuffer().asIntBuffer();
+    }
+
+    public static int getOpenRegionFileCount(File worldDir) {
+        synchronized (RegionFileCache.class) {
+            return openRegionFilesByDirectory.getInt(new File(worldDir, "region"));
+        }
+    }
+
+    /**
+     * Drops the cached headers of the region files of the world, so they are
+     * read again from disk the next time they are needed.
+     *
+     * @param worldDir The world directory
+     */
+    public static void invalidateHeaders(File worldDir) {
+        if (headers != null) {
+            final File regionDir = new File(worldDir, "region");
+            headers.asMap().keySet().removeIf(file -> regionDir.equals(file.getParentFile()));
+        }
+    }
+
+    /**
+     * Called after {@link RegionFileCache#clearRegionFileReferences()} closed
+     * every region file.
+     */
+    public static void onRegionFilesCleared() {
+        synchronized (RegionFileCache.class) {
+            openRegionFilesByDirectory.clear();
+            if (headers != null) {
+                headers.invalidateAll();
+            }
+        }
+    }
+
+    public static File getRegionFilePath(File worldDir, int chunkX, int chunkZ) {
+        return new File(new File(worldDir, "region"), "r." + (chunkX >> 5) + "." + (chunkZ >> 5) + ".mca");
+    }
+
+    private static void close(File file, RegionFile regionFile) {
+        final File directory = file.getParentFile();
+        final int open = openRegionFilesByDirectory.getInt(directory) - 1;
+        if (open <= 0) {
+            openRegionFilesByDirectory.removeInt(directory);
+        } else {
+            openRegionFilesByDirectory.put(directory, open);
+        }
+        if (headers != null) {
+            headers.invalidate(file);
+        }
+        try {
+            regionFile.close();
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to close region file {}", file, e);
+        }
+    }
+
+    // Only called while holding the RegionFileCache lock for a region file that
+    // isn't open, so no header is cached while its region file is written to
+    @Nullable
+    private static ByteBuffer getHeader(Cache<File, ByteBuffer> cache, File file) {
+        ByteBuffer header = cache.getIfPresent(file);
+        if (header != null) {
+            return header;
+        }
+        // Missing files are not cached, the region file may be created later on.
+        // The header is copied instead of mapped, a mapped file can't be released
+        // until the mapping is garbage collected, which keeps it locked on Windows.
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return null;
+            }
+            header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    return null;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to read header of region file {}", file, e);
+            return null;
+        }
+        header.flip();
+        cache.put(file, header);
+        return header;
+    }
+
+    private static synchronized Cache<File, ByteBuffer> getHeaderCache() {
+        if (headers == null) {
+            headers = CacheBuilder.newBuilder()
+                    .maximumSize(SpongeImpl.getGlobalConfig().getConfig().getWorld().getMaxCachedRegionHeaders())
+                    .build();
+        }
+        return headers;
+    }
+
+    private SpongeRegionFileCache() {
+    }
+}
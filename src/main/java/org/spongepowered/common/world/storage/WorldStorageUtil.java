@@ -79,6 +79,9 @@ public static CompletableFuture<Optional<DataContainer>> getChunkData(WorldServe
             return CompletableFuture.completedFuture(Optional.empty());
         }
         File worldDir = ((IMixinAnvilChunkLoader) chunkLoader).getWorldDir().toFile();
+        if (!SpongeRegionFileCache.chunkExists(worldDir, x, z)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
         return SpongeImpl.getScheduler().submitAsyncTask(() -> {
             DataInputStream stream = RegionFileCache.getChunkInputStream(worldDir, x, z);
             return Optional.ofNullable(readDataFromRegion(stream));
@@ -114,17 +117,7 @@ public static Iterable<Path> listRegionFiles(Path worldDir) {
     // Similar to RegionFileCache#createOrLoadRegionFile except this uses direct
     // file name instead of x,z
     public static RegionFile getRegionFile(Path regionFilePath) {
-        File file = regionFilePath.toFile();
-        RegionFile regionFile = RegionFileCache.REGIONS_BY_FILE.get(file);
-        if (regionFile != null) {
-            return regionFile;
-        }
-        if (RegionFileCache.REGIONS_BY_FILE.size() >= 256) {
-            RegionFileCache.clearRegionFileReferences();
-        }
-        regionFile = new RegionFile(file);
-        RegionFileCache.REGIONS_BY_FILE.put(file, regionFile);
-        return regionFile;
+        return SpongeRegionFileCache.getRegionFile(regionFilePath.toFile());
     }
 
 }
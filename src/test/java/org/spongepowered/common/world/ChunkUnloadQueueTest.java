@@ -0,0 +1,146 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import net.minecraft.world.chunk.Chunk;
+import org.junit.Test;
+import org.spongepowered.common.interfaces.IMixinChunk;
+
+public class ChunkUnloadQueueTest {
+
+    @Test
+    public void testPollsInQueueOrder() {
+        ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        Chunk first = queuedChunk();
+        Chunk second = queuedChunk();
+        queue.add(second, 20);
+        queue.add(first, 10);
+        assertEquals(2, queue.size());
+        assertSame(first, queue.pollDue(100, 0));
+        assertSame(second, queue.pollDue(100, 0));
+        assertNull(queue.pollDue(100, 0));
+        assertFalse(((IMixinChunk) first).isInUnloadQueue());
+    }
+
+    @Test
+    public void testAddsChunkOnce() {
+        ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        Chunk chunk = queuedChunk();
+        queue.add(chunk, 10);
+        queue.add(chunk, 20);
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testNotDueBeforeTime() {
+        ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        Chunk chunk = queuedChunk();
+        queue.add(chunk, 50);
+        assertNull(queue.pollDue(49, 0));
+        assertSame(chunk, queue.pollDue(50, 0));
+    }
+
+    @Test
+    public void testUnloadDelayReschedules() {
+        ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        Chunk chunk = queuedChunk();
+        ((IMixinChunk) chunk).setScheduledForUnload(100);
+        queue.add(chunk, 10);
+        assertNull(queue.pollDue(120, 50));
+        assertEquals(1, queue.size());
+        assertSame(chunk, queue.pollDue(150, 50));
+    }
+
+    @Test
+    public void testDropsReactivatedChunk() {
+        ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        Chunk chunk = queuedChunk();
+        queue.add(chunk, 10);
+        chunk.unloadQueued = false;
+        assertNull(queue.pollDue(100, 0));
+        assertEquals(0, queue.size());
+        assertFalse(((IMixinChunk) chunk).isInUnloadQueue());
+
+        // The chunk can be queued again
+        chunk.unloadQueued = true;
+        queue.add(chunk, 200);
+        assertSame(chunk, queue.pollDue(200, 0));
+    }
+
+    @Test
+    public void testDropsPersistedChunkAndUnmarksIt() {
+        ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        Chunk chunk = queuedChunk();
+        queue.add(chunk, 10);
+        ((IMixinChunk) chunk).setPersistedChunk(true);
+        assertNull(queue.pollDue(100, 0));
+        assertEquals(0, queue.size());
+        // Left unmarked, the chunk GC would never queue it again
+        assertFalse(chunk.unloadQueued);
+        assertFalse(((IMixinChunk) chunk).isInUnloadQueue());
+    }
+
+    @Test
+    public void testDroppedEntriesDoNotBlockLaterChunks() {
+        ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        Chunk dropped = queuedChunk();
+        Chunk chunk = queuedChunk();
+        queue.add(dropped, 10);
+        queue.add(chunk, 20);
+        dropped.unloadQueued = false;
+        assertSame(chunk, queue.pollDue(100, 0));
+        assertEquals(0, queue.size());
+    }
+
+    /**
+     * Creates a chunk marked for unload, backed by a mock that keeps the
+     * unload state the queue reads and writes.
+     */
+    private static Chunk queuedChunk() {
+        final Chunk chunk = mock(Chunk.class, withSettings().extraInterfaces(IMixinChunk.class));
+        final IMixinChunk mixinChunk = (IMixinChunk) chunk;
+        final boolean[] inUnloadQueue = new boolean[1];
+        final boolean[] persisted = new boolean[1];
+        final long[] scheduledForUnload = {-1};
+        doAnswer(invocation -> inUnloadQueue[0] = invocation.getArgument(0)).when(mixinChunk).setInUnloadQueue(anyBoolean());
+        doAnswer(invocation -> inUnloadQueue[0]).when(mixinChunk).isInUnloadQueue();
+        doAnswer(invocation -> persisted[0] = invocation.getArgument(0)).when(mixinChunk).setPersistedChunk(anyBoolean());
+        doAnswer(invocation -> persisted[0]).when(mixinChunk).isPersistedChunk();
+        doAnswer(invocation -> scheduledForUnload[0] = invocation.getArgument(0)).when(mixinChunk).setScheduledForUnload(anyLong());
+        doAnswer(invocation -> scheduledForUnload[0]).when(mixinChunk).getScheduledForUnload();
+        chunk.unloadQueued = true;
+        return chunk;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.explosion.Explosion;
+
+import java.util.List;
+
+public class ExplosionCoalescerTest {
+
+    private static final double MERGE_DISTANCE = 2;
+    private static final float MAX_RADIUS = 16;
+
+    private final World world = mock(World.class);
+
+    @Test
+    public void testMergesNearbyExplosions() {
+        ExplosionCoalescer coalescer = new ExplosionCoalescer();
+        Explosion first = explosion(0, 0, 4, true);
+        coalescer.add(first, MERGE_DISTANCE, MAX_RADIUS);
+        coalescer.add(explosion(1, 1, 4, true), MERGE_DISTANCE, MAX_RADIUS);
+        coalescer.add(explosion(0, 2, 4, true), MERGE_DISTANCE, MAX_RADIUS);
+        List<ExplosionCoalescer.Group> groups = coalescer.drain();
+        assertEquals(1, groups.size());
+        assertSame(first, groups.get(0).explosion);
+        assertEquals(12, groups.get(0).radius, 0);
+        assertEquals(3, groups.get(0).merged);
+    }
+
+    @Test
+    public void testKeepsDistantExplosionsApart() {
+        ExplosionCoalescer coalescer = new ExplosionCoalescer();
+        coalescer.add(explosion(0, 0, 4, true), MERGE_DISTANCE, MAX_RADIUS);
+        coalescer.add(explosion(3, 0, 4, true), MERGE_DISTANCE, MAX_RADIUS);
+        assertEquals(2, coalescer.drain().size());
+    }
+
+    @Test
+    public void testStopsMergingAtMaxRadius() {
+        ExplosionCoalescer coalescer = new ExplosionCoalescer();
+        for (int i = 0; i < 5; i++) {
+            coalescer.add(explosion(0, 0, 4, true), MERGE_DISTANCE, MAX_RADIUS);
+        }
+        List<ExplosionCoalescer.Group> groups = coalescer.drain();
+        assertEquals(2, groups.size());
+        assertEquals(16, groups.get(0).radius, 0);
+        assertEquals(4, groups.get(1).radius, 0);
+    }
+
+    @Test
+    public void testKeepsDifferentExplosionsApart() {
+        ExplosionCoalescer coalescer = new ExplosionCoalescer();
+        coalescer.add(explosion(0, 0, 4, true), MERGE_DISTANCE, MAX_RADIUS);
+        coalescer.add(explosion(0, 0, 4, false), MERGE_DISTANCE, MAX_RADIUS);
+        assertEquals(2, coalescer.drain().size());
+    }
+
+    @Test
+    public void testDrainClearsGroups() {
+        ExplosionCoalescer coalescer = new ExplosionCoalescer();
+        coalescer.add(explosion(0, 0, 4, true), MERGE_DISTANCE, MAX_RADIUS);
+        assertEquals(1, coalescer.drain().size());
+        assertTrue(coalescer.drain().isEmpty());
+    }
+
+    private Explosion explosion(double x, double z, float radius, boolean breakBlocks) {
+        final Explosion explosion = mock(Explosion.class);
+        when(explosion.getLocation()).thenReturn(new Location<>(this.world, x, 64, z));
+        when(explosion.getRadius()).thenReturn(radius);
+        when(explosion.shouldBreakBlocks()).thenReturn(breakBlocks);
+        when(explosion.shouldDamageEntities()).thenReturn(true);
+        when(explosion.shouldPlaySmoke()).thenReturn(true);
+        return explosion;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.junit.Test;
+
+public class ExplosionExposureCacheTest {
+
+    private static final Vec3d EXPLOSION = new Vec3d(0.5, 64, 0.5);
+    private static final AxisAlignedBB BOX = new AxisAlignedBB(2, 64, 2, 2.6, 65.8, 2.6);
+
+    @Test
+    public void testReusesDensityForSameExplosionAndBox() {
+        ExplosionExposureCache cache = new ExplosionExposureCache();
+        World world = world(0.25f);
+        assertEquals(0.25f, cache.getBlockDensity(1, world, EXPLOSION, BOX), 0);
+        // Equal, but not the same instances, as every explosion creates its own
+        assertEquals(0.25f, cache.getBlockDensity(1, world, new Vec3d(0.5, 64, 0.5), new AxisAlignedBB(2, 64, 2, 2.6, 65.8, 2.6)), 0);
+        verify(world, times(1)).getBlockDensity(any(Vec3d.class), any(AxisAlignedBB.class));
+    }
+
+    @Test
+    public void testComputesDensityForOtherPositions() {
+        ExplosionExposureCache cache = new ExplosionExposureCache();
+        World world = world(0.25f);
+        cache.getBlockDensity(1, world, EXPLOSION, BOX);
+        cache.getBlockDensity(1, world, new Vec3d(1.5, 64, 0.5), BOX);
+        cache.getBlockDensity(1, world, EXPLOSION, BOX.offset(0, 1, 0));
+        verify(world, times(3)).getBlockDensity(any(Vec3d.class), any(AxisAlignedBB.class));
+    }
+
+    @Test
+    public void testClearedOnNextTick() {
+        ExplosionExposureCache cache = new ExplosionExposureCache();
+        World world = world(0.25f);
+        cache.getBlockDensity(1, world, EXPLOSION, BOX);
+        when(world.getBlockDensity(any(Vec3d.class), any(AxisAlignedBB.class))).thenReturn(0.75f);
+        assertEquals(0.75f, cache.getBlockDensity(2, world, EXPLOSION, BOX), 0);
+        verify(world, times(2)).getBlockDensity(any(Vec3d.class), any(AxisAlignedBB.class));
+    }
+
+    private static World world(float density) {
+        final World world = mock(World.class);
+        when(world.getBlockDensity(any(Vec3d.class), any(AxisAlignedBB.class))).thenReturn(density);
+        return world;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraft.network.play.server.SPacketChat;
+import net.minecraft.util.text.TextComponentString;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+public class PlayerChunkIndexTest {
+
+    @Test
+    public void testMovesBetweenChunks() {
+        PlayerChunkIndex index = new PlayerChunkIndex();
+        EntityPlayerMP player = player(8, 64, 8);
+        index.add(player, 0, 0);
+        index.add(player, 1, 0);
+        assertEquals(1, index.getPlayersNear(null, 8, 64, 8, 16).size());
+
+        // Removing from a chunk the player isn't indexed in does nothing
+        index.remove(player, 0, 0);
+        assertEquals(1, index.getPlayersNear(null, 8, 64, 8, 16).size());
+
+        index.remove(player, 1, 0);
+        assertTrue(index.getPlayersNear(null, 8, 64, 8, 16).isEmpty());
+    }
+
+    @Test
+    public void testPlayersNear() {
+        PlayerChunkIndex index = new PlayerChunkIndex();
+        EntityPlayerMP near = player(8, 64, 8);
+        EntityPlayerMP edge = player(8, 64, 24);
+        EntityPlayerMP far = player(8, 64, 200);
+        EntityPlayerMP except = player(9, 64, 9);
+        index.add(near, 0, 0);
+        // Still indexed in the chunk it was in when last updated
+        index.add(edge, 0, 0);
+        index.add(far, 0, 12);
+        index.add(except, 0, 0);
+        // More occupied chunks than chunks in range, so that only the chunks in range are looked up
+        for (int i = 0; i < 30; i++) {
+            index.add(player(1608 + i * 16, 64, 1608), 100 + i, 100);
+        }
+        assertEquals(new HashSet<>(Arrays.asList(near, edge)), new HashSet<>(index.getPlayersNear(except, 8, 64, 8, 17)));
+        // The distance is exclusive like in PlayerList
+        assertEquals(Arrays.asList(near), index.getPlayersNear(except, 8, 64, 8, 16));
+        // Large enough to go through the occupied chunks instead
+        assertEquals(4, index.getPlayersNear(null, 8, 64, 8, 1000).size());
+        assertEquals(34, index.getPlayersNear(null, 8, 64, 8, 5000).size());
+    }
+
+    @Test
+    public void testSkipsPlayersWithoutConnection() {
+        PlayerChunkIndex index = new PlayerChunkIndex();
+        EntityPlayerMP player = player(8, 64, 8);
+        EntityPlayerMP fake = player(8, 64, 8);
+        fake.connection = null;
+        index.add(player, 0, 0);
+        index.add(fake, 0, 0);
+        assertEquals(Arrays.asList(player), index.getPlayersNear(null, 8, 64, 8, 16));
+
+        // Chat is always sent through the connection of each player
+        SPacketChat packet = new SPacketChat(new TextComponentString("test"));
+        index.sendToAllNearExcept(null, 8, 64, 8, 16, packet);
+        verify(player.connection).sendPacket(packet);
+        index.sendToAllNearExcept(player, 8, 64, 8, 16, packet);
+        verify(player.connection).sendPacket(packet);
+    }
+
+    private static EntityPlayerMP player(double x, double y, double z) {
+        final EntityPlayerMP player = mock(EntityPlayerMP.class);
+        player.posX = x;
+        player.posY = y;
+        player.posZ = z;
+        player.connection = mock(NetHandlerPlayServer.class);
+        return player;
+    }
+}
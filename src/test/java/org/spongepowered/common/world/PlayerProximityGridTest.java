@@ -0,0 +1,134 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import net.minecraft.entity.player.EntityPlayer;
+import org.junit.Test;
+import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class PlayerProximityGridTest {
+
+    @Test
+    public void testCoversViewDistanceOnce() {
+        PlayerProximityGrid grid = new PlayerProximityGrid();
+        grid.update(1, 2, Arrays.asList(player(8, 8, true), player(24, 8, true)));
+        // Two 5x5 squares overlapping in a 4x5 area
+        assertEquals(30, grid.getCells().size());
+        Map<Long, PlayerProximityGrid.Cell> cells = byChunk(grid);
+        assertEquals(2, cells.get(key(0, 0)).getPlayers().size());
+        assertEquals(1, cells.get(key(-2, 0)).getPlayers().size());
+        assertEquals(1, cells.get(key(3, 0)).getPlayers().size());
+    }
+
+    @Test
+    public void testNearestDistances() {
+        PlayerProximityGrid grid = new PlayerProximityGrid();
+        grid.update(1, 2, Collections.singletonList(player(8, 8, true)));
+        Map<Long, PlayerProximityGrid.Cell> cells = byChunk(grid);
+        PlayerProximityGrid.Cell center = cells.get(key(0, 0));
+        assertEquals(0, center.getNearestDistanceSq(), 0);
+        assertEquals(0, center.getNearestSpawnChunkDistance());
+        assertEquals(0, center.getNearestSpawnPlayer());
+        PlayerProximityGrid.Cell edge = cells.get(key(2, 1));
+        assertEquals(32 * 32 + 16 * 16, edge.getNearestDistanceSq(), 0);
+        assertEquals(2, edge.getNearestSpawnChunkDistance());
+        assertEquals(2, grid.getChunkDistance(0, edge));
+    }
+
+    @Test
+    public void testPlayersNotAffectingSpawning() {
+        PlayerProximityGrid grid = new PlayerProximityGrid();
+        EntityPlayer spectator = player(8, 8, true);
+        when(spectator.isSpectator()).thenReturn(true);
+        grid.update(1, 1, Arrays.asList(spectator, player(8, 8, false)));
+        assertFalse(grid.affectsSpawning(0));
+        assertFalse(grid.affectsSpawning(1));
+        for (PlayerProximityGrid.Cell cell : grid.getCells()) {
+            assertEquals(Integer.MAX_VALUE, cell.getNearestSpawnChunkDistance());
+            assertEquals(-1, cell.getNearestSpawnPlayer());
+        }
+    }
+
+    @Test
+    public void testUpdatesOncePerTick() {
+        PlayerProximityGrid grid = new PlayerProximityGrid();
+        EntityPlayer player = player(8, 8, true);
+        grid.update(1, 1, Collections.singletonList(player));
+        grid.update(1, 1, Collections.emptyList());
+        assertEquals(1, grid.getPlayerCount());
+        assertSame(player, grid.getPlayer(0));
+
+        grid.update(2, 1, Collections.emptyList());
+        assertEquals(0, grid.getPlayerCount());
+        assertTrue(grid.getCells().isEmpty());
+    }
+
+    @Test
+    public void testReusedCellsAreReset() {
+        PlayerProximityGrid grid = new PlayerProximityGrid();
+        grid.update(1, 1, Collections.singletonList(player(8, 8, true)));
+        grid.update(2, 1, Collections.singletonList(player(1000, 1000, false)));
+        assertEquals(9, grid.getCells().size());
+        for (PlayerProximityGrid.Cell cell : grid.getCells()) {
+            assertEquals(1, cell.getPlayers().size());
+            assertEquals(-1, cell.getNearestSpawnPlayer());
+            assertTrue(cell.getX() >= 61 && cell.getX() <= 63);
+        }
+    }
+
+    private static EntityPlayer player(double x, double z, boolean affectsSpawning) {
+        final EntityPlayer player = mock(EntityPlayer.class, withSettings().extraInterfaces(IMixinEntityPlayer.class));
+        player.posX = x;
+        player.posZ = z;
+        when(((IMixinEntityPlayer) player).affectsSpawning()).thenReturn(affectsSpawning);
+        return player;
+    }
+
+    private static Map<Long, PlayerProximityGrid.Cell> byChunk(PlayerProximityGrid grid) {
+        final Map<Long, PlayerProximityGrid.Cell> cells = new HashMap<>();
+        for (PlayerProximityGrid.Cell cell : grid.getCells()) {
+            assertNull(cells.put(key(cell.getX(), cell.getZ()), cell));
+        }
+        return cells;
+    }
+
+    private static long key(int x, int z) {
+        return (long) x << 32 | (z & 0xFFFFFFFFL);
+    }
+}
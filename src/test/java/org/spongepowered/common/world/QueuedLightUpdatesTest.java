@@ -0,0 +1,117 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+import org.junit.Test;
+
+public class QueuedLightUpdatesTest {
+
+    @Test
+    public void testIndexRoundTrip() {
+        BlockPos pos = new BlockPos(-17, 200, 35);
+        int index = QueuedLightUpdates.getIndex(pos);
+        assertEquals(pos, QueuedLightUpdates.getPos(-2, 2, index));
+        assertEquals(0, QueuedLightUpdates.getIndex(new BlockPos(16, 0, -16)));
+        assertEquals(65535, QueuedLightUpdates.getIndex(new BlockPos(15, 255, 15)));
+    }
+
+    @Test
+    public void testAddsPositionOnce() {
+        QueuedLightUpdates updates = new QueuedLightUpdates();
+        assertTrue(updates.isEmpty());
+        assertTrue(updates.add(EnumSkyBlock.SKY, 100));
+        assertFalse(updates.add(EnumSkyBlock.SKY, 100));
+        assertTrue(updates.add(EnumSkyBlock.BLOCK, 100));
+        assertEquals(2, updates.size());
+        assertTrue(updates.contains(EnumSkyBlock.SKY, 100));
+        assertFalse(updates.contains(EnumSkyBlock.SKY, 101));
+    }
+
+    @Test
+    public void testDrainsOnlyOneLightType() {
+        QueuedLightUpdates updates = new QueuedLightUpdates();
+        updates.add(EnumSkyBlock.SKY, 65535);
+        updates.add(EnumSkyBlock.SKY, 3);
+        updates.add(EnumSkyBlock.SKY, 4096);
+        updates.add(EnumSkyBlock.BLOCK, 7);
+
+        IntArrayList indices = new IntArrayList();
+        assertEquals(3, updates.drain(EnumSkyBlock.SKY, indices));
+        // Drained in index order, section by section
+        assertEquals(new IntArrayList(new int[] {3, 4096, 65535}), indices);
+        assertEquals(1, updates.size());
+        assertFalse(updates.contains(EnumSkyBlock.SKY, 3));
+        assertTrue(updates.contains(EnumSkyBlock.BLOCK, 7));
+
+        indices.clear();
+        assertEquals(0, updates.drain(EnumSkyBlock.SKY, indices));
+        assertTrue(indices.isEmpty());
+        assertEquals(1, updates.drain(EnumSkyBlock.BLOCK, indices));
+        assertTrue(updates.isEmpty());
+
+        // Drained positions can be queued again
+        assertTrue(updates.add(EnumSkyBlock.SKY, 3));
+    }
+
+    @Test
+    public void testSchedulesOnce() {
+        QueuedLightUpdates updates = new QueuedLightUpdates();
+        assertTrue(updates.trySchedule());
+        assertFalse(updates.trySchedule());
+        updates.finishScheduled();
+        assertTrue(updates.trySchedule());
+    }
+
+    @Test
+    public void testDrainsWhileAdding() throws InterruptedException {
+        QueuedLightUpdates updates = new QueuedLightUpdates();
+        Thread adder = new Thread(() -> {
+            for (int index = 0; index < 65536; index += 7) {
+                updates.add(EnumSkyBlock.BLOCK, index);
+            }
+        });
+        adder.start();
+        IntOpenHashSet drained = new IntOpenHashSet();
+        IntArrayList indices = new IntArrayList();
+        while (adder.isAlive()) {
+            updates.drain(EnumSkyBlock.BLOCK, indices);
+        }
+        adder.join();
+        updates.drain(EnumSkyBlock.BLOCK, indices);
+        drained.addAll(indices);
+        // Every position is drained exactly once
+        assertEquals(indices.size(), drained.size());
+        assertEquals((65536 + 6) / 7, drained.size());
+        assertTrue(updates.isEmpty());
+    }
+}
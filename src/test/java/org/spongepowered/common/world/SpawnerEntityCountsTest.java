@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.EnumCreatureType;
+import net.minecraft.entity.monster.IMob;
+import org.junit.Test;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
+
+public class SpawnerEntityCountsTest {
+
+    @Test
+    public void testCountsTrackedEntity() {
+        SpawnerEntityCounts counts = new SpawnerEntityCounts();
+        EntityLiving monster = monster();
+        counts.update(monster);
+        assertEquals(1, counts.getCount(EnumCreatureType.MONSTER));
+        assertEquals(0, counts.getCount(EnumCreatureType.CREATURE));
+
+        // Updating again without a change doesn't count it twice
+        counts.update(monster);
+        assertEquals(1, counts.getCount(EnumCreatureType.MONSTER));
+    }
+
+    @Test
+    public void testRemovedEntityIsUncounted() {
+        SpawnerEntityCounts counts = new SpawnerEntityCounts();
+        EntityLiving monster = monster();
+        counts.update(monster);
+        when(((IMixinEntity) monster).isTrackedInWorld()).thenReturn(false);
+        counts.update(monster);
+        assertEquals(0, counts.getCount(EnumCreatureType.MONSTER));
+        assertEquals(0, ((IMixinEntity) monster).getSpawnerCreatureTypes());
+    }
+
+    @Test
+    public void testPersistentEntityIsUncounted() {
+        SpawnerEntityCounts counts = new SpawnerEntityCounts();
+        EntityLiving monster = monster();
+        counts.update(monster);
+        when(monster.isNoDespawnRequired()).thenReturn(true);
+        counts.update(monster);
+        assertEquals(0, counts.getCount(EnumCreatureType.MONSTER));
+
+        when(monster.isNoDespawnRequired()).thenReturn(false);
+        counts.update(monster);
+        assertEquals(1, counts.getCount(EnumCreatureType.MONSTER));
+    }
+
+    @Test
+    public void testCountsEachEntity() {
+        SpawnerEntityCounts counts = new SpawnerEntityCounts();
+        counts.update(monster());
+        counts.update(monster());
+        counts.update(monster());
+        assertEquals(3, counts.getCount(EnumCreatureType.MONSTER));
+    }
+
+    /**
+     * Creates a tracked monster, backed by a mock that keeps the creature
+     * types the counts store on it.
+     */
+    private static EntityLiving monster() {
+        final EntityLiving entity = mock(EntityLiving.class, withSettings().extraInterfaces(IMixinEntity.class, IMob.class));
+        final IMixinEntity mixinEntity = (IMixinEntity) entity;
+        final int[] types = new int[1];
+        when(mixinEntity.isTrackedInWorld()).thenReturn(true);
+        doAnswer(invocation -> types[0] = invocation.getArgument(0)).when(mixinEntity).setSpawnerCreatureTypes(anyInt());
+        doAnswer(invocation -> types[0]).when(mixinEntity).getSpawnerCreatureTypes();
+        return entity;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import net.minecraft.world.biome.BiomeProviderSingle;
+import net.minecraft.world.gen.ChunkGeneratorFlat;
+import net.minecraft.world.gen.ChunkGeneratorOverworld;
+import net.minecraft.world.gen.structure.MapGenVillage;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.world.biome.BiomeGenerator;
+import org.spongepowered.api.world.gen.GenerationPopulator;
+import org.spongepowered.common.interfaces.world.gen.IThreadSafeGenerator;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.Collections;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class SpongeChunkGeneratorTest {
+
+    @Test
+    public void testFlatTerrainCanBePrepared() {
+        assertTrue(SpongeChunkGenerator.canPrepareTerrain(singleBiome(), (GenerationPopulator) mock(ChunkGeneratorFlat.class),
+                Collections.emptyList()));
+    }
+
+    @Test
+    public void testThreadSafeGenerationPopulatorsCanBePrepared() {
+        final GenerationPopulator populator = mock(GenerationPopulator.class, withSettings().extraInterfaces(IThreadSafeGenerator.class));
+        assertTrue(SpongeChunkGenerator.canPrepareTerrain(singleBiome(), (GenerationPopulator) mock(ChunkGeneratorFlat.class),
+                Collections.singletonList(populator)));
+    }
+
+    @Test
+    public void testOverworldTerrainCannotBePrepared() {
+        assertFalse(SpongeChunkGenerator.canPrepareTerrain(singleBiome(), (GenerationPopulator) mock(ChunkGeneratorOverworld.class),
+                Collections.emptyList()));
+    }
+
+    @Test
+    public void testStructuresPreventPreparing() {
+        assertFalse(SpongeChunkGenerator.canPrepareTerrain(singleBiome(), (GenerationPopulator) mock(ChunkGeneratorFlat.class),
+                Collections.singletonList((GenerationPopulator) mock(MapGenVillage.class))));
+    }
+
+    private static BiomeGenerator singleBiome() {
+        return (BiomeGenerator) mock(BiomeProviderSingle.class);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
+import org.junit.Test;
+import org.spongepowered.common.util.QueuedChunk;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+
+public class BatchedChunkWriterTest {
+
+    @Test
+    public void testWritesGroupedByRegionInQueueOrder() {
+        final Regions regions = new Regions(0);
+        final QueuedChunk first = queuedChunk(0, 0);
+        final QueuedChunk otherRegion = queuedChunk(32, 0);
+        final QueuedChunk second = queuedChunk(1, 0);
+        final List<QueuedChunk> written = BatchedChunkWriter.write(Arrays.asList(first, otherRegion, second), Runnable::run, false, regions::open);
+        assertEquals(Arrays.asList(first, second, otherRegion), written);
+        assertEquals(Arrays.asList("0,0", "1,0", "0,0"), regions.writes);
+        assertEquals(Arrays.asList(new ChunkPos(0, 0), new ChunkPos(32, 0)), regions.opened);
+        assertEquals(2, regions.closed);
+    }
+
+    @Test
+    public void testWritesDeflatedCompound() throws IOException {
+        final Regions regions = new Regions(0);
+        final QueuedChunk chunk = queuedChunk(3, 4);
+        BatchedChunkWriter.write(Collections.singletonList(chunk), Runnable::run, false, regions::open);
+        final NBTTagCompound read = CompressedStreamTools.read(new DataInputStream(new InflaterInputStream(
+                new ByteArrayInputStream(regions.data.get(0)))));
+        assertEquals(chunk.compound, read);
+    }
+
+    @Test
+    public void testRetriesFailedWrite() {
+        final Regions regions = new Regions(2);
+        final QueuedChunk chunk = queuedChunk(0, 0);
+        final List<QueuedChunk> written = BatchedChunkWriter.write(Collections.singletonList(chunk), Runnable::run, true, regions::open);
+        assertEquals(Collections.singletonList(chunk), written);
+        assertEquals(3, regions.attempts);
+        assertEquals(1, regions.syncs);
+    }
+
+    @Test
+    public void testLeavesOutChunksThatFailToWrite() {
+        final Regions regions = new Regions(Integer.MAX_VALUE);
+        final List<QueuedChunk> written = BatchedChunkWriter.write(Collections.singletonList(queuedChunk(0, 0)), Runnable::run, true,
+                regions::open);
+        assertTrue(written.isEmpty());
+        // Nothing was written, so there is nothing to sync, but the region is still released
+        assertEquals(0, regions.syncs);
+        assertEquals(1, regions.closed);
+    }
+
+    @Test
+    public void testSkipsChunksWithoutCompound() {
+        final Regions regions = new Regions(0);
+        final QueuedChunk chunk = new QueuedChunk(new ChunkPos(0, 0), null);
+        assertTrue(BatchedChunkWriter.write(Collections.singletonList(chunk), Runnable::run, false, regions::open).isEmpty());
+        assertTrue(regions.opened.isEmpty());
+    }
+
+    private static QueuedChunk queuedChunk(int x, int z) {
+        final NBTTagCompound compound = new NBTTagCompound();
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", x);
+        level.setInteger("zPos", z);
+        compound.setTag("Level", level);
+        return new QueuedChunk(new ChunkPos(x, z), compound);
+    }
+
+    private static final class Regions {
+
+        final List<ChunkPos> opened = new ArrayList<>();
+        final List<String> writes = new ArrayList<>();
+        final List<byte[]> data = new ArrayList<>();
+        int failures;
+        int attempts;
+        int syncs;
+        int closed;
+
+        Regions(int failures) {
+            this.failures = failures;
+        }
+
+        BatchedChunkWriter.RegionTarget open(ChunkPos pos) {
+            this.opened.add(pos);
+            return new BatchedChunkWriter.RegionTarget() {
+
+                @Override
+                public void write(int x, int z, byte[] bytes) throws IOException {
+                    Regions.this.attempts++;
+                    if (Regions.this.failures > 0) {
+                        Regions.this.failures--;
+                        throw new IOException("Failed write");
+                    }
+                    Regions.this.writes.add(x + "," + z);
+                    Regions.this.data.add(bytes);
+                }
+
+                @Override
+                public void sync() {
+                    Regions.this.syncs++;
+                }
+
+                @Override
+                public void close() {
+                    Regions.this.closed++;
+                }
+            };
+        }
+    }
+}
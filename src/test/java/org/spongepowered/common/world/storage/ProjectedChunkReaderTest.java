@@ -0,0 +1,155 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import org.junit.Test;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class ProjectedChunkReaderTest {
+
+    @Test
+    public void testReadsOnlyProjectedKeys() throws IOException {
+        final NBTTagCompound level = ProjectedChunkReader.readLevel(input(chunk()), ImmutableSet.of("xPos", "Entities"));
+        assertEquals(ImmutableSet.of("xPos", "Entities"), level.getKeySet());
+        assertEquals(3, level.getInteger("xPos"));
+        assertEquals("zombie", level.getTagList("Entities", NbtDataUtil.TAG_STRING).getStringTagAt(0));
+    }
+
+    @Test
+    public void testReadsAllKeysWithoutProjection() throws IOException {
+        final NBTTagCompound chunk = chunk();
+        assertEquals(chunk.getCompoundTag(NbtDataUtil.CHUNK_DATA_LEVEL), ProjectedChunkReader.readLevel(input(chunk), null));
+    }
+
+    @Test
+    public void testReadsNullWithoutLevel() throws IOException {
+        final NBTTagCompound chunk = new NBTTagCompound();
+        chunk.setInteger("DataVersion", 1343);
+        assertNull(ProjectedChunkReader.readLevel(input(chunk), null));
+    }
+
+    @Test
+    public void testSkippedTagsDontCountTowardsLimit() throws IOException {
+        final NBTTagCompound level = ProjectedChunkReader.readLevel(input(chunk()), ImmutableSet.of("xPos"), 1024);
+        assertFalse(level.hasKey("Biomes"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailsOverLimit() throws IOException {
+        ProjectedChunkReader.readLevel(input(chunk()), null, 1024);
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailsOnNegativeArrayLength() throws IOException {
+        ProjectedChunkReader.readLevel(input(corruptArrayLength(-1)), null);
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailsOnNegativeSkippedArrayLength() throws IOException {
+        ProjectedChunkReader.readLevel(input(corruptArrayLength(-1)), ImmutableSet.of("xPos"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailsOnHugeArrayLength() throws IOException {
+        ProjectedChunkReader.readLevel(input(corruptArrayLength(Integer.MAX_VALUE)), null);
+    }
+
+    @Test
+    public void testRejectsUnknownRoot() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeByte(NbtDataUtil.TAG_INT);
+        try {
+            ProjectedChunkReader.readLevel(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), null);
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("Root tag"));
+            return;
+        }
+        throw new AssertionError("Expected an IOException");
+    }
+
+    private static NBTTagCompound chunk() {
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", 3);
+        level.setInteger("zPos", 4);
+        level.setByteArray("Biomes", new byte[4096]);
+        final NBTTagList entities = new NBTTagList();
+        entities.appendTag(new NBTTagString("zombie"));
+        level.setTag("Entities", entities);
+        final NBTTagCompound chunk = new NBTTagCompound();
+        chunk.setInteger("DataVersion", 1343);
+        chunk.setTag(NbtDataUtil.CHUNK_DATA_LEVEL, level);
+        return chunk;
+    }
+
+    // A chunk whose Biomes byte array claims the given length
+    private static byte[] corruptArrayLength(int length) throws IOException {
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setByteArray("Biomes", new byte[] {1, 2, 3, 4});
+        final NBTTagCompound chunk = new NBTTagCompound();
+        chunk.setTag(NbtDataUtil.CHUNK_DATA_LEVEL, level);
+        final byte[] bytes = bytes(chunk);
+        // The array length directly precedes the array contents
+        for (int i = 0; i < bytes.length - 4; i++) {
+            if (bytes[i] == 1 && bytes[i + 1] == 2 && bytes[i + 2] == 3 && bytes[i + 3] == 4) {
+                bytes[i - 4] = (byte) (length >>> 24);
+                bytes[i - 3] = (byte) (length >>> 16);
+                bytes[i - 2] = (byte) (length >>> 8);
+                bytes[i - 1] = (byte) length;
+                return bytes;
+            }
+        }
+        throw new AssertionError("Array contents not found");
+    }
+
+    private static byte[] bytes(NBTTagCompound compound) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(compound, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static DataInputStream input(NBTTagCompound compound) throws IOException {
+        return input(bytes(compound));
+    }
+
+    private static DataInputStream input(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.DeflaterOutputStream;
+
+public class ReadOnlyRegionFileTest {
+
+    private static final int SECTOR_BYTES = 4096;
+
+    @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReadsChunk() throws IOException {
+        final NBTTagCompound chunk = new NBTTagCompound();
+        chunk.setInteger("DataVersion", 1343);
+        final byte[] data = deflate(chunk);
+        final File file = region(2, 1, data.length + 1, data);
+
+        try (FileChannel channel = ReadOnlyRegionFile.open(file)) {
+            final IntBuffer offsets = ReadOnlyRegionFile.readOffsets(channel);
+            assertEquals(1024, offsets.limit());
+            assertEquals(2 << 8 | 1, offsets.get(1 + 2 * 32));
+            assertEquals(0, offsets.get(0));
+            try (DataInputStream input = ReadOnlyRegionFile.getChunkDataInputStream(channel, offsets.get(1 + 2 * 32))) {
+                assertEquals(chunk, CompressedStreamTools.read(input));
+            }
+        }
+    }
+
+    @Test
+    public void testMissingFileIsNotOpened() throws IOException {
+        assertNull(ReadOnlyRegionFile.open(new File(this.folder.getRoot(), "r.0.0.mca")));
+    }
+
+    @Test
+    public void testTruncatedHeaderHasNoOffsets() throws IOException {
+        final File file = this.folder.newFile("r.0.0.mca");
+        try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+            output.setLength(SECTOR_BYTES);
+        }
+        try (FileChannel channel = ReadOnlyRegionFile.open(file)) {
+            assertNull(ReadOnlyRegionFile.readOffsets(channel));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailsOnLengthPastSectors() throws IOException {
+        final File file = region(2, 1, SECTOR_BYTES * 2, new byte[16]);
+        readChunk(file, 2 << 8 | 1);
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailsOnNegativeLength() throws IOException {
+        final File file = region(2, 1, -1, new byte[16]);
+        readChunk(file, 2 << 8 | 1);
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailsOnSectorPastEnd() throws IOException {
+        final File file = region(2, 1, 17, new byte[16]);
+        readChunk(file, 8 << 8 | 1);
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailsOnSectorInHeader() throws IOException {
+        final File file = region(2, 1, 17, new byte[16]);
+        readChunk(file, 1 << 8 | 1);
+    }
+
+    private static void readChunk(File file, int offset) throws IOException {
+        try (FileChannel channel = ReadOnlyRegionFile.open(file)) {
+            ReadOnlyRegionFile.getChunkDataInputStream(channel, offset).close();
+        }
+    }
+
+    // A region file with a single deflated chunk at 1, 2 in the given sector
+    private File region(int sector, int sectors, int length, byte[] data) throws IOException {
+        final File file = this.folder.newFile("r.0.0.mca");
+        try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+            output.setLength((long) (sector + sectors) * SECTOR_BYTES);
+            output.seek((1 + 2 * 32) * 4);
+            output.writeInt(sector << 8 | sectors);
+            output.seek((long) sector * SECTOR_BYTES);
+            output.writeInt(length);
+            output.writeByte(2);
+            output.write(data);
+        }
+        return file;
+    }
+
+    private static byte[] deflate(NBTTagCompound compound) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            CompressedStreamTools.write(compound, output);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+public class SpongeRegionFileCacheTest {
+
+    @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStreamsOffsetsOfRegionFileNotOpen() throws IOException {
+        final File file = this.folder.newFile("r.0.0.mca");
+        try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+            output.setLength(8192);
+            output.seek((1 + 2 * 32) * 4);
+            output.writeInt(2 << 8 | 1);
+            output.seek(1023 * 4);
+            output.writeInt(3 << 8 | 1);
+        }
+        final Cache<File, ByteBuffer> cache = CacheBuilder.newBuilder().build();
+        // Read from disk, then from the cache
+        for (int i = 0; i < 2; i++) {
+            final IntBuffer offsets = SpongeRegionFileCache.getOffsets(cache, file);
+            assertEquals(1024, offsets.remaining());
+            int chunks = 0;
+            while (offsets.hasRemaining()) {
+                if (offsets.get() != 0) {
+                    chunks++;
+                }
+            }
+            assertEquals(2, chunks);
+            assertEquals(2 << 8 | 1, offsets.get(1 + 2 * 32));
+            assertEquals(3 << 8 | 1, offsets.get(1023));
+        }
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testMissingFileHasNoOffsets() {
+        final Cache<File, ByteBuffer> cache = CacheBuilder.newBuilder().build();
+        assertNull(SpongeRegionFileCache.getOffsets(cache, new File(this.folder.getRoot(), "r.0.0.mca")));
+        assertEquals(0, cache.size());
+    }
+}